@@ -0,0 +1,127 @@
+package com.mycompany.app.benchmarks;
+
+import com.mycompany.app.data_service.DataServiceApplication;
+import com.mycompany.app.data_service.dto.InventarioDTO;
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Inventario;
+import com.mycompany.app.data_service.entity.Producto;
+import com.mycompany.app.data_service.repositories.CategoriaRepository;
+import com.mycompany.app.data_service.repositories.InventarioRepository;
+import com.mycompany.app.data_service.service.InventarioService;
+import com.mycompany.app.data_service.service.ProductoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cientos de escritores ajustando el stock de un mismo producto sobre H2 embebido, con el
+ * contexto de data-service levantado sin web como en ProductoRepositoryBenchmark:
+ * <ul>
+ *   <li>{@code ajustarStock}: InventarioService.ajustarStock, un UPDATE condicional por delta;
+ *   el motor serializa los ajustes sobre la fila y ninguno se reintenta.</li>
+ *   <li>{@code leerModificarGuardar}: la alternativa que reemplazó, leer la entidad, sumar y
+ *   guardar, reintentando cada conflicto de versión (@Version).</li>
+ * </ul>
+ * Cada hilo alterna +1 y -1, así el stock no se agota; {@code reintentos} cuenta los conflictos
+ * de versión de la alternativa. La cantidad de escritores se cambia con {@code -t}; el pool de
+ * conexiones, con el parámetro {@code conexiones}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(200)
+@Fork(1)
+public class AjusteStockBenchmark {
+
+    private static final int STOCK_INICIAL = 1_000_000;
+
+    @Param({"10", "50"})
+    int conexiones;
+
+    private ConfigurableApplicationContext contexto;
+    private InventarioService inventarioService;
+    private InventarioRepository inventarioRepository;
+    private TransactionTemplate transactionTemplate;
+    private Long productoId;
+    private Long inventarioId;
+
+    // Los campos públicos se informan junto al resultado: reintentos por conflicto de versión
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Escritor {
+        private boolean sumar;
+        public long reintentos;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            reintentos = 0;
+        }
+
+        int delta() {
+            sumar = !sumar;
+            return sumar ? 1 : -1;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(DataServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:bench-ajustes;DB_CLOSE_DELAY=-1;MODE=MySQL;LOCK_TIMEOUT=10000",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.hikari.maximum-pool-size=" + conexiones,
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.open-in-view=false",
+                        "--logging.level.root=WARN");
+        inventarioService = contexto.getBean(InventarioService.class);
+        inventarioRepository = contexto.getBean(InventarioRepository.class);
+        transactionTemplate = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Ajustes");
+        Producto producto = new Producto();
+        producto.setNombre("SKU disputado");
+        producto.setPrecio(BigDecimal.TEN);
+        producto.setCategoriaIdFromJson(contexto.getBean(CategoriaRepository.class).save(categoria).getId());
+        producto.setStockFromJson(STOCK_INICIAL);
+        producto.setStockMinimoFromJson(5);
+        productoId = contexto.getBean(ProductoService.class).guardar(producto).id();
+        inventarioId = inventarioRepository.findDTOByProductoId(productoId).orElseThrow().id();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public InventarioDTO ajustarStock(Escritor escritor) {
+        return inventarioService.ajustarStock(productoId, escritor.delta());
+    }
+
+    @Benchmark
+    public Inventario leerModificarGuardar(Escritor escritor) {
+        int delta = escritor.delta();
+        while (true) {
+            try {
+                return transactionTemplate.execute(estado -> {
+                    Inventario inventario = inventarioRepository.findById(inventarioId).orElseThrow();
+                    inventario.setCantidad(inventario.getCantidad() + delta);
+                    return inventarioRepository.saveAndFlush(inventario);
+                });
+            } catch (ObjectOptimisticLockingFailureException e) {
+                escritor.reintentos++;
+            }
+        }
+    }
+}
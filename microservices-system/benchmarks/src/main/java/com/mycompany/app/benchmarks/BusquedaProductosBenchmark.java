@@ -0,0 +1,135 @@
+package com.mycompany.app.benchmarks;
+
+import com.mycompany.app.data_service.busqueda.Analizador;
+import com.mycompany.app.data_service.busqueda.IndiceInvertido;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de texto de data-service (IndiceInvertido con BM25) sobre un catálogo sintético,
+ * contra el recorrido lineal que hoy hacen los clientes después de bajar /api/productos.
+ * Los nombres combinan tipo, marca, adjetivo y color, con un código único en la descripción:
+ * un tipo aparece en ~1/60 del catálogo, un código en un solo producto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BusquedaProductosBenchmark {
+
+    private static final String[] TIPOS = {
+            "teclado", "mouse", "monitor", "auriculares", "parlante", "cámara", "micrófono", "impresora",
+            "router", "notebook", "tablet", "celular", "cargador", "cable", "adaptador", "disco",
+            "pendrive", "memoria", "procesador", "placa", "gabinete", "fuente", "cooler", "silla",
+            "escritorio", "lámpara", "mochila", "funda", "soporte", "hub", "webcam", "proyector",
+            "televisor", "consola", "joystick", "volante", "smartwatch", "pulsera", "balanza", "licuadora",
+            "cafetera", "tostadora", "heladera", "lavarropas", "microondas", "ventilador", "estufa", "aspiradora",
+            "plancha", "secador", "afeitadora", "termo", "mate", "bombilla", "yerbera", "taza",
+            "vaso", "botella", "conservadora", "linterna"};
+    private static final String[] MARCAS = {
+            "Acme", "Nimbus", "Zenit", "Orbital", "Pampa", "Andes", "Delta", "Kappa", "Lumen", "Vértice",
+            "Austral", "Boreal", "Cóndor", "Quasar", "Tango", "Patagón", "Ñandú", "Fénix", "Helio", "Iguazú"};
+    private static final String[] ADJETIVOS = {
+            "inalámbrico", "mecánico", "compacto", "portátil", "gamer", "profesional", "ergonómico",
+            "recargable", "digital", "analógico", "silencioso", "reforzado", "ultraliviano", "premium",
+            "básico", "retroiluminado", "plegable", "térmico", "magnético", "modular"};
+    private static final String[] COLORES = {
+            "negro", "blanco", "gris", "rojo", "azul", "verde", "plateado", "dorado", "rosa", "violeta"};
+
+    @Param({"1000000"})
+    int productos;
+
+    private IndiceInvertido indice;
+    // Lo que tendría un cliente tras bajar el catálogo: nombre y descripción ya plegados
+    private String[] textosPlegados;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        indice = new IndiceInvertido();
+        textosPlegados = new String[productos];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < productos; i++) {
+            String nombre = nombre(random);
+            String descripcion = descripcion(random, i);
+            indice.indexar(i + 1, nombre, descripcion);
+            textosPlegados[i] = Analizador.plegar(nombre + " " + descripcion);
+        }
+        System.out.printf("%n%d productos indexados%n", indice.tamanio());
+    }
+
+    private static String nombre(SplittableRandom random) {
+        return elegir(TIPOS, random) + " " + elegir(ADJETIVOS, random) + " " + elegir(MARCAS, random);
+    }
+
+    private static String descripcion(SplittableRandom random, int i) {
+        return "Color " + elegir(COLORES, random) + ", " + elegir(ADJETIVOS, random)
+                + " y " + elegir(ADJETIVOS, random) + ". Código SKU" + i;
+    }
+
+    private static String elegir(String[] opciones, SplittableRandom random) {
+        return opciones[random.nextInt(opciones.length)];
+    }
+
+    private static String cualquiera(String[] opciones) {
+        return opciones[ThreadLocalRandom.current().nextInt(opciones.length)];
+    }
+
+    @Benchmark
+    public List<IndiceInvertido.Coincidencia> indice_unTermino() {
+        return indice.buscar(cualquiera(TIPOS), 20);
+    }
+
+    @Benchmark
+    public List<IndiceInvertido.Coincidencia> indice_tresTerminos() {
+        return indice.buscar(cualquiera(TIPOS) + " " + cualquiera(MARCAS) + " " + cualquiera(COLORES), 20);
+    }
+
+    @Benchmark
+    public List<IndiceInvertido.Coincidencia> indice_codigo() {
+        return indice.buscar("sku" + ThreadLocalRandom.current().nextInt(productos), 20);
+    }
+
+    // Modificación de un producto: quita sus ocurrencias y agrega las nuevas bajo el lock exclusivo
+    @Benchmark
+    public void indice_reindexar() {
+        int i = ThreadLocalRandom.current().nextInt(productos);
+        SplittableRandom random = new SplittableRandom(i);
+        indice.indexar(i + 1, nombre(random), descripcion(random, i));
+    }
+
+    // Referencia: filtrar el catálogo completo en memoria por subcadena (sin ranking ni límite)
+    @Benchmark
+    public List<Integer> recorridoLineal_unTermino() {
+        String termino = Analizador.plegar(cualquiera(TIPOS));
+        List<Integer> encontrados = new ArrayList<>();
+        for (int i = 0; i < textosPlegados.length; i++) {
+            if (textosPlegados[i].contains(termino)) {
+                encontrados.add(i + 1);
+            }
+        }
+        return encontrados;
+    }
+
+    @Benchmark
+    public List<Integer> recorridoLineal_codigo() {
+        String codigo = "sku" + ThreadLocalRandom.current().nextInt(productos);
+        List<Integer> encontrados = new ArrayList<>();
+        for (int i = 0; i < textosPlegados.length; i++) {
+            String texto = textosPlegados[i];
+            // Coincidencia de palabra completa: sku12 no debe encontrar sku123
+            int desde = texto.indexOf(codigo);
+            if (desde >= 0 && (desde + codigo.length() == texto.length()
+                    || !Character.isLetterOrDigit(texto.charAt(desde + codigo.length())))) {
+                encontrados.add(i + 1);
+            }
+        }
+        return encontrados;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mycompany.app.benchmarks;
+
+import com.mycompany.app.business_service.client.config.SimpleErrorDecoder;
+import feign.Request;
+import feign.Response;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SimpleErrorDecoder.decode para los status que mapea explícitamente y para uno que
+ * delega en el decoder por defecto de Feign.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorDecoderBenchmark {
+
+    @Param({"404", "409", "503", "500"})
+    int status;
+
+    private SimpleErrorDecoder errorDecoder;
+    private Response response;
+
+    @Setup
+    public void setUp() {
+        errorDecoder = new SimpleErrorDecoder();
+        Request request = Request.create(Request.HttpMethod.POST, "/data/inventario/1/ajuste", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        response = Response.builder()
+                .status(status)
+                .reason("error")
+                .request(request)
+                .body("{\"message\":\"error\"}", StandardCharsets.UTF_8)
+                .build();
+    }
+
+    @Benchmark
+    public Exception decode() {
+        return errorDecoder.decode("DataServiceClient#ajustarStock(Long,AjusteStockRequest)", response);
+    }
+}
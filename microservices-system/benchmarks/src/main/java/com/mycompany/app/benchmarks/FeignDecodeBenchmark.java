@@ -0,0 +1,74 @@
+package com.mycompany.app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.business_service.dto.ProductoDTO;
+import feign.Request;
+import feign.Response;
+import feign.codec.Decoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodificación de listas de productos con la misma cadena de decoders que arma
+ * Spring Cloud OpenFeign para DataServiceClient (ResponseEntityDecoder + SpringDecoder).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeignDecodeBenchmark {
+
+    private static final Type LISTA_DE_PRODUCTOS = new ParameterizedTypeReference<List<ProductoDTO>>() {}.getType();
+
+    @Param({"10", "100", "1000"})
+    int cantidad;
+
+    private Decoder decoder;
+    private Request request;
+    private byte[] cuerpo;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        HttpMessageConverters converters = new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper));
+        decoder = new ResponseEntityDecoder(new SpringDecoder(() -> converters));
+
+        List<ProductoDTO> productos = new ArrayList<>(cantidad);
+        for (long i = 1; i <= cantidad; i++) {
+            productos.add(new ProductoDTO(i, "Producto " + i, "Descripción " + i,
+                    BigDecimal.valueOf(i, 2), "Periféricos", (int) (i % 20), i % 20 < 5));
+        }
+        cuerpo = objectMapper.writeValueAsBytes(productos);
+        request = Request.create(Request.HttpMethod.GET, "/data/productos", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+    }
+
+    @Benchmark
+    public Object listaDeProductos() throws Exception {
+        Map<String, Collection<String>> headers = Map.of("Content-Type", List.of("application/json"));
+        Response response = Response.builder()
+                .status(200)
+                .reason("OK")
+                .headers(headers)
+                .request(request)
+                .body(cuerpo)
+                .build();
+        return decoder.decode(response, LISTA_DE_PRODUCTOS);
+    }
+}
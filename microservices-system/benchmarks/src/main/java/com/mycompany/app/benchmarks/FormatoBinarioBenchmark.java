@@ -0,0 +1,68 @@
+package com.mycompany.app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listados de productos entre data-service y business-service en JSON, CBOR y Smile (el
+ * formato que negocia DataServiceClient). Mide la codificación de la proyección ProductoDTO
+ * de data-service y la decodificación al ProductoDTO de business-service. El tamaño de cada
+ * cuerpo se imprime al preparar el estado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatoBinarioBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String formato;
+
+    @Param({"100", "1000"})
+    int cantidad;
+
+    private ObjectMapper objectMapper;
+    private List<ProductoDTO> productos;
+    private byte[] cuerpo;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("cbor".equals(formato)) {
+            builder.factory(new CBORFactory());
+        } else if ("smile".equals(formato)) {
+            builder.factory(new SmileFactory());
+        }
+        objectMapper = builder.build();
+
+        productos = new ArrayList<>(cantidad);
+        for (long i = 1; i <= cantidad; i++) {
+            productos.add(new ProductoDTO(i, "Producto " + i, "Descripción " + i,
+                    BigDecimal.valueOf(100_000 + i, 2), "Periféricos", (int) (i % 20), 5));
+        }
+        cuerpo = objectMapper.writeValueAsBytes(productos);
+        System.out.printf("%n%s, %d productos: %d bytes%n", formato, cantidad, cuerpo.length);
+    }
+
+    @Benchmark
+    public byte[] codificar() throws Exception {
+        return objectMapper.writeValueAsBytes(productos);
+    }
+
+    @Benchmark
+    public List<com.mycompany.app.business_service.dto.ProductoDTO> decodificar() throws Exception {
+        return objectMapper.readValue(cuerpo, objectMapper.getTypeFactory().constructCollectionType(
+                List.class, com.mycompany.app.business_service.dto.ProductoDTO.class));
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Inventario;
+import com.mycompany.app.data_service.entity.Producto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de respuestas de data-service: la entidad Producto (con los getters
+ * calculados categoriaNombre/stock/stockBajo) y listas de la proyección ProductoDTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializacionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int cantidad;
+
+    private ObjectMapper objectMapper;
+    private Producto producto;
+    private List<ProductoDTO> productos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Categoria categoria = new Categoria();
+        categoria.setId(1L);
+        categoria.setNombre("Periféricos");
+        producto = new Producto();
+        producto.setId(1L);
+        producto.setNombre("Teclado");
+        producto.setDescripcion("Mecánico");
+        producto.setPrecio(new BigDecimal("100.50"));
+        producto.setCategoria(categoria);
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(3);
+        inventario.setStockMinimo(5);
+        producto.setInventario(inventario);
+
+        productos = new ArrayList<>(cantidad);
+        for (long i = 1; i <= cantidad; i++) {
+            productos.add(new ProductoDTO(i, "Producto " + i, "Descripción " + i,
+                    BigDecimal.valueOf(i, 2), "Periféricos", (int) (i % 20), 5));
+        }
+    }
+
+    @Benchmark
+    public byte[] entidadProducto() throws Exception {
+        return objectMapper.writeValueAsBytes(producto);
+    }
+
+    @Benchmark
+    public byte[] listaDeProductoDTO() throws Exception {
+        return objectMapper.writeValueAsBytes(productos);
+    }
+}
@@ -0,0 +1,122 @@
+package com.mycompany.app.benchmarks;
+
+import com.mycompany.app.data_service.DataServiceApplication;
+import com.mycompany.app.data_service.dto.InventarioDTO;
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Producto;
+import com.mycompany.app.data_service.repositories.CategoriaRepository;
+import com.mycompany.app.data_service.repositories.InventarioRepository;
+import com.mycompany.app.data_service.repositories.ProductoRepository;
+import com.mycompany.app.data_service.service.ImportacionProductosService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de ProductoRepository/InventarioRepository sobre H2 embebido, con el contexto
+ * de data-service levantado sin web. La configuración va completa por argumentos para no
+ * depender de qué application.yml aparece primero en el classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductoRepositoryBenchmark {
+
+    private static final int CATEGORIAS = 10;
+
+    @Param({"1000", "10000"})
+    int productos;
+
+    private ConfigurableApplicationContext contexto;
+    private ProductoRepository productoRepository;
+    private CategoriaRepository categoriaRepository;
+    private InventarioRepository inventarioRepository;
+    private Long primerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(DataServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.username=sa",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.open-in-view=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--logging.level.root=WARN");
+        productoRepository = contexto.getBean(ProductoRepository.class);
+        inventarioRepository = contexto.getBean(InventarioRepository.class);
+        categoriaRepository = contexto.getBean(CategoriaRepository.class);
+        sembrar(contexto.getBean(ImportacionProductosService.class));
+        primerId = productoRepository.findDTOsAfterId(0L, Limit.of(1)).getFirst().id();
+    }
+
+    private void sembrar(ImportacionProductosService importacion) {
+        List<Long> categorias = new ArrayList<>();
+        for (int c = 0; c < CATEGORIAS; c++) {
+            Categoria categoria = new Categoria();
+            categoria.setNombre("Categoria " + c);
+            categorias.add(categoriaRepository.save(categoria).getId());
+        }
+        List<Producto> lote = new ArrayList<>(productos);
+        for (int i = 0; i < productos; i++) {
+            Producto p = new Producto();
+            p.setNombre("Producto " + i);
+            p.setPrecio(BigDecimal.valueOf(i + 1, 2));
+            p.setCategoriaIdFromJson(categorias.get(i % CATEGORIAS));
+            p.setStockFromJson(i % 50);
+            p.setStockMinimoFromJson(5);
+            lote.add(p);
+        }
+        importacion.importar(lote);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<ProductoDTO> findAllAsDTO() {
+        return productoRepository.findAllAsDTO();
+    }
+
+    @Benchmark
+    public Optional<ProductoDTO> findDTOById() {
+        return productoRepository.findDTOById(primerId + ThreadLocalRandom.current().nextInt(productos));
+    }
+
+    @Benchmark
+    public List<ProductoDTO> findDTOsAfterId_pagina50() {
+        long after = primerId + ThreadLocalRandom.current().nextInt(productos);
+        return productoRepository.findDTOsAfterId(after, Limit.of(50));
+    }
+
+    @Benchmark
+    public List<ProductoDTO> findDTOsPorNombreDeCategoria() {
+        // Como ProductoServiceImpl.buscarPorCategoria: id por nombre_normalizado y rango de idx_productos_categoria
+        String nombre = Categoria.normalizar("Categoria " + ThreadLocalRandom.current().nextInt(CATEGORIAS));
+        return categoriaRepository.findByNombreNormalizado(nombre)
+                .map(c -> productoRepository.findDTOsByCategoriaId(c.getId()))
+                .orElse(List.of());
+    }
+
+    @Benchmark
+    public List<InventarioDTO> findConStockBajo() {
+        return inventarioRepository.findConStockBajo();
+    }
+}
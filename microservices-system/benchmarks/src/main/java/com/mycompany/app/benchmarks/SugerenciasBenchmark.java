@@ -0,0 +1,130 @@
+package com.mycompany.app.benchmarks;
+
+import com.mycompany.app.data_service.busqueda.Analizador;
+import com.mycompany.app.data_service.busqueda.TrieSugerencias;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocompletado de nombres de data-service (TrieSugerencias) con un millón de nombres
+ * distintos, contra filtrar y ordenar la lista completa por prefijo. Los nombres son tipo,
+ * marca y modelo; los prefijos van de muy amplios (una letra) a casi únicos.
+ * Correr con -prof gc para ver que la consulta al trie no reserva memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SugerenciasBenchmark {
+
+    private static final String[] TIPOS = {
+            "teclado", "mouse", "monitor", "auriculares", "parlante", "cámara", "micrófono", "impresora",
+            "router", "notebook", "tablet", "celular", "cargador", "cable", "adaptador", "disco",
+            "pendrive", "memoria", "procesador", "placa", "gabinete", "fuente", "cooler", "silla",
+            "escritorio", "lámpara", "mochila", "funda", "soporte", "hub", "webcam", "proyector",
+            "televisor", "consola", "joystick", "volante", "smartwatch", "pulsera", "balanza", "licuadora",
+            "cafetera", "tostadora", "heladera", "lavarropas", "microondas", "ventilador", "estufa", "aspiradora",
+            "plancha", "secador", "afeitadora", "termo", "mate", "bombilla", "yerbera", "taza",
+            "vaso", "botella", "conservadora", "linterna"};
+    private static final String[] MARCAS = {
+            "Acme", "Nimbus", "Zenit", "Orbital", "Pampa", "Andes", "Delta", "Kappa", "Lumen", "Vértice",
+            "Austral", "Boreal", "Cóndor", "Quasar", "Tango", "Patagón", "Ñandú", "Fénix", "Helio", "Iguazú"};
+
+    @Param({"1000000"})
+    int nombres;
+
+    private TrieSugerencias trie;
+    private final String[] textos = new String[10];
+    private final long[] pesos = new long[10];
+    // Referencia: nombres ya plegados y sus pesos, como los tendría un cliente en memoria
+    private String[] plegados;
+    private String[] originales;
+    private long[] pesosOriginales;
+    // Prefijos armados de antemano, para que lo medido sea sólo la consulta
+    private String[] amplios;
+    private String[] medios;
+    private String[] casiUnicos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trie = new TrieSugerencias(10);
+        plegados = new String[nombres];
+        originales = new String[nombres];
+        pesosOriginales = new long[nombres];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < nombres; i++) {
+            String nombre = nombre(random, i);
+            long peso = random.nextInt(500);
+            trie.actualizar(nombre, peso, 1);
+            originales[i] = nombre;
+            plegados[i] = Analizador.plegar(nombre);
+            pesosOriginales[i] = peso;
+        }
+        amplios = new String[1024];
+        medios = new String[1024];
+        casiUnicos = new String[1024];
+        for (int i = 0; i < 1024; i++) {
+            String tipo = TIPOS[random.nextInt(TIPOS.length)];
+            amplios[i] = tipo.substring(0, 1);
+            medios[i] = tipo + " " + MARCAS[random.nextInt(MARCAS.length)].substring(0, 2);
+            String nombre = originales[random.nextInt(nombres)];
+            casiUnicos[i] = nombre.substring(0, nombre.length() - 1);
+        }
+        System.out.printf("%n%d nombres en el trie%n", trie.tamanio());
+    }
+
+    private static String nombre(SplittableRandom random, int i) {
+        return TIPOS[random.nextInt(TIPOS.length)] + " " + MARCAS[random.nextInt(MARCAS.length)] + " M" + i;
+    }
+
+    private static String cualquiera(String[] prefijos) {
+        return prefijos[ThreadLocalRandom.current().nextInt(prefijos.length)];
+    }
+
+    @Benchmark
+    public int trie_prefijoAmplio() {
+        return trie.sugerir(cualquiera(amplios), textos, pesos);
+    }
+
+    @Benchmark
+    public int trie_prefijoMedio() {
+        return trie.sugerir(cualquiera(medios), textos, pesos);
+    }
+
+    @Benchmark
+    public int trie_prefijoCasiUnico() {
+        return trie.sugerir(cualquiera(casiUnicos), textos, pesos);
+    }
+
+    // Cambio de stock de un producto: recalcula las mejores de su camino hacia la raíz mientras
+    // el nombre figure entre ellas
+    @Benchmark
+    public void trie_actualizarPeso() {
+        int i = ThreadLocalRandom.current().nextInt(nombres);
+        trie.actualizar(originales[i], 1, 0);
+    }
+
+    @Benchmark
+    public List<String> recorridoLineal_prefijoMedio() {
+        String prefijo = Analizador.plegar(cualquiera(medios));
+        List<Integer> encontrados = new ArrayList<>();
+        for (int i = 0; i < plegados.length; i++) {
+            if (plegados[i].startsWith(prefijo)) {
+                encontrados.add(i);
+            }
+        }
+        return encontrados.stream()
+                .sorted(Comparator.comparingLong((Integer i) -> pesosOriginales[i]).reversed())
+                .limit(10)
+                .map(i -> originales[i])
+                .toList();
+    }
+}
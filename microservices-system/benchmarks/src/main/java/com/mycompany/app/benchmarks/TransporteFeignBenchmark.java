@@ -0,0 +1,103 @@
+package com.mycompany.app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.business_service.client.DataServiceClient;
+import com.mycompany.app.business_service.dto.ProductoDTO;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET de un producto a través de DataServiceClient contra un servidor HTTP local, comparando
+ * el transporte por defecto de Feign (HttpURLConnection) con Apache HttpClient 5 y pool de
+ * conexiones, con 16 hilos concurrentes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class TransporteFeignBenchmark {
+
+    @Param({"default", "hc5"})
+    String transporte;
+
+    private HttpServer servidor;
+    private CloseableHttpClient httpClient;
+    private DataServiceClient client;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        byte[] cuerpo = objectMapper.writeValueAsBytes(new ProductoDTO(1L, "Producto 1", "Descripción 1",
+                BigDecimal.valueOf(1999, 2), "Periféricos", 10, false));
+
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = exchange.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        });
+        servidor.start();
+
+        HttpMessageConverters converters = new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper));
+        client = Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(() -> converters)))
+                .client(crearTransporte())
+                .target(DataServiceClient.class, "http://localhost:" + servidor.getAddress().getPort());
+    }
+
+    private Client crearTransporte() {
+        if (!"hc5".equals(transporte)) {
+            return new Client.Default(null, null);
+        }
+        // Mismos límites que spring.cloud.openfeign.httpclient en business-service
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(200)
+                .setMaxConnPerRoute(50)
+                .build();
+        httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .disableAutomaticRetries()
+                .build();
+        return new ApacheHttp5Client(httpClient);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        servidor.stop(0);
+    }
+
+    @Benchmark
+    public ProductoDTO obtenerProductoPorId() {
+        return client.obtenerProductoPorId(1L);
+    }
+}
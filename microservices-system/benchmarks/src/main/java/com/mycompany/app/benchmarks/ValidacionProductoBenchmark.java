@@ -0,0 +1,61 @@
+package com.mycompany.app.benchmarks;
+
+import com.mycompany.app.business_service.cache.ProductoCache;
+import com.mycompany.app.business_service.client.DataServiceClient;
+import com.mycompany.app.business_service.client.ProductoBatchLoader;
+import com.mycompany.app.business_service.dto.ProductoDTO;
+import com.mycompany.app.business_service.dto.ProductoRequest;
+import com.mycompany.app.business_service.exceptions.ValidacionNegocioException;
+import com.mycompany.app.business_service.service.ProductoBusinessService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validación de negocio en ProductoBusinessService.crearProducto. El cliente Feign es un
+ * stub en memoria, así sólo se mide la validación y la delegación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacionProductoBenchmark {
+
+    private ProductoBusinessService productoBusinessService;
+    private ProductoRequest valido;
+    private ProductoRequest invalido;
+
+    @Setup
+    public void setUp() {
+        ProductoDTO creado = new ProductoDTO(1L, "Mouse", "Óptico", new BigDecimal("50.00"), "Periféricos", 3, false);
+        DataServiceClient stub = (DataServiceClient) Proxy.newProxyInstance(
+                DataServiceClient.class.getClassLoader(),
+                new Class<?>[]{DataServiceClient.class},
+                (proxy, method, args) -> method.getName().equals("crearProducto") ? creado : null);
+        productoBusinessService = new ProductoBusinessService(stub,
+                new ProductoCache(100, Duration.ofMinutes(1)), ProductoBatchLoader.sinAgrupar(stub), 1000, Duration.ofSeconds(1));
+
+        valido = new ProductoRequest("Mouse", "Óptico", new BigDecimal("50.00"), 1L, 3);
+        invalido = new ProductoRequest("Mouse", "Óptico", BigDecimal.ZERO, 1L, 3);
+    }
+
+    @Benchmark
+    public ProductoDTO crearProductoValido() {
+        return productoBusinessService.crearProducto(valido);
+    }
+
+    // Incluye el costo de construir la excepción (con su stack trace)
+    @Benchmark
+    public Object crearProductoInvalido() {
+        try {
+            return productoBusinessService.crearProducto(invalido);
+        } catch (ValidacionNegocioException e) {
+            return e;
+        }
+    }
+}
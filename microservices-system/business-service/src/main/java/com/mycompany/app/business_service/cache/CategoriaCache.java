@@ -0,0 +1,160 @@
+package com.mycompany.app.business_service.cache;
+
+import com.mycompany.app.business_service.dto.CategoriaDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Copia local del listado de categorías y del mapa nombre→id. Las lecturas se responden desde
+ * memoria; un hilo de fondo vuelve a pedir el listado cada {@code intervaloRefresco} y, si
+ * data-service informa un cambio (otro ETag en /data/categorias), reemplaza la copia. Mientras
+ * no cambie, cada refresco es un GET condicional con respuesta 304.
+ *
+ * <p>La copia nunca se sirve con más de {@code antiguedadMaxima} desde la última validación:
+ * si los refrescos de fondo fallan durante ese tiempo, la lectura vuelve a consultar a
+ * data-service y propaga su error. La primera lectura también es sincrónica, y recién ahí
+ * empieza el refresco de fondo.
+ */
+@Slf4j
+public class CategoriaCache implements AutoCloseable {
+
+    private final Supplier<List<CategoriaDTO>> cargador;
+    private final Duration intervaloRefresco;
+    private final long antiguedadMaximaNanos;
+
+    private final ScheduledExecutorService refresco = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+            .name("categoria-cache-refresco").daemon(true).factory());
+    // Lock y no synchronized: la carga es una llamada bloqueante y los lectores pueden ser hilos virtuales
+    private final ReentrantLock carga = new ReentrantLock();
+
+    private volatile Instantanea actual;
+    private boolean refrescoProgramado;
+
+    private final Counter sinCambios;
+    private final Counter actualizadas;
+    private final Counter fallidas;
+
+    private record Instantanea(List<CategoriaDTO> categorias, Map<String, Long> idsPorNombre, long validadaNanos) {
+
+        static Instantanea de(List<CategoriaDTO> categorias) {
+            Map<String, Long> ids = new HashMap<>();
+            for (CategoriaDTO c : categorias) {
+                ids.put(clave(c.getNombre()), c.getId());
+            }
+            return new Instantanea(List.copyOf(categorias), Map.copyOf(ids), System.nanoTime());
+        }
+
+        Instantanea revalidada() {
+            return new Instantanea(categorias, idsPorNombre, System.nanoTime());
+        }
+
+        long antiguedadNanos() {
+            return System.nanoTime() - validadaNanos;
+        }
+    }
+
+    public CategoriaCache(Supplier<List<CategoriaDTO>> cargador, Duration intervaloRefresco,
+                          Duration antiguedadMaxima, MeterRegistry meterRegistry) {
+        this.cargador = cargador;
+        this.intervaloRefresco = intervaloRefresco;
+        this.antiguedadMaximaNanos = antiguedadMaxima.toNanos();
+
+        Gauge.builder("business.cache.categorias.antiguedad", this,
+                        cache -> cache.actual == null ? Double.NaN : cache.actual.antiguedadNanos() / 1e9)
+                .description("Segundos desde la última validación del listado de categorías")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.sinCambios = refrescos(meterRegistry, "sin-cambios");
+        this.actualizadas = refrescos(meterRegistry, "actualizada");
+        this.fallidas = refrescos(meterRegistry, "error");
+    }
+
+    private static Counter refrescos(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("business.cache.categorias.refrescos")
+                .description("Refrescos del listado de categorías contra data-service")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    public List<CategoriaDTO> obtenerTodas() {
+        return vigente().categorias();
+    }
+
+    /** Id de la categoría con ese nombre, sin distinguir mayúsculas/minúsculas. */
+    public Optional<Long> buscarId(String nombre) {
+        return nombre == null ? Optional.empty() : Optional.ofNullable(vigente().idsPorNombre().get(clave(nombre)));
+    }
+
+    private static String clave(String nombre) {
+        return nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Instantanea vigente() {
+        Instantanea instantanea = actual;
+        if (instantanea != null && instantanea.antiguedadNanos() <= antiguedadMaximaNanos) {
+            return instantanea;
+        }
+        carga.lock();
+        try {
+            // Otro lector pudo haberla cargado mientras se esperaba el lock
+            instantanea = actual;
+            if (instantanea == null || instantanea.antiguedadNanos() > antiguedadMaximaNanos) {
+                instantanea = cargar();
+                if (!refrescoProgramado) {
+                    refresco.scheduleWithFixedDelay(this::refrescar, intervaloRefresco.toNanos(),
+                            intervaloRefresco.toNanos(), TimeUnit.NANOSECONDS);
+                    refrescoProgramado = true;
+                }
+            }
+            return instantanea;
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    // Debe llamarse con el lock tomado
+    private Instantanea cargar() {
+        List<CategoriaDTO> categorias = cargador.get();
+        Instantanea anterior = actual;
+        if (anterior != null && anterior.categorias().equals(categorias)) {
+            actual = anterior.revalidada();
+            sinCambios.increment();
+        } else {
+            actual = Instantanea.de(categorias);
+            actualizadas.increment();
+        }
+        return actual;
+    }
+
+    void refrescar() {
+        carga.lock();
+        try {
+            cargar();
+        } catch (RuntimeException e) {
+            // Se sigue sirviendo la copia anterior hasta antiguedadMaxima
+            fallidas.increment();
+            log.warn("No se pudo refrescar el listado de categorías: {}", e.getMessage());
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        refresco.shutdownNow();
+    }
+}
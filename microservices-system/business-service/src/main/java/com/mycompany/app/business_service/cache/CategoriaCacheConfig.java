@@ -0,0 +1,22 @@
+package com.mycompany.app.business_service.cache;
+
+import com.mycompany.app.business_service.client.DataServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CategoriaCacheConfig {
+
+    @Bean
+    public CategoriaCache categoriaCache(DataServiceClient dataServiceClient,
+                                         @Value("${business.cache.categorias.intervalo-refresco:30s}") Duration intervaloRefresco,
+                                         @Value("${business.cache.categorias.antiguedad-maxima:5m}") Duration antiguedadMaxima,
+                                         MeterRegistry meterRegistry) {
+        return new CategoriaCache(dataServiceClient::obtenerTodasLasCategorias, intervaloRefresco, antiguedadMaxima,
+                meterRegistry);
+    }
+}
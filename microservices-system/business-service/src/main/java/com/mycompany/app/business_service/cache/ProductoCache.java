@@ -0,0 +1,156 @@
+package com.mycompany.app.business_service.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mycompany.app.business_service.dto.ProductoDTO;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura de productos por id, acotada por tamaño (desalojo W-TinyLFU de Caffeine)
+ * y con vencimiento por TTL desde la última escritura. Cada entrada es el futuro de su carga:
+ * las cargas corren fuera de los locks de Caffeine, así una carga lenta no bloquea a las
+ * búsquedas de otros ids.
+ *
+ * <p>Tras una escritura, durante {@code retrasoReplicas} el id no se cachea desde una carga:
+ * la lectura de quien no escribió puede venir de una réplica que todavía no la ve, y no debe
+ * volver a llenar la caché con el valor viejo que la escritura acaba de reemplazar.
+ */
+public class ProductoCache {
+
+    private final AsyncCache<Long, ProductoDTO> cache;
+    // Ids escritos hace menos de retrasoReplicas
+    private final Cache<Long, Boolean> escritos;
+
+    public ProductoCache(long tamanioMaximo, Duration ttl) {
+        this(tamanioMaximo, ttl, Duration.ZERO);
+    }
+
+    public ProductoCache(long tamanioMaximo, Duration ttl, Duration retrasoReplicas) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.escritos = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterWrite(retrasoReplicas)
+                .build();
+    }
+
+    /**
+     * Devuelve el producto cacheado o lo carga con {@code cargador}. Las consultas concurrentes
+     * por el mismo id esperan una única carga; si el cargador falla no se cachea nada.
+     */
+    public ProductoDTO obtener(Long id, Function<Long, ProductoDTO> cargador) {
+        if (escritoRecientemente(id)) {
+            return cargador.apply(id);
+        }
+        // Dentro del compute de Caffeine sólo se instala el futuro; quien lo instaló carga
+        // después, en su propio hilo, y el resto espera el futuro
+        CompletableFuture<ProductoDTO> propio = new CompletableFuture<>();
+        CompletableFuture<ProductoDTO> futuro = cache.get(id, (k, executor) -> propio);
+        if (futuro == propio) {
+            try {
+                propio.complete(cargador.apply(id));
+            } catch (Throwable e) {
+                propio.completeExceptionally(e);
+            }
+            // Si lo escribieron mientras cargaba, la carga pudo leer el valor anterior
+            if (escritoRecientemente(id)) {
+                cache.asMap().remove(id, propio);
+            }
+        }
+        return resultado(futuro);
+    }
+
+    /**
+     * Devuelve los productos cacheados de {@code ids} y carga los faltantes con una sola
+     * invocación de {@code cargador}. Los ids que el cargador no devuelve quedan fuera del mapa.
+     */
+    public Map<Long, ProductoDTO> obtenerTodos(Collection<Long> ids,
+                                               Function<Set<? extends Long>, Map<Long, ProductoDTO>> cargador) {
+        Set<Long> recientes = new LinkedHashSet<>();
+        Set<Long> cacheables = new LinkedHashSet<>();
+        for (Long id : ids) {
+            (escritoRecientemente(id) ? recientes : cacheables).add(id);
+        }
+        Map<Long, ProductoDTO> resultado = new HashMap<>();
+        if (!recientes.isEmpty()) {
+            resultado.putAll(cargador.apply(recientes));
+        }
+        if (cacheables.isEmpty()) {
+            return resultado;
+        }
+        // La función de carga de getAll corre fuera del compute: se la invoca directamente
+        resultado.putAll(resultado(cache.getAll(cacheables, (faltantes, executor) -> {
+            try {
+                return CompletableFuture.completedFuture(cargador.apply(faltantes));
+            } catch (Throwable e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        })));
+        // Como en obtener: lo escrito durante la carga no queda cacheado
+        for (Long id : cacheables) {
+            if (escritoRecientemente(id)) {
+                cache.synchronous().invalidate(id);
+            }
+        }
+        return resultado;
+    }
+
+    /** Cachea el producto que devolvió una escritura (viene de la primaria). */
+    public void actualizar(ProductoDTO producto) {
+        if (producto != null && producto.getId() != null) {
+            escritos.put(producto.getId(), Boolean.TRUE);
+            cache.put(producto.getId(), CompletableFuture.completedFuture(producto));
+        }
+    }
+
+    public void invalidar(Long id) {
+        escritos.put(id, Boolean.TRUE);
+        cache.synchronous().invalidate(id);
+    }
+
+    public CacheStats estadisticas() {
+        return cache.synchronous().stats();
+    }
+
+    public long tamanio() {
+        cache.synchronous().cleanUp();
+        return cache.synchronous().estimatedSize();
+    }
+
+    private boolean escritoRecientemente(Long id) {
+        return escritos.getIfPresent(id) != null;
+    }
+
+    Cache<Long, ProductoDTO> nativa() {
+        return cache.synchronous();
+    }
+
+    // El error del cargador tal como lo lanzó, sin el CompletionException del futuro
+    private static <T> T resultado(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.mycompany.app.business_service.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ProductoCacheConfig {
+
+    // Aciertos, fallos y desalojos quedan en /actuator/metrics/cache.* con tag cache=productos
+    @Bean
+    public ProductoCache productoCache(@Value("${business.cache.productos.tamanio-maximo:10000}") long tamanioMaximo,
+                                       @Value("${business.cache.productos.ttl:60s}") Duration ttl,
+                                       @Value("${business.lectura-propia.ventana:1s}") Duration ventanaLecturaPropia,
+                                       MeterRegistry meterRegistry) {
+        ProductoCache productoCache = new ProductoCache(tamanioMaximo, ttl, ventanaLecturaPropia);
+        CaffeineCacheMetrics.monitor(meterRegistry, productoCache.nativa(), "productos");
+        return productoCache;
+    }
+}
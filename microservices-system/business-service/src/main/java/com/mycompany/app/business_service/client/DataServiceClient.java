@@ -1,13 +1,20 @@
 package com.mycompany.app.business_service.client;
 
 import com.mycompany.app.business_service.client.config.FeignClientConfig;
+import com.mycompany.app.business_service.dto.AjusteStockRequest;
 import com.mycompany.app.business_service.dto.CategoriaDTO;
 import com.mycompany.app.business_service.dto.InventarioDTO;
+import com.mycompany.app.business_service.dto.PaginaCursorDTO;
 import com.mycompany.app.business_service.dto.ProductoDTO;
 import com.mycompany.app.business_service.dto.ProductoRequest;
+import com.mycompany.app.business_service.dto.ResultadoImportacionDTO;
+import com.mycompany.app.business_service.dto.SugerenciaDTO;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
 import java.util.List;
 
 @FeignClient(
@@ -20,13 +27,33 @@ public interface DataServiceClient {
     @GetMapping("/data/productos")
     List<ProductoDTO> obtenerTodosLosProductos();
 
+    @GetMapping(value = "/data/productos", params = "ids")
+    List<ProductoDTO> obtenerProductosPorIds(@RequestParam("ids") Collection<Long> ids);
+
+    @GetMapping("/data/productos/buscar")
+    List<ProductoDTO> buscarProductos(@RequestParam("q") String consulta, @RequestParam("limit") Integer limit);
+
+    @GetMapping("/data/productos/sugerencias")
+    List<SugerenciaDTO> obtenerSugerencias(@RequestParam("q") String prefijo, @RequestParam("limit") Integer limit);
+
+    @GetMapping("/data/productos/pagina")
+    PaginaCursorDTO<ProductoDTO> obtenerPaginaDeProductos(@RequestParam("after") Long after,
+                                                          @RequestParam("limit") Integer limit);
+
+    // Respuesta cruda: el cuerpo NDJSON se consume como stream, sin pasar por el decoder
+    @GetMapping(value = "/data/productos/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Response exportarCatalogo();
+
     @GetMapping("/data/productos/{id}")
     ProductoDTO obtenerProductoPorId(@PathVariable("id") Long id);
 
     @PostMapping("/data/productos")
     ProductoDTO crearProducto(@RequestBody ProductoRequest request);
 
-    @PutMapping(value = "/data/productos/{id}", consumes = "application/json", produces = "application/json")
+    @PostMapping(value = "/data/productos/lote", consumes = "application/json")
+    ResultadoImportacionDTO importarProductos(@RequestBody List<ProductoRequest> productos);
+
+    @PutMapping(value = "/data/productos/{id}", consumes = "application/json")
     ProductoDTO actualizarProducto(@PathVariable("id") Long id, @RequestBody ProductoRequest request);
 
     @DeleteMapping("/data/productos/{id}")
@@ -40,5 +67,8 @@ public interface DataServiceClient {
 
     @GetMapping("/data/inventario/stock-bajo")
     List<InventarioDTO> obtenerProductosConStockBajo();
+
+    @PostMapping(value = "/data/inventario/{productoId}/ajuste", consumes = "application/json")
+    InventarioDTO ajustarStock(@PathVariable("productoId") Long productoId, @RequestBody AjusteStockRequest ajuste);
 }
 
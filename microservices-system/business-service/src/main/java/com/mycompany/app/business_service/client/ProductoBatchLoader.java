@@ -0,0 +1,210 @@
+package com.mycompany.app.business_service.client;
+
+import com.mycompany.app.business_service.dto.ProductoDTO;
+import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
+import com.mycompany.app.business_service.exceptions.ProductoNoEncontradoException;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agrupa las búsquedas concurrentes de productos por id en una sola llamada a
+ * {@code GET /data/productos?ids=}. La primera búsqueda abre una ventana de
+ * {@code business.coalescer.productos.ventana}; el lote se envía al cerrar la ventana
+ * o antes, si junta {@code maximo-ids} ids distintos. Cada llamador recibe su producto,
+ * o {@link ProductoNoEncontradoException} si el id no vino en la respuesta. Nadie espera más
+ * que la ventana más el readTimeout de data-service por cada intento de la llamada agrupada.
+ */
+@Component
+@Slf4j
+public class ProductoBatchLoader {
+
+    private final DataServiceClient dataServiceClient;
+    private final boolean habilitado;
+    private final Duration ventana;
+    private final int maximoIds;
+    private final Duration esperaMaxima;
+
+    private final ScheduledExecutorService temporizador;
+    private final ExecutorService despachador;
+    private final ContextSnapshotFactory contextos = ContextSnapshotFactory.builder().build();
+
+    // Guardados por "this": el lote en curso y el cierre programado de su ventana
+    private Map<Long, CompletableFuture<ProductoDTO>> pendientes = new HashMap<>();
+    private ScheduledFuture<?> cierreProgramado;
+
+    @Autowired
+    public ProductoBatchLoader(DataServiceClient dataServiceClient,
+                               @Value("${business.coalescer.productos.habilitado:true}") boolean habilitado,
+                               @Value("${business.coalescer.productos.ventana:5ms}") Duration ventana,
+                               @Value("${business.coalescer.productos.maximo-ids:100}") int maximoIds,
+                               @Value("${spring.cloud.openfeign.client.config.data-service.readTimeout:3000}") long readTimeoutMs,
+                               @Value("${business.resiliencia.reintentos.maximo-intentos:3}") int maximoIntentos) {
+        this(dataServiceClient, habilitado, ventana, maximoIds,
+                ventana.plusMillis(readTimeoutMs * Math.max(1, maximoIntentos)));
+    }
+
+    ProductoBatchLoader(DataServiceClient dataServiceClient, boolean habilitado, Duration ventana,
+                        int maximoIds, Duration esperaMaxima) {
+        this.dataServiceClient = dataServiceClient;
+        this.habilitado = habilitado;
+        this.ventana = ventana;
+        this.maximoIds = maximoIds;
+        this.esperaMaxima = esperaMaxima;
+        if (habilitado) {
+            this.temporizador = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("producto-batch-timer").daemon(true).factory());
+            this.despachador = ContextExecutorService.wrap(Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                    .name("producto-batch-", 0).factory()), contextos::captureAll);
+        } else {
+            this.temporizador = null;
+            this.despachador = null;
+        }
+    }
+
+    /** Loader que no agrupa: cada búsqueda es una llamada directa por id. */
+    public static ProductoBatchLoader sinAgrupar(DataServiceClient dataServiceClient) {
+        return new ProductoBatchLoader(dataServiceClient, false, Duration.ZERO, 100, Duration.ZERO);
+    }
+
+    public ProductoDTO cargar(Long id) {
+        if (!habilitado) {
+            return dataServiceClient.obtenerProductoPorId(id);
+        }
+        CompletableFuture<ProductoDTO> futuro;
+        Map<Long, CompletableFuture<ProductoDTO>> lleno = null;
+        synchronized (this) {
+            futuro = pendientes.computeIfAbsent(id, k -> new CompletableFuture<ProductoDTO>()
+                    .orTimeout(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS));
+            if (pendientes.size() >= maximoIds) {
+                lleno = cerrarLote();
+            } else if (cierreProgramado == null) {
+                // La llamada agrupada queda en la traza de la búsqueda que abrió la ventana
+                cierreProgramado = temporizador.schedule(contextos.captureAll().wrap(this::despacharPorVentana),
+                        ventana.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (lleno != null) {
+            despachar(lleno);
+        }
+        return esperar(futuro);
+    }
+
+    /**
+     * Carga varios ids en llamadas de a {@code maximo-ids}, sin pasar por la ventana:
+     * quien pide muchos ids ya forma su propio lote. Los ids inexistentes se omiten.
+     */
+    public Map<Long, ProductoDTO> cargarTodos(Collection<? extends Long> ids) {
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, ProductoDTO> resultado = new LinkedHashMap<>();
+        for (int desde = 0; desde < distintos.size(); desde += maximoIds) {
+            List<Long> tramo = distintos.subList(desde, Math.min(desde + maximoIds, distintos.size()));
+            for (ProductoDTO p : dataServiceClient.obtenerProductosPorIds(tramo)) {
+                resultado.put(p.getId(), p);
+            }
+        }
+        return resultado;
+    }
+
+    private void despacharPorVentana() {
+        Map<Long, CompletableFuture<ProductoDTO>> lote;
+        synchronized (this) {
+            lote = cerrarLote();
+        }
+        if (!lote.isEmpty()) {
+            despachar(lote);
+        }
+    }
+
+    // Debe llamarse con el monitor tomado
+    private Map<Long, CompletableFuture<ProductoDTO>> cerrarLote() {
+        Map<Long, CompletableFuture<ProductoDTO>> lote = pendientes;
+        pendientes = new HashMap<>();
+        if (cierreProgramado != null) {
+            cierreProgramado.cancel(false);
+            cierreProgramado = null;
+        }
+        return lote;
+    }
+
+    private void despachar(Map<Long, CompletableFuture<ProductoDTO>> lote) {
+        try {
+            despachador.execute(() -> cargarLote(lote));
+        } catch (RejectedExecutionException e) {
+            lote.values().forEach(futuro -> futuro.completeExceptionally(e));
+        }
+    }
+
+    // Todo futuro del lote termina, aun si la carga lanza un Error
+    private void cargarLote(Map<Long, CompletableFuture<ProductoDTO>> lote) {
+        try {
+            Map<Long, ProductoDTO> encontrados = new HashMap<>();
+            for (ProductoDTO p : dataServiceClient.obtenerProductosPorIds(List.copyOf(lote.keySet()))) {
+                encontrados.put(p.getId(), p);
+            }
+            lote.forEach((id, futuro) -> {
+                ProductoDTO p = encontrados.get(id);
+                if (p != null) {
+                    futuro.complete(p);
+                } else {
+                    futuro.completeExceptionally(
+                            new ProductoNoEncontradoException("Producto no encontrado con ID: " + id));
+                }
+            });
+        } catch (Throwable e) {
+            log.warn("Falló la carga agrupada de {} productos: {}", lote.size(), e.getMessage());
+            lote.values().forEach(futuro -> futuro.completeExceptionally(e));
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private ProductoDTO esperar(CompletableFuture<ProductoDTO> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new MicroserviceCommunicationException(
+                        "Sin respuesta de la carga agrupada de productos en " + esperaMaxima.toMillis() + " ms", e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        if (habilitado) {
+            temporizador.shutdownNow();
+            despachador.shutdown();
+        }
+    }
+}
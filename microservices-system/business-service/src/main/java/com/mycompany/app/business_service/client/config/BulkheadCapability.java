@@ -0,0 +1,43 @@
+package com.mycompany.app.business_service.client.config;
+
+import com.mycompany.app.business_service.exceptions.ServicioSaturadoException;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+
+/**
+ * Limita las llamadas concurrentes a data-service con un bulkhead para lecturas (GET) y otro
+ * para escrituras (POST/PUT/DELETE). Si no se obtiene lugar dentro de la espera configurada
+ * la llamada falla con {@link ServicioSaturadoException} sin llegar a tomar una conexión.
+ */
+public class BulkheadCapability implements Capability {
+
+    private final Bulkhead lecturas;
+    private final Bulkhead escrituras;
+
+    public BulkheadCapability(Bulkhead lecturas, Bulkhead escrituras) {
+        this.lecturas = lecturas;
+        this.escrituras = escrituras;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            Bulkhead bulkhead = request.httpMethod() == Request.HttpMethod.GET ? lecturas : escrituras;
+            try {
+                bulkhead.acquirePermission();
+            } catch (BulkheadFullException e) {
+                throw new ServicioSaturadoException("data-service saturado: " + bulkhead.getName(), e);
+            }
+            // El permiso se libera al recibir la respuesta; un cuerpo en streaming (export)
+            // se sigue leyendo fuera del bulkhead
+            try {
+                return client.execute(request, options);
+            } finally {
+                bulkhead.onComplete();
+            }
+        };
+    }
+}
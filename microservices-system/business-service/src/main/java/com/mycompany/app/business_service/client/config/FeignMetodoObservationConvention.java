@@ -0,0 +1,29 @@
+package com.mycompany.app.business_service.client.config;
+
+import feign.Request;
+import feign.Response;
+import feign.micrometer.DefaultFeignObservationConvention;
+import feign.micrometer.FeignContext;
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.GlobalObservationConvention;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+
+/**
+ * Agrega a las métricas http.client.requests de Feign el método del cliente
+ * (p.ej. {@code DataServiceClient#obtenerProductoPorId(Long)}) y el resultado
+ * (SUCCESS, CLIENT_ERROR, SERVER_ERROR, UNKNOWN si no hubo respuesta).
+ */
+@Component
+public class FeignMetodoObservationConvention extends DefaultFeignObservationConvention
+        implements GlobalObservationConvention<FeignContext> {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(FeignContext context) {
+        Request request = context.getCarrier();
+        Response response = context.getResponse();
+        return super.getLowCardinalityKeyValues(context).and(
+                "method", request.requestTemplate().methodMetadata().configKey(),
+                "outcome", response != null ? Outcome.forStatus(response.status()).name() : Outcome.UNKNOWN.name());
+    }
+}
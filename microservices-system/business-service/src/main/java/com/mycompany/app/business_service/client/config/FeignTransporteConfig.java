@@ -0,0 +1,87 @@
+package com.mycompany.app.business_service.client.config;
+
+import feign.Capability;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Ajustes del transporte Apache HttpClient 5 que usa DataServiceClient. Tamaño del pool,
+ * conexiones por ruta y TTL se configuran en spring.cloud.openfeign.httpclient.*; acá se
+ * agrega lo que esas propiedades no cubren: desalojo de conexiones inactivas, tope de
+ * keep-alive, métricas del pool, los bulkheads de lecturas/escrituras y la revalidación
+ * de GETs con ETag.
+ */
+@Configuration
+public class FeignTransporteConfig {
+
+    @Bean
+    public HttpClientBuilderCustomizer feignKeepAliveCustomizer(
+            @Value("${business.http-client.desalojo-inactivas:30s}") Duration desalojoInactivas,
+            @Value("${business.http-client.keep-alive-maximo:60s}") Duration keepAliveMaximo) {
+        TimeValue keepAlive = TimeValue.ofMilliseconds(keepAliveMaximo.toMillis());
+        return builder -> builder
+                // Los reintentos los decide Feign; hc5 por defecto repite GETs ante 503/429
+                .disableAutomaticRetries()
+                .evictIdleConnections(TimeValue.ofMilliseconds(desalojoInactivas.toMillis()))
+                // Respeta el Keep-Alive del servidor, pero sin reusar una conexión más allá del tope
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue pedido = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(pedido) && pedido.compareTo(keepAlive) < 0 ? pedido : keepAlive;
+                });
+    }
+
+    // Conexiones disponibles/en uso/pendientes en /actuator/metrics/httpcomponents.httpclient.pool.*
+    // (sólo con el transporte hc5; con http2client no hay pool que medir)
+    @Bean
+    public MeterBinder feignPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> connectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "data-service").bindTo(registry);
+            }
+        });
+    }
+
+    // Se registra en el contexto principal (no en FeignClientConfig) para que las propiedades
+    // business.bulkhead.* se conviertan a Duration; Feign toma las Capability de los contextos padre
+    @Bean
+    public Capability bulkheadCapability(
+            @Value("${business.bulkhead.lecturas.maximo-concurrentes:40}") int maximoLecturas,
+            @Value("${business.bulkhead.lecturas.espera-maxima:100ms}") Duration esperaLecturas,
+            @Value("${business.bulkhead.escrituras.maximo-concurrentes:10}") int maximoEscrituras,
+            @Value("${business.bulkhead.escrituras.espera-maxima:250ms}") Duration esperaEscrituras) {
+        return new BulkheadCapability(
+                bulkhead("data-service-lecturas", maximoLecturas, esperaLecturas),
+                bulkhead("data-service-escrituras", maximoEscrituras, esperaEscrituras));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "business.revalidacion.habilitada", havingValue = "true", matchIfMissing = true)
+    public Capability revalidacionCapability(
+            @Value("${business.revalidacion.tamanio-maximo:16MB}") DataSize tamanioMaximo,
+            MeterRegistry meterRegistry) {
+        return new RevalidacionCapability(tamanioMaximo.toBytes(), meterRegistry);
+    }
+
+    private static Bulkhead bulkhead(String nombre, int maximoConcurrentes, Duration esperaMaxima) {
+        return Bulkhead.of(nombre, BulkheadConfig.custom()
+                .maxConcurrentCalls(maximoConcurrentes)
+                .maxWaitDuration(esperaMaxima)
+                .build());
+    }
+}
@@ -0,0 +1,52 @@
+package com.mycompany.app.business_service.client.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import feign.RequestInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Respuestas de data-service en Smile (JSON binario). Los nombres de campo repetidos en cada
+ * fila de un listado se codifican como referencias, y los números viajan en binario. Ver
+ * FormatoBinarioBenchmark. DataServiceClient pide Smile con JSON como alternativa, así que
+ * también funciona contra un data-service que sólo responda JSON. Los cuerpos de las
+ * peticiones siguen en JSON y la API pública /api responde sólo JSON.
+ */
+@Configuration
+public class FormatoBinarioConfig implements WebMvcConfigurer {
+
+    static final String ACCEPT_DATA_SERVICE = "application/x-jackson-smile, application/json;q=0.9";
+
+    // Lo usa el SpringDecoder de Feign (toma los convertidores del contexto principal); construido
+    // con el builder de Boot para que spring.jackson.* aplique igual que en JSON
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    // Se registra en el contexto principal, como las Capability; no pisa un Accept explícito
+    // (p.ej. produces = NDJSON en exportarCatalogo)
+    @Bean
+    @ConditionalOnProperty(name = "business.http-client.formato-binario", havingValue = "true", matchIfMissing = true)
+    public RequestInterceptor acceptFormatoBinarioInterceptor() {
+        return template -> {
+            if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, ACCEPT_DATA_SERVICE);
+            }
+        };
+    }
+
+    // El convertidor Smile queda para Feign; los clientes de /api no pueden negociarlo
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+    }
+}
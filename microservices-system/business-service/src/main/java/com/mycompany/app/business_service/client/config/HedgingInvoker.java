@@ -0,0 +1,122 @@
+package com.mycompany.app.business_service.client.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Peticiones cubiertas (hedging): si la primera llamada no respondió al superar el p95 de
+ * las últimas latencias observadas, se lanza una segunda idéntica y gana la primera que
+ * responda bien. Acota la latencia de cola a costa de algunas llamadas duplicadas; usar
+ * sólo con operaciones idempotentes. Las latencias se llevan por operación: un lote de
+ * productos no tarda lo mismo que un producto por id.
+ *
+ * <p>Cada intento corre en su propio hilo virtual y la perdedora se interrumpe: la E/S de
+ * sockets en hilos virtuales es interrumpible, así que su conexión se cierra y libera el lugar
+ * en el pool y en el bulkhead sin esperar la respuesta.
+ */
+public class HedgingInvoker implements AutoCloseable {
+
+    private static final int MUESTRAS = 128;
+    private static final int MUESTRAS_MINIMAS = 20;
+
+    private final Duration demoraInicial;
+    private final Duration demoraMinima;
+    private final ExecutorService ejecutor = ContextExecutorService.wrap(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hedging-", 0).factory()),
+            ContextSnapshotFactory.builder().build()::captureAll);
+
+    private final Map<String, Latencias> latencias = new ConcurrentHashMap<>();
+
+    public HedgingInvoker(Duration demoraInicial, Duration demoraMinima) {
+        this.demoraInicial = demoraInicial;
+        this.demoraMinima = demoraMinima;
+    }
+
+    public <T> T ejecutar(Callable<T> llamada) throws Throwable {
+        return ejecutar("", llamada);
+    }
+
+    public <T> T ejecutar(String operacion, Callable<T> llamada) throws Throwable {
+        Latencias observadas = latencias.computeIfAbsent(operacion, k -> new Latencias());
+        long demora = observadas.demora(demoraInicial, demoraMinima).toNanos();
+        CompletionService<T> intentos = new ExecutorCompletionService<>(ejecutor);
+        Future<T> primera = intentos.submit(medida(observadas, llamada));
+        Future<T> segunda = null;
+        try {
+            Future<T> terminada = intentos.poll(demora, TimeUnit.NANOSECONDS);
+            if (terminada == null) {
+                // La primera sigue en curso: se cubre con una segunda y gana la que responda bien
+                segunda = intentos.submit(medida(observadas, llamada));
+                terminada = intentos.take();
+                if (terminada.state() == Future.State.FAILED) {
+                    terminada = intentos.take();
+                }
+            }
+            return terminada.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } finally {
+            primera.cancel(true);
+            if (segunda != null) {
+                segunda.cancel(true);
+            }
+        }
+    }
+
+    /** Demora de cobertura de {@code operacion}; {@code demoraInicial} si aún no se ejecutó. */
+    public Duration demoraActual(String operacion) {
+        Latencias observadas = latencias.get(operacion);
+        return observadas == null ? demoraInicial : observadas.demora(demoraInicial, demoraMinima);
+    }
+
+    private static <T> Callable<T> medida(Latencias observadas, Callable<T> llamada) {
+        return () -> {
+            long inicio = System.nanoTime();
+            T valor = llamada.call();
+            observadas.registrar(System.nanoTime() - inicio);
+            return valor;
+        };
+    }
+
+    // Ventana circular de latencias exitosas de una operación, en nanos
+    private static final class Latencias {
+        private final long[] muestras = new long[MUESTRAS];
+        private int siguiente;
+        private int registradas;
+
+        // p95 de las latencias recientes; demoraInicial hasta juntar suficientes muestras
+        synchronized Duration demora(Duration demoraInicial, Duration demoraMinima) {
+            if (registradas < MUESTRAS_MINIMAS) {
+                return demoraInicial;
+            }
+            long[] copia = Arrays.copyOf(muestras, registradas);
+            Arrays.sort(copia);
+            long p95 = copia[(int) Math.ceil(copia.length * 0.95) - 1];
+            return Duration.ofNanos(Math.max(p95, demoraMinima.toNanos()));
+        }
+
+        synchronized void registrar(long nanos) {
+            muestras[siguiente] = nanos;
+            siguiente = (siguiente + 1) % MUESTRAS;
+            registradas = Math.min(registradas + 1, MUESTRAS);
+        }
+    }
+
+    @Override
+    public void close() {
+        ejecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.app.business_service.client.config;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.context.ContextRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Lectura propia contra las réplicas de data-service. data-service responde a cada escritura
+ * confirmada con la marca {@value #CABECERA}; mientras dure la request a /api se guarda en la
+ * sesión del hilo y se reenvía en las llamadas siguientes, que data-service manda a la
+ * primaria. La sesión la abre {@link LecturaPropiaConfig} con la marca que trae el cliente de
+ * /api, y la marca nueva se le devuelve en la misma cabecera para que la presente después.
+ * Sin sesión (refrescos de caché, tareas de fondo) las llamadas pasan sin tocarse.
+ */
+public class LecturaPropiaCapability implements Capability {
+
+    public static final String CABECERA = "X-Ultima-Escritura";
+
+    private static final ThreadLocal<Sesion> SESION = new ThreadLocal<>();
+
+    // La sesión viaja con el resto del contexto a los ejecutores que lo capturan (DashboardService,
+    // HedgingInvoker). Una llamada agrupada de ProductoBatchLoader lleva el contexto de un solo
+    // llamador: por eso quien tiene una marca reciente busca sin agrupar (ver ProductoBusinessService)
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor("business.lectura-propia", SESION);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            Sesion sesion = SESION.get();
+            if (sesion == null) {
+                return client.execute(request, options);
+            }
+            String marca = sesion.marca;
+            Response respuesta = client.execute(marca == null ? request : conMarca(request, marca), options);
+            String nueva = primerValor(respuesta.headers(), CABECERA);
+            if (nueva != null) {
+                sesion.marca = nueva;
+                sesion.alEscribir.accept(nueva);
+            }
+            return respuesta;
+        };
+    }
+
+    /** Epoch en ms de la última escritura de la sesión del hilo; 0 si no hay sesión o marca. */
+    public static long marcaActual() {
+        Sesion sesion = SESION.get();
+        String marca = sesion == null ? null : sesion.marca;
+        if (marca == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(marca.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /** Abre la sesión del hilo con la marca que trae el llamador (null si no trae). */
+    static void abrirSesion(String marca, Consumer<String> alEscribir) {
+        SESION.set(new Sesion(marca, alEscribir));
+    }
+
+    static void cerrarSesion() {
+        SESION.remove();
+    }
+
+    private static Request conMarca(Request request, String marca) {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        headers.put(CABECERA, List.of(marca));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(),
+                request.charset(), request.requestTemplate());
+    }
+
+    private static String primerValor(Map<String, Collection<String>> headers, String nombre) {
+        // Feign normaliza los nombres a minúsculas en las respuestas
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(nombre) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    // Compartida entre el hilo de la request y los que la propagan: la escritura de uno la ven
+    // las llamadas siguientes de los otros
+    private static final class Sesion {
+        private final Consumer<String> alEscribir;
+        private volatile String marca;
+
+        private Sesion(String marca, Consumer<String> alEscribir) {
+            this.marca = marca;
+            this.alEscribir = alEscribir;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mycompany.app.business_service.client.config;
+
+import feign.Capability;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Cada request a /api abre una sesión de {@link LecturaPropiaCapability} con la marca
+ * {@value LecturaPropiaCapability#CABECERA} que trae el cliente, y le responde con la marca de
+ * data-service si durante la request escribió. Así la lectura propia queda acotada a quien
+ * escribió: los demás clientes siguen leyendo de las réplicas.
+ */
+@Configuration
+public class LecturaPropiaConfig implements WebMvcConfigurer {
+
+    // Se registra en el contexto principal, como las demás Capability
+    @Bean
+    public Capability lecturaPropiaCapability() {
+        return new LecturaPropiaCapability();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                LecturaPropiaCapability.abrirSesion(request.getHeader(LecturaPropiaCapability.CABECERA), marca -> {
+                    if (!response.isCommitted()) {
+                        response.setHeader(LecturaPropiaCapability.CABECERA, marca);
+                    }
+                });
+                return true;
+            }
+
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                       Object handler) {
+                LecturaPropiaCapability.cerrarSesion();
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        @Nullable Exception ex) {
+                LecturaPropiaCapability.cerrarSesion();
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
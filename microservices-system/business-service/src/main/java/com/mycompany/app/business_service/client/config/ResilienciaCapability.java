@@ -0,0 +1,105 @@
+package com.mycompany.app.business_service.client.config;
+
+import com.mycompany.app.business_service.exceptions.ServicioNoDisponibleException;
+import feign.Capability;
+import feign.Feign;
+import feign.FeignException;
+import feign.InvocationHandlerFactory;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.functions.CheckedSupplier;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envuelve cada método del cliente Feign con un circuit breaker propio y, sólo en los GET,
+ * reintentos con backoff exponencial y jitter. Los métodos de {@code metodosCubiertos}
+ * además usan hedging si hay un {@link HedgingInvoker}. Con el circuito abierto la llamada
+ * falla enseguida con {@link ServicioNoDisponibleException}, sin esperar el readTimeout.
+ */
+public class ResilienciaCapability implements Capability {
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final RetryRegistry reintentos;
+    private final HedgingInvoker hedging;
+    private final Set<String> metodosCubiertos;
+
+    public ResilienciaCapability(CircuitBreakerRegistry circuitBreakers, RetryRegistry reintentos,
+                                 HedgingInvoker hedging, Set<String> metodosCubiertos) {
+        this.circuitBreakers = circuitBreakers;
+        this.reintentos = reintentos;
+        this.hedging = hedging;
+        this.metodosCubiertos = metodosCubiertos;
+    }
+
+    /** Fallas que cuentan para el circuito y justifican reintentar: timeouts, E/S y 5xx. */
+    public static boolean esFalla(Throwable t) {
+        return t instanceof RetryableException
+                || t instanceof FeignException.FeignServerException
+                || t instanceof ServicioNoDisponibleException;
+    }
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory factory) {
+        return (target, dispatch) -> {
+            InvocationHandler delegado = factory.create(target, dispatch);
+            Map<Method, InvocationHandler> protegidos = new ConcurrentHashMap<>();
+            return (proxy, method, args) -> {
+                if (!dispatch.containsKey(method)) {
+                    return delegado.invoke(proxy, method, args); // equals, hashCode, toString
+                }
+                return protegidos.computeIfAbsent(method, m -> proteger(target.type(), m, delegado))
+                        .invoke(proxy, method, args);
+            };
+        };
+    }
+
+    private InvocationHandler proteger(Class<?> tipo, Method method, InvocationHandler delegado) {
+        String nombre = Feign.configKey(tipo, method);
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(nombre);
+        Retry retry = esGet(method) ? reintentos.retry(nombre) : null;
+        boolean cubierto = hedging != null && metodosCubiertos.contains(method.getName());
+
+        return (proxy, m, args) -> {
+            CheckedSupplier<Object> llamada = cubierto
+                    ? () -> hedging.ejecutar(nombre, () -> invocar(delegado, proxy, m, args))
+                    : () -> delegado.invoke(proxy, m, args);
+            llamada = CircuitBreaker.decorateCheckedSupplier(circuitBreaker, llamada);
+            if (retry != null) {
+                llamada = Retry.decorateCheckedSupplier(retry, llamada);
+            }
+            try {
+                return llamada.get();
+            } catch (CallNotPermittedException e) {
+                throw new ServicioNoDisponibleException("Circuito abierto para " + nombre, e);
+            }
+        };
+    }
+
+    private static Object invocar(InvocationHandler delegado, Object proxy, Method m, Object[] args) throws Exception {
+        try {
+            return delegado.invoke(proxy, m, args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static boolean esGet(Method method) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        return mapping != null && Arrays.asList(mapping.method()).contains(RequestMethod.GET);
+    }
+}
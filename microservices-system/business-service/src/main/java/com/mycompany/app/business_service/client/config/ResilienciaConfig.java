@@ -0,0 +1,92 @@
+package com.mycompany.app.business_service.client.config;
+
+import feign.Capability;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Circuit breaker por método, reintentos de GETs y hedging de las búsquedas por id para
+ * DataServiceClient (ver {@link ResilienciaCapability}). Configurable en business.resiliencia.*.
+ * El hedging cubre obtenerProductoPorId y obtenerProductosPorIds: con el coalescer de productos
+ * habilitado las búsquedas por id van agrupadas a la segunda.
+ * Estado, llamadas y transiciones de cada circuito se publican como métricas resilience4j.*.
+ */
+@Configuration
+@Slf4j
+public class ResilienciaConfig {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            @Value("${business.resiliencia.circuit-breaker.umbral-fallas:50}") float umbralFallas,
+            @Value("${business.resiliencia.circuit-breaker.ventana:50}") int ventana,
+            @Value("${business.resiliencia.circuit-breaker.minimo-llamadas:20}") int minimoLlamadas,
+            @Value("${business.resiliencia.circuit-breaker.espera-abierto:10s}") Duration esperaAbierto) {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(umbralFallas)
+                .slidingWindowSize(ventana)
+                .minimumNumberOfCalls(minimoLlamadas)
+                .waitDurationInOpenState(esperaAbierto)
+                .permittedNumberOfCallsInHalfOpenState(5)
+                .recordException(ResilienciaCapability::esFalla)
+                .build());
+    }
+
+    @Bean
+    public RetryRegistry retryRegistry(
+            @Value("${business.resiliencia.reintentos.maximo-intentos:3}") int maximoIntentos,
+            @Value("${business.resiliencia.reintentos.espera-inicial:100ms}") Duration esperaInicial) {
+        // 100 ms, 200 ms, 400 ms... cada uno ±50% al azar para que los clientes no reintenten a la par
+        return RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(maximoIntentos)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(esperaInicial, 2.0, 0.5))
+                .retryOnException(ResilienciaCapability::esFalla)
+                .build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "business.resiliencia.hedging.habilitado", havingValue = "true")
+    public HedgingInvoker hedgingInvoker(
+            @Value("${business.resiliencia.hedging.demora-inicial:100ms}") Duration demoraInicial,
+            @Value("${business.resiliencia.hedging.demora-minima:10ms}") Duration demoraMinima) {
+        return new HedgingInvoker(demoraInicial, demoraMinima);
+    }
+
+    @Bean
+    public Capability resilienciaCapability(CircuitBreakerRegistry circuitBreakers, RetryRegistry reintentos,
+                                            ObjectProvider<HedgingInvoker> hedging) {
+        return new ResilienciaCapability(circuitBreakers, reintentos, hedging.getIfAvailable(),
+                Set.of("obtenerProductoPorId", "obtenerProductosPorIds"));
+    }
+
+    @Bean
+    public MeterBinder resilienciaMetrics(CircuitBreakerRegistry circuitBreakers, RetryRegistry reintentos) {
+        return registry -> {
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+            TaggedRetryMetrics.ofRetryRegistry(reintentos).bindTo(registry);
+            // Los circuitos se crean al primer uso de cada método
+            circuitBreakers.getEventPublisher().onEntryAdded(agregado ->
+                    agregado.getAddedEntry().getEventPublisher().onStateTransition(evento -> {
+                        log.warn("Circuit breaker {}: {}", evento.getCircuitBreakerName(), evento.getStateTransition());
+                        registry.counter("resilience4j.circuitbreaker.transitions",
+                                "name", evento.getCircuitBreakerName(),
+                                "from", evento.getStateTransition().getFromState().name(),
+                                "to", evento.getStateTransition().getToState().name()).increment();
+                    }));
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.mycompany.app.business_service.client.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpHeaders;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Revalidación de los GETs a data-service que responden con ETag. Guarda el último cuerpo y su
+ * validador por URL y Accept, y la próxima vez pide con {@code If-None-Match}. Un 304 se
+ * contesta con el cuerpo guardado, así que decoder y servicios ven un 200 normal; la
+ * revalidación cuesta un ida y vuelta sin cuerpo ni decodificación del lado de data-service.
+ * Las respuestas sin ETag (listados completos, export) pasan sin tocarse.
+ */
+public class RevalidacionCapability implements Capability {
+
+    private final Cache<String, RespuestaValidada> respuestas;
+    private final Counter noModificadas;
+    private final Counter modificadas;
+
+    public RevalidacionCapability(long pesoMaximoBytes, MeterRegistry meterRegistry) {
+        this.respuestas = Caffeine.newBuilder()
+                .maximumWeight(pesoMaximoBytes)
+                .weigher((String clave, RespuestaValidada respuesta) -> clave.length() + respuesta.cuerpo().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, respuestas, "data-service-revalidacion");
+        this.noModificadas = revalidaciones(meterRegistry, "no-modificada");
+        this.modificadas = revalidaciones(meterRegistry, "modificada");
+    }
+
+    private static Counter revalidaciones(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("data-service.revalidaciones")
+                .description("GETs condicionales a data-service por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            if (request.httpMethod() != Request.HttpMethod.GET) {
+                return client.execute(request, options);
+            }
+            String clave = clave(request);
+            RespuestaValidada guardada = respuestas.getIfPresent(clave);
+            Response respuesta = client.execute(guardada == null ? request : conIfNoneMatch(request, guardada.etag()), options);
+
+            if (guardada != null) {
+                if (respuesta.status() == 304) {
+                    respuesta.close();
+                    noModificadas.increment();
+                    return guardada.comoRespuesta(request);
+                }
+                modificadas.increment();
+                if (respuesta.status() == 404 || respuesta.status() == 410) {
+                    respuestas.invalidate(clave);
+                }
+            }
+
+            String etag = primerValor(respuesta.headers(), HttpHeaders.ETAG);
+            if (respuesta.status() != 200 || etag == null || respuesta.body() == null) {
+                return respuesta;
+            }
+            byte[] cuerpo;
+            try (InputStream entrada = respuesta.body().asInputStream()) {
+                cuerpo = entrada.readAllBytes();
+            }
+            respuestas.put(clave, new RespuestaValidada(etag, respuesta.headers(), cuerpo));
+            return respuesta.toBuilder().body(cuerpo).build();
+        };
+    }
+
+    // Cada representación (Smile o JSON) se revalida por separado
+    private static String clave(Request request) {
+        Collection<String> accept = request.headers().getOrDefault(HttpHeaders.ACCEPT, List.of());
+        return request.url() + " " + String.join(",", accept);
+    }
+
+    private static Request conIfNoneMatch(Request request, String etag) {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        headers.put(HttpHeaders.IF_NONE_MATCH, List.of(etag));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(),
+                request.charset(), request.requestTemplate());
+    }
+
+    private static String primerValor(Map<String, Collection<String>> headers, String nombre) {
+        // Feign normaliza los nombres a minúsculas en las respuestas
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(nombre) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    long tamanio() {
+        respuestas.cleanUp();
+        return respuestas.estimatedSize();
+    }
+
+    private record RespuestaValidada(String etag, Map<String, Collection<String>> headers, byte[] cuerpo) {
+
+        Response comoRespuesta(Request request) {
+            return Response.builder()
+                    .status(200)
+                    .reason("OK")
+                    .request(request)
+                    .headers(headers)
+                    .body(cuerpo)
+                    .build();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.mycompany.app.business_service.client.config;
 
 import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
 import com.mycompany.app.business_service.exceptions.ProductoNoEncontradoException;
+import com.mycompany.app.business_service.exceptions.ServicioNoDisponibleException;
+import com.mycompany.app.business_service.exceptions.StockInsuficienteException;
 import feign.Response;
 import feign.codec.ErrorDecoder;
 
@@ -13,8 +15,12 @@ public class SimpleErrorDecoder implements ErrorDecoder {
         int status = response.status();
         return switch (status) {
             case 404 -> new ProductoNoEncontradoException("Recurso no encontrado en data-service");
-            case 400, 409 -> new MicroserviceCommunicationException("Error del cliente al invocar data-service");
-            case 502, 503, 504 -> new MicroserviceCommunicationException("data-service no disponible");
+            // En un ajuste de stock, 409 significa que la cantidad quedaría en negativo
+            case 409 -> methodKey.contains("#ajustarStock(")
+                    ? new StockInsuficienteException("Stock insuficiente para el ajuste solicitado")
+                    : new MicroserviceCommunicationException("Error del cliente al invocar data-service");
+            case 400 -> new MicroserviceCommunicationException("Error del cliente al invocar data-service");
+            case 502, 503, 504 -> new ServicioNoDisponibleException("data-service no disponible");
             default -> defaultDecoder.decode(methodKey, response);
         };
     }
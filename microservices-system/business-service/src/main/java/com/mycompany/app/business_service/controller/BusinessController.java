@@ -1,18 +1,30 @@
 package com.mycompany.app.business_service.controller;
 
+import com.mycompany.app.business_service.dto.AjusteStockRequest;
 import com.mycompany.app.business_service.dto.CategoriaDTO;
+import com.mycompany.app.business_service.dto.DashboardDTO;
 import com.mycompany.app.business_service.dto.InventarioDTO;
+import com.mycompany.app.business_service.dto.PaginaCursorDTO;
 import com.mycompany.app.business_service.dto.ProductoDTO;
 import com.mycompany.app.business_service.dto.ProductoRequest;
+import com.mycompany.app.business_service.dto.ResultadoImportacionDTO;
+import com.mycompany.app.business_service.dto.SugerenciaDTO;
 import com.mycompany.app.business_service.service.CategoriaBusinessService;
+import com.mycompany.app.business_service.service.DashboardService;
+import com.mycompany.app.business_service.service.ExportacionCatalogoService;
 import com.mycompany.app.business_service.service.InventarioBusinessService;
 import com.mycompany.app.business_service.service.ProductoBusinessService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,13 +36,24 @@ public class BusinessController {
     private final ProductoBusinessService productoBusinessService;
     private final CategoriaBusinessService categoriaBusinessService;
     private final InventarioBusinessService inventarioBusinessService;
+    private final ExportacionCatalogoService exportacionCatalogoService;
+    private final DashboardService dashboardService;
 
     public BusinessController(ProductoBusinessService productoBusinessService,
                               CategoriaBusinessService categoriaBusinessService,
-                              InventarioBusinessService inventarioBusinessService) {
+                              InventarioBusinessService inventarioBusinessService,
+                              ExportacionCatalogoService exportacionCatalogoService,
+                              DashboardService dashboardService) {
         this.productoBusinessService = productoBusinessService;
         this.categoriaBusinessService = categoriaBusinessService;
         this.inventarioBusinessService = inventarioBusinessService;
+        this.exportacionCatalogoService = exportacionCatalogoService;
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping("/dashboard")
+    public DashboardDTO obtenerDashboard() {
+        return dashboardService.obtenerDashboard();
     }
 
     @GetMapping("/productos")
@@ -38,6 +61,42 @@ public class BusinessController {
         return productoBusinessService.obtenerTodosLosProductos();
     }
 
+    @GetMapping(value = "/productos", params = "ids")
+    public List<ProductoDTO> obtenerProductosPorIds(@RequestParam("ids") @Size(min = 1, max = 200) List<Long> ids) {
+        return productoBusinessService.obtenerProductosPorIds(ids);
+    }
+
+    // Búsqueda de texto en nombre y descripción, de más a menos relevante
+    @GetMapping("/productos/buscar")
+    public List<ProductoDTO> buscarProductos(
+            @RequestParam("q") @NotBlank @Size(max = 200) String consulta,
+            @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(100) Integer limit) {
+        return productoBusinessService.buscarProductos(consulta, limit);
+    }
+
+    // Autocompletado de nombres por prefijo, sin distinguir tildes ni mayúsculas. El tope de
+    // limit acompaña a data.sugerencias.maximo de data-service
+    @GetMapping("/productos/sugerencias")
+    public List<SugerenciaDTO> obtenerSugerencias(
+            @RequestParam(name = "q", defaultValue = "") @Size(max = 100) String prefijo,
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) @Max(10) Integer limit) {
+        return productoBusinessService.obtenerSugerencias(prefijo, limit);
+    }
+
+    @GetMapping("/productos/pagina")
+    public PaginaCursorDTO<ProductoDTO> obtenerPaginaDeProductos(
+            @RequestParam(name = "after", defaultValue = "0") @Min(0) Long after,
+            @RequestParam(name = "limit", defaultValue = "50") @Min(1) @Max(500) Integer limit) {
+        return productoBusinessService.obtenerPaginaDeProductos(after, limit);
+    }
+
+    @GetMapping(value = "/productos/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarCatalogo() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportacionCatalogoService.exportarCatalogo());
+    }
+
     @GetMapping("/productos/{id}")
     public ProductoDTO obtenerProductoPorId(@PathVariable("id") @Min(1) Long id) {
         return productoBusinessService.obtenerProductoPorId(id);
@@ -49,6 +108,11 @@ public class BusinessController {
         return productoBusinessService.crearProducto(request);
     }
 
+    @PostMapping(value = "/productos/lote", consumes = "application/json")
+    public ResultadoImportacionDTO importarProductos(@RequestBody List<ProductoRequest> requests) {
+        return productoBusinessService.importarProductos(requests);
+    }
+
     @PutMapping(value = "/productos/{id}", consumes = "application/json", produces = "application/json")
     public ProductoDTO actualizarProducto(@PathVariable("id") @Min(1) Long id,
                                           @Valid @RequestBody ProductoRequest request) {
@@ -75,4 +139,10 @@ public class BusinessController {
     public List<InventarioDTO> obtenerProductosConStockBajo() {
         return inventarioBusinessService.obtenerProductosConStockBajo();
     }
+
+    @PostMapping(value = "/inventario/{productoId}/ajuste", consumes = "application/json")
+    public InventarioDTO ajustarStock(@PathVariable("productoId") @Min(1) Long productoId,
+                                      @RequestBody AjusteStockRequest ajuste) {
+        return inventarioBusinessService.ajustarStock(productoId, ajuste.getDelta());
+    }
 }
@@ -0,0 +1,12 @@
+package com.mycompany.app.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AjusteStockRequest {
+    private Integer delta; // positivo repone, negativo descuenta
+}
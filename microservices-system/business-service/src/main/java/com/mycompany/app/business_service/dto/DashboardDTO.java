@@ -0,0 +1,18 @@
+package com.mycompany.app.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+    private List<ProductoDTO> productos;     // null si la rama falló
+    private List<CategoriaDTO> categorias;   // null si la rama falló
+    private List<InventarioDTO> stockBajo;   // null si la rama falló
+    private Map<String, String> errores;     // rama → motivo; vacío si todo respondió
+}
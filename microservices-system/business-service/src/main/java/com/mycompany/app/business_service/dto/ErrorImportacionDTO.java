@@ -0,0 +1,13 @@
+package com.mycompany.app.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorImportacionDTO {
+    private int indice;      // posición de la fila en la lista enviada
+    private String mensaje;
+}
@@ -0,0 +1,15 @@
+package com.mycompany.app.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDTO<T> {
+    private List<T> items;
+    private Long siguienteCursor; // null cuando no hay más páginas
+}
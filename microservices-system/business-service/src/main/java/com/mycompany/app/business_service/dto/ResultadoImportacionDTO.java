@@ -0,0 +1,17 @@
+package com.mycompany.app.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacionDTO {
+    private int recibidos;
+    private int importados;
+    private List<ErrorImportacionDTO> errores = new ArrayList<>();
+}
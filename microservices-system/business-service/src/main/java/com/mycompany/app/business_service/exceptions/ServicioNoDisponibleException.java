@@ -0,0 +1,6 @@
+package com.mycompany.app.business_service.exceptions;
+
+public class ServicioNoDisponibleException extends MicroserviceCommunicationException {
+    public ServicioNoDisponibleException(String message) { super(message); }
+    public ServicioNoDisponibleException(String message, Throwable cause) { super(message, cause); }
+}
@@ -0,0 +1,5 @@
+package com.mycompany.app.business_service.exceptions;
+
+public class ServicioSaturadoException extends RuntimeException {
+    public ServicioSaturadoException(String message, Throwable cause) { super(message, cause); }
+}
@@ -0,0 +1,5 @@
+package com.mycompany.app.business_service.exceptions;
+
+public class StockInsuficienteException extends RuntimeException {
+    public StockInsuficienteException(String message) { super(message); }
+}
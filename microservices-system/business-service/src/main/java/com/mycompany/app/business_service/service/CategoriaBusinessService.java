@@ -1,28 +1,44 @@
 package com.mycompany.app.business_service.service;
 
+import com.mycompany.app.business_service.cache.CategoriaCache;
 import com.mycompany.app.business_service.client.DataServiceClient;
 import com.mycompany.app.business_service.dto.CategoriaDTO;
 import com.mycompany.app.business_service.dto.ProductoDTO;
 import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
 import feign.FeignException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Slf4j
+@Observed(name = "business.service")
 public class CategoriaBusinessService {
 
     private final DataServiceClient dataServiceClient;
+    private final CategoriaCache categoriaCache;
 
-    public CategoriaBusinessService(DataServiceClient dataServiceClient) {
+    public CategoriaBusinessService(DataServiceClient dataServiceClient, CategoriaCache categoriaCache) {
         this.dataServiceClient = dataServiceClient;
+        this.categoriaCache = categoriaCache;
     }
 
+    // Desde la copia local; sólo la primera lectura (o una copia vencida) llega a data-service
     public List<CategoriaDTO> obtenerTodasLasCategorias() {
         try {
-            return dataServiceClient.obtenerTodasLasCategorias();
+            return categoriaCache.obtenerTodas();
+        } catch (FeignException e) {
+            log.error("Error al obtener categorías del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
+        }
+    }
+
+    public Optional<Long> buscarIdPorNombre(String nombreCategoria) {
+        try {
+            return categoriaCache.buscarId(nombreCategoria);
         } catch (FeignException e) {
             log.error("Error al obtener categorías del microservicio de datos", e);
             throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
@@ -34,6 +50,12 @@ public class CategoriaBusinessService {
             // Validación simple sin crear nuevas excepciones (mantenerlo mínimo)
             throw new IllegalArgumentException("El nombre de la categoría es obligatorio");
         }
+        // Una categoría que no está en la copia local no tiene productos: data-service
+        // respondería una lista vacía, así que no se lo consulta
+        if (buscarIdPorNombre(nombreCategoria).isEmpty()) {
+            log.debug("Categoría desconocida '{}': lista vacía sin consultar a data-service", nombreCategoria);
+            return List.of();
+        }
         try {
             return dataServiceClient.obtenerProductosPorCategoria(nombreCategoria.trim());
         } catch (FeignException e) {
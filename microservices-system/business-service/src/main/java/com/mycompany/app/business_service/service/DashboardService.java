@@ -0,0 +1,91 @@
+package com.mycompany.app.business_service.service;
+
+import com.mycompany.app.business_service.dto.DashboardDTO;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Arma la página de inicio con productos, categorías y stock bajo. Las tres consultas se
+ * lanzan a la vez en hilos virtuales, así la latencia es la de la más lenta y no la suma.
+ * Cada rama tiene su propio tiempo límite ({@code business.dashboard.timeout-por-rama});
+ * si una falla o vence, el resto se devuelve igual y el motivo queda en {@code errores}.
+ */
+@Service
+@Slf4j
+@Observed(name = "business.service")
+public class DashboardService {
+
+    private final ProductoBusinessService productoBusinessService;
+    private final CategoriaBusinessService categoriaBusinessService;
+    private final InventarioBusinessService inventarioBusinessService;
+    private final Duration timeoutPorRama;
+
+    // Cada rama hereda la traza de la request (sus llamadas a data-service cuelgan de ella)
+    private final ExecutorService ejecutor = ContextExecutorService.wrap(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-", 0).factory()),
+            ContextSnapshotFactory.builder().build()::captureAll);
+
+    public DashboardService(ProductoBusinessService productoBusinessService,
+                            CategoriaBusinessService categoriaBusinessService,
+                            InventarioBusinessService inventarioBusinessService,
+                            @Value("${business.dashboard.timeout-por-rama:2s}") Duration timeoutPorRama) {
+        this.productoBusinessService = productoBusinessService;
+        this.categoriaBusinessService = categoriaBusinessService;
+        this.inventarioBusinessService = inventarioBusinessService;
+        this.timeoutPorRama = timeoutPorRama;
+    }
+
+    public DashboardDTO obtenerDashboard() {
+        Map<String, String> errores = new LinkedHashMap<>();
+        var productos = rama(productoBusinessService::obtenerTodosLosProductos);
+        var categorias = rama(categoriaBusinessService::obtenerTodasLasCategorias);
+        var stockBajo = rama(inventarioBusinessService::obtenerProductosConStockBajo);
+
+        return new DashboardDTO(
+                resultado("productos", productos, errores),
+                resultado("categorias", categorias, errores),
+                resultado("stockBajo", stockBajo, errores),
+                errores);
+    }
+
+    private <T> CompletableFuture<T> rama(Supplier<T> consulta) {
+        return CompletableFuture.supplyAsync(consulta, ejecutor)
+                .orTimeout(timeoutPorRama.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Una rama vencida no se interrumpe: su llamada termina sola (readTimeout de Feign) y se descarta
+    private <T> T resultado(String nombre, CompletableFuture<T> futuro, Map<String, String> errores) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            String motivo = causa instanceof TimeoutException
+                    ? "Tiempo de espera agotado (" + timeoutPorRama.toMillis() + " ms)"
+                    : causa.getMessage();
+            log.warn("Dashboard sin {}: {}", nombre, motivo);
+            errores.put(nombre, motivo);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        ejecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.app.business_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.app.business_service.client.DataServiceClient;
+import com.mycompany.app.business_service.dto.ProductoDTO;
+import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
+import feign.FeignException;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reenvía el catálogo NDJSON de data-service registro por registro: nunca se arma
+ * la lista completa en memoria, ni acá ni en el decoder de Feign.
+ */
+@Service
+@Slf4j
+public class ExportacionCatalogoService {
+
+    private final DataServiceClient dataServiceClient;
+    private final ObjectMapper objectMapper;
+
+    public ExportacionCatalogoService(DataServiceClient dataServiceClient, ObjectMapper objectMapper) {
+        this.dataServiceClient = dataServiceClient;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Abre la conexión con data-service y valida el estado antes de devolver el cuerpo,
+     * así un error remoto se informa con su status y no con una respuesta 200 truncada.
+     */
+    public StreamingResponseBody exportarCatalogo() {
+        Response respuesta;
+        try {
+            respuesta = dataServiceClient.exportarCatalogo();
+        } catch (FeignException e) {
+            log.error("Error al abrir la exportación del catálogo en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
+        }
+        if (respuesta.status() != 200 || respuesta.body() == null) {
+            respuesta.close();
+            throw new MicroserviceCommunicationException(
+                    "data-service respondió " + respuesta.status() + " al exportar el catálogo");
+        }
+        return salida -> reenviar(respuesta, salida);
+    }
+
+    private void reenviar(Response respuesta, OutputStream salida) throws IOException {
+        try (respuesta;
+             InputStream entrada = respuesta.body().asInputStream();
+             MappingIterator<ProductoDTO> registros = objectMapper.readerFor(ProductoDTO.class).readValues(entrada);
+             SequenceWriter escritor = objectMapper.writer()
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                     .withRootValueSeparator("\n")
+                     .writeValues(salida)) {
+            while (registros.hasNextValue()) {
+                escritor.write(registros.nextValue());
+            }
+        }
+        salida.write('\n');
+    }
+}
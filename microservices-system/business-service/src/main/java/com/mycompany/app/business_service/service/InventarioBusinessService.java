@@ -1,9 +1,13 @@
 package com.mycompany.app.business_service.service;
 
+import com.mycompany.app.business_service.cache.ProductoCache;
 import com.mycompany.app.business_service.client.DataServiceClient;
+import com.mycompany.app.business_service.dto.AjusteStockRequest;
 import com.mycompany.app.business_service.dto.InventarioDTO;
 import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
+import com.mycompany.app.business_service.exceptions.ValidacionNegocioException;
 import feign.FeignException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -11,12 +15,15 @@ import java.util.List;
 
 @Service
 @Slf4j
+@Observed(name = "business.service")
 public class InventarioBusinessService {
 
     private final DataServiceClient dataServiceClient;
+    private final ProductoCache productoCache;
 
-    public InventarioBusinessService(DataServiceClient dataServiceClient) {
+    public InventarioBusinessService(DataServiceClient dataServiceClient, ProductoCache productoCache) {
         this.dataServiceClient = dataServiceClient;
+        this.productoCache = productoCache;
     }
 
     public List<InventarioDTO> obtenerProductosConStockBajo() {
@@ -27,4 +34,23 @@ public class InventarioBusinessService {
             throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
         }
     }
+
+    /**
+     * Suma {@code delta} al stock del producto. El servicio de datos aplica el ajuste de forma
+     * atómica y rechaza con StockInsuficienteException el que dejaría stock negativo.
+     */
+    public InventarioDTO ajustarStock(Long productoId, Integer delta) {
+        if (delta == null || delta == 0) {
+            throw new ValidacionNegocioException("El ajuste de stock debe ser distinto de cero");
+        }
+        try {
+            return dataServiceClient.ajustarStock(productoId, new AjusteStockRequest(delta));
+        } catch (FeignException e) {
+            log.error("Error al ajustar stock en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
+        } finally {
+            // El stock cacheado del producto deja de ser válido, se haya aplicado o no el ajuste
+            productoCache.invalidar(productoId);
+        }
+    }
 }
@@ -1,26 +1,54 @@
 package com.mycompany.app.business_service.service;
 
+import com.mycompany.app.business_service.cache.ProductoCache;
 import com.mycompany.app.business_service.client.DataServiceClient;
+import com.mycompany.app.business_service.client.ProductoBatchLoader;
+import com.mycompany.app.business_service.client.config.LecturaPropiaCapability;
+import com.mycompany.app.business_service.dto.PaginaCursorDTO;
 import com.mycompany.app.business_service.dto.ProductoDTO;
+import com.mycompany.app.business_service.dto.ErrorImportacionDTO;
 import com.mycompany.app.business_service.dto.ProductoRequest;
+import com.mycompany.app.business_service.dto.ResultadoImportacionDTO;
+import com.mycompany.app.business_service.dto.SugerenciaDTO;
 import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
 import com.mycompany.app.business_service.exceptions.ProductoNoEncontradoException;
 import com.mycompany.app.business_service.exceptions.ValidacionNegocioException;
 import feign.FeignException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Slf4j
+@Observed(name = "business.service")
 public class ProductoBusinessService {
 
     private final DataServiceClient dataServiceClient;
+    private final ProductoCache productoCache;
+    private final ProductoBatchLoader productoBatchLoader;
+    private final int tamanioEnvioImportacion;
+    private final Duration ventanaLecturaPropia;
 
-    public ProductoBusinessService(DataServiceClient dataServiceClient) {
+    public ProductoBusinessService(DataServiceClient dataServiceClient,
+                                   ProductoCache productoCache,
+                                   ProductoBatchLoader productoBatchLoader,
+                                   @Value("${business.importacion.tamanio-envio:1000}") int tamanioEnvioImportacion,
+                                   @Value("${business.lectura-propia.ventana:1s}") Duration ventanaLecturaPropia) {
         this.dataServiceClient = dataServiceClient;
+        this.productoCache = productoCache;
+        this.productoBatchLoader = productoBatchLoader;
+        this.tamanioEnvioImportacion = tamanioEnvioImportacion;
+        this.ventanaLecturaPropia = ventanaLecturaPropia;
     }
 
     public List<ProductoDTO> obtenerTodosLosProductos() {
@@ -32,9 +60,44 @@ public class ProductoBusinessService {
         }
     }
 
+    // La búsqueda corre en data-service sobre su índice en memoria; acá sólo se reenvía
+    public List<ProductoDTO> buscarProductos(String consulta, Integer limit) {
+        try {
+            return dataServiceClient.buscarProductos(consulta, limit);
+        } catch (FeignException e) {
+            log.error("Error al buscar productos en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
+        }
+    }
+
+    // Autocompletado: también sale del trie en memoria de data-service
+    public List<SugerenciaDTO> obtenerSugerencias(String prefijo, Integer limit) {
+        try {
+            return dataServiceClient.obtenerSugerencias(prefijo, limit);
+        } catch (FeignException e) {
+            log.error("Error al obtener sugerencias del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
+        }
+    }
+
+    public PaginaCursorDTO<ProductoDTO> obtenerPaginaDeProductos(Long after, Integer limit) {
+        try {
+            return dataServiceClient.obtenerPaginaDeProductos(after, limit);
+        } catch (FeignException e) {
+            log.error("Error al obtener página de productos del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
+        }
+    }
+
     public ProductoDTO obtenerProductoPorId(Long id) {
         try {
-            return dataServiceClient.obtenerProductoPorId(id);
+            if (leeSusEscrituras()) {
+                // Directo a data-service con la marca: la caché pudo llenarla una réplica atrasada
+                // y la llamada agrupada lleva la marca de un solo llamador
+                return dataServiceClient.obtenerProductoPorId(id);
+            }
+            // Los fallos de caché concurrentes se agrupan en una sola llamada al servicio de datos
+            return productoCache.obtener(id, productoBatchLoader::cargar);
         } catch (FeignException.NotFound e) {
             throw new ProductoNoEncontradoException("Producto no encontrado con ID: " + id);
         } catch (FeignException e) {
@@ -43,6 +106,23 @@ public class ProductoBusinessService {
         }
     }
 
+    /**
+     * Multi-get: devuelve los productos en el orden pedido, sin repetidos y omitiendo
+     * los ids inexistentes. Sólo los ids ausentes de la caché viajan al servicio de datos.
+     */
+    public List<ProductoDTO> obtenerProductosPorIds(List<Long> ids) {
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        try {
+            Map<Long, ProductoDTO> encontrados = leeSusEscrituras()
+                    ? productoBatchLoader.cargarTodos(distintos)
+                    : productoCache.obtenerTodos(distintos, productoBatchLoader::cargarTodos);
+            return distintos.stream().map(encontrados::get).filter(Objects::nonNull).toList();
+        } catch (FeignException e) {
+            log.error("Error al obtener productos por id del microservicio de datos", e);
+            throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
+        }
+    }
+
     public ProductoDTO crearProducto(ProductoRequest request) {
         validarProducto(request);
         try {
@@ -53,11 +133,60 @@ public class ProductoBusinessService {
         }
     }
 
+    /**
+     * Alta masiva. Las filas que no pasan la validación de negocio se informan sin enviarse;
+     * el resto viaja al servicio de datos en envíos de {@code business.importacion.tamanio-envio}
+     * filas para que cada llamada quede dentro del readTimeout de Feign.
+     */
+    public ResultadoImportacionDTO importarProductos(List<ProductoRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ValidacionNegocioException("La importación no contiene productos");
+        }
+
+        List<ErrorImportacionDTO> errores = new ArrayList<>();
+        List<Integer> indicesValidos = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                if (requests.get(i) == null) {
+                    throw new ValidacionNegocioException("Producto requerido");
+                }
+                validarProducto(requests.get(i));
+                indicesValidos.add(i);
+            } catch (ValidacionNegocioException e) {
+                errores.add(new ErrorImportacionDTO(i, e.getMessage()));
+            }
+        }
+
+        int importados = 0;
+        for (int desde = 0; desde < indicesValidos.size(); desde += tamanioEnvioImportacion) {
+            List<Integer> indices = indicesValidos.subList(desde,
+                    Math.min(desde + tamanioEnvioImportacion, indicesValidos.size()));
+            ResultadoImportacionDTO parcial;
+            try {
+                parcial = dataServiceClient.importarProductos(indices.stream().map(requests::get).toList());
+            } catch (FeignException e) {
+                log.error("Error al importar productos en el microservicio de datos", e);
+                throw new MicroserviceCommunicationException("Error de comunicación con el servicio de datos", e);
+            }
+            importados += parcial.getImportados();
+            // El servicio de datos numera las filas del envío: se traducen a la posición original
+            for (ErrorImportacionDTO error : parcial.getErrores()) {
+                errores.add(new ErrorImportacionDTO(indices.get(error.getIndice()), error.getMensaje()));
+            }
+        }
+
+        errores.sort(Comparator.comparingInt(ErrorImportacionDTO::getIndice));
+        return new ResultadoImportacionDTO(requests.size(), importados, errores);
+    }
+
     public ProductoDTO actualizarProducto(Long id, ProductoRequest request) {
         validarProducto(request);
         try {
-            return dataServiceClient.actualizarProducto(id, request);
+            ProductoDTO actualizado = dataServiceClient.actualizarProducto(id, request);
+            productoCache.actualizar(actualizado);
+            return actualizado;
         } catch (FeignException.NotFound e) {
+            productoCache.invalidar(id);
             throw new ProductoNoEncontradoException("Producto no encontrado con ID: " + id);
         } catch (FeignException e) {
             log.error("Error al actualizar producto en el microservicio de datos", e);
@@ -68,7 +197,9 @@ public class ProductoBusinessService {
     public void eliminarProducto(Long id) {
         try {
             dataServiceClient.eliminarProducto(id);
+            productoCache.invalidar(id);
         } catch (FeignException.NotFound e) {
+            productoCache.invalidar(id);
             // Podrías considerar la eliminación como idempotente y no fallar.
             throw new ProductoNoEncontradoException("Producto no encontrado con ID: " + id);
         } catch (FeignException e) {
@@ -77,6 +208,12 @@ public class ProductoBusinessService {
         }
     }
 
+    // La request trae o recibió la marca de una escritura que las réplicas quizá no vean todavía
+    private boolean leeSusEscrituras() {
+        long marca = LecturaPropiaCapability.marcaActual();
+        return marca > 0 && Math.abs(System.currentTimeMillis() - marca) < ventanaLecturaPropia.toMillis();
+    }
+
     private void validarProducto(ProductoRequest request) {
         if (request.getPrecio() == null || request.getPrecio().compareTo(BigDecimal.ZERO) <= 0) {
             throw new ValidacionNegocioException("El precio debe ser mayor a cero");
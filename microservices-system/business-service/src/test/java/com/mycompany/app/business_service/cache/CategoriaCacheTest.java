@@ -0,0 +1,104 @@
+package com.mycompany.app.business_service.cache;
+
+import com.mycompany.app.business_service.dto.CategoriaDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoriaCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private static List<CategoriaDTO> categorias(String... nombres) {
+        CategoriaDTO[] lista = new CategoriaDTO[nombres.length];
+        for (int i = 0; i < nombres.length; i++) {
+            lista[i] = new CategoriaDTO(i + 1L, nombres[i], null);
+        }
+        return List.of(lista);
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condicion.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(condicion.getAsBoolean(), "La condición no se cumplió a tiempo");
+    }
+
+    @Test
+    void cuandoDataServiceInformaUnCambio_entoncesElRefrescoDeFondoReemplazaLaCopia() throws Exception {
+        AtomicReference<List<CategoriaDTO>> remoto = new AtomicReference<>(categorias("Hogar"));
+        AtomicInteger cargas = new AtomicInteger();
+        try (CategoriaCache cache = new CategoriaCache(() -> {
+            cargas.incrementAndGet();
+            return remoto.get();
+        }, Duration.ofMillis(20), Duration.ofMinutes(5), registry)) {
+
+            assertEquals(remoto.get(), cache.obtenerTodas());
+            remoto.set(categorias("Hogar", "Jardín"));
+
+            esperarHasta(() -> cache.obtenerTodas().size() == 2);
+            assertEquals(2L, cache.buscarId("JARDÍN").orElseThrow());
+            assertTrue(cargas.get() >= 2);
+            // La carga inicial y el cambio
+            assertEquals(2.0, registry.get("business.cache.categorias.refrescos")
+                    .tag("resultado", "actualizada").counter().count());
+        }
+    }
+
+    @Test
+    void cuandoFallaElRefresco_entoncesSigueSirviendoLaCopiaSinIrALaRed() throws Exception {
+        AtomicInteger cargas = new AtomicInteger();
+        try (CategoriaCache cache = new CategoriaCache(() -> {
+            if (cargas.incrementAndGet() > 1) {
+                throw new IllegalStateException("data-service caído");
+            }
+            return categorias("Hogar");
+        }, Duration.ofMillis(20), Duration.ofMinutes(5), registry)) {
+
+            cache.obtenerTodas();
+            esperarHasta(() -> registry.get("business.cache.categorias.refrescos")
+                    .tag("resultado", "error").counter().count() >= 1);
+
+            // El cargador ya sólo falla: si la lectura lo invocara, propagaría el error
+            assertEquals(categorias("Hogar"), cache.obtenerTodas());
+            assertEquals(1L, cache.buscarId("hogar").orElseThrow());
+        }
+    }
+
+    @Test
+    void cuandoLaCopiaSuperaLaAntiguedadMaxima_entoncesLaLecturaVuelveAConsultar() throws Exception {
+        AtomicInteger cargas = new AtomicInteger();
+        try (CategoriaCache cache = new CategoriaCache(() -> {
+            cargas.incrementAndGet();
+            return categorias("Hogar");
+        }, Duration.ofMinutes(1), Duration.ofMillis(50), registry)) {
+
+            cache.obtenerTodas();
+            cache.obtenerTodas();
+            assertEquals(1, cargas.get());
+
+            Thread.sleep(80);
+            cache.obtenerTodas();
+            assertEquals(2, cargas.get());
+            assertEquals(1.0, registry.get("business.cache.categorias.refrescos")
+                    .tag("resultado", "sin-cambios").counter().count());
+        }
+    }
+
+    @Test
+    void cuandoLaPrimeraCargaFalla_entoncesPropagaElError() {
+        try (CategoriaCache cache = new CategoriaCache(() -> {
+            throw new IllegalStateException("data-service caído");
+        }, Duration.ofMinutes(1), Duration.ofMinutes(5), registry)) {
+            assertThrows(IllegalStateException.class, cache::obtenerTodas);
+        }
+    }
+}
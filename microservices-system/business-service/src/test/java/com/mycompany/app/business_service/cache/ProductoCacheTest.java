@@ -0,0 +1,149 @@
+package com.mycompany.app.business_service.cache;
+
+import com.mycompany.app.business_service.dto.ProductoDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductoCacheTest {
+
+    private static ProductoDTO producto(long id) {
+        return new ProductoDTO(id, "Prod " + id, "Desc", BigDecimal.ONE, "Cat", 1, false);
+    }
+
+    @Test
+    void cuandoHayFallosConcurrentesDelMismoId_entoncesSeCargaUnaSolaVez() throws Exception {
+        ProductoCache cache = new ProductoCache(100, Duration.ofMinutes(1));
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(16)) {
+            List<Future<ProductoDTO>> resultados = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                resultados.add(pool.submit(() -> {
+                    largada.await();
+                    return cache.obtener(1L, id -> {
+                        cargas.incrementAndGet();
+                        sleep(50);
+                        return producto(id);
+                    });
+                }));
+            }
+            largada.countDown();
+            for (Future<ProductoDTO> r : resultados) {
+                assertEquals(1L, r.get().getId());
+            }
+        }
+
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.estadisticas().missCount());
+        assertEquals(15, cache.estadisticas().hitCount());
+    }
+
+    @Test
+    void cuandoSeSuperaElTamanioMaximo_entoncesSeDesalojanEntradas() {
+        ProductoCache cache = new ProductoCache(10, Duration.ofMinutes(1));
+        for (long id = 1; id <= 100; id++) {
+            cache.obtener(id, ProductoCacheTest::producto);
+        }
+
+        assertTrue(cache.tamanio() <= 10);
+        assertTrue(cache.estadisticas().evictionCount() >= 90);
+    }
+
+    @Test
+    void cuandoElCargadorFalla_entoncesNoSeCacheaNada() {
+        ProductoCache cache = new ProductoCache(10, Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class,
+                () -> cache.obtener(1L, id -> { throw new IllegalStateException("remoto caído"); }));
+        assertEquals(2L, cache.obtener(2L, ProductoCacheTest::producto).getId());
+        assertEquals(1L, cache.obtener(1L, ProductoCacheTest::producto).getId());
+    }
+
+    @Test
+    void cuandoUnaCargaEsLenta_entoncesNoBloqueaLasBusquedasDeOtrosIds() throws Exception {
+        ProductoCache cache = new ProductoCache(100, Duration.ofMinutes(1));
+        CountDownLatch cargando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ProductoDTO> lenta = pool.submit(() -> cache.obtener(1L, id -> {
+                cargando.countDown();
+                await(liberar);
+                return producto(id);
+            }));
+            cargando.await();
+
+            // Con la carga del id 1 en curso, cualquier otro id se resuelve sin esperarla
+            for (long id = 2; id <= 200; id++) {
+                long buscado = id;
+                assertEquals(buscado, pool.submit(() -> cache.obtener(buscado, ProductoCacheTest::producto))
+                        .get(1, TimeUnit.SECONDS).getId());
+            }
+            liberar.countDown();
+            assertEquals(1L, lenta.get().getId());
+        }
+    }
+
+    @Test
+    void cuandoSeEscribeElProducto_entoncesLoQueSeCargaDuranteElRetrasoNoQuedaCacheado() {
+        ProductoCache cache = new ProductoCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        AtomicInteger cargas = new AtomicInteger();
+
+        // La carga lee de una réplica atrasada y la escritura se confirma mientras tanto
+        cache.obtener(1L, id -> {
+            cargas.incrementAndGet();
+            cache.invalidar(id);
+            return producto(id);
+        });
+        assertEquals(0, cache.tamanio());
+
+        // Dentro del retraso, las lecturas siguientes tampoco la vuelven a llenar
+        cache.obtener(1L, id -> {
+            cargas.incrementAndGet();
+            return producto(id);
+        });
+        Map<Long, ProductoDTO> todos = cache.obtenerTodos(List.of(1L, 2L), faltantes -> {
+            cargas.incrementAndGet();
+            Map<Long, ProductoDTO> cargados = new HashMap<>();
+            faltantes.forEach(id -> cargados.put(id, producto(id)));
+            return cargados;
+        });
+        assertEquals(Set.of(1L, 2L), todos.keySet());
+        assertEquals(4, cargas.get());
+        // Sólo el id que no se escribió
+        assertEquals(1, cache.tamanio());
+        assertNotNull(cache.nativa().getIfPresent(2L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,9 +5,11 @@ import com.mycompany.app.business_service.dto.ProductoDTO;
 import com.mycompany.app.business_service.dto.ProductoRequest;
 import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
 import com.mycompany.app.business_service.exceptions.ProductoNoEncontradoException;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -16,6 +18,7 @@ import org.springframework.test.context.DynamicPropertySource;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +38,8 @@ class DataServiceClientTest {
         server = new MockWebServer();
         server.start();
         r.add("data.service.url", () -> server.url("/").toString());
+        // Cada respuesta encolada atiende exactamente una petición: sin reintentos
+        r.add("business.resiliencia.reintentos.maximo-intentos", () -> 1);
     }
 
     @AfterAll
@@ -106,6 +111,127 @@ class DataServiceClientTest {
                 () -> dataServiceClient.obtenerProductoPorId(1L));
     }
 
+    // ---------------- GET /data/productos?ids= ----------------
+
+    @Test
+    @DisplayName("Feign: GET /data/productos?ids= → 200 envía un parámetro ids por id")
+    void getProductosPorIds_ok() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type","application/json")
+                .setBody("""
+                    [{"id":1,"nombre":"Mate","descripcion":"Calabaza","precio":100.0,"categoriaNombre":"Bazar","stock":5,"stockBajo":false}]
+                """));
+
+        var lista = dataServiceClient.obtenerProductosPorIds(List.of(1L, 2L));
+        assertEquals(1, lista.size());
+
+        RecordedRequest req = awaitRequest("GET", "/data/productos?ids=1&ids=2");
+        assertNotNull(req, "No llegó la request GET /data/productos?ids=1&ids=2");
+    }
+
+    @Test
+    @DisplayName("Feign: GET /data/productos/buscar → envía q codificado y limit")
+    void buscarProductos_ok() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type","application/json")
+                .setBody("""
+                    [{"id":4,"nombre":"Mate imperial","descripcion":"Calabaza","precio":100.0,"categoriaNombre":"Bazar","stock":5,"stockBajo":false}]
+                """));
+
+        var lista = dataServiceClient.buscarProductos("mate imperial", 10);
+        assertEquals("Mate imperial", lista.getFirst().getNombre());
+
+        RecordedRequest req = awaitRequest("GET", "/data/productos/buscar?q=mate%20imperial&limit=10");
+        assertNotNull(req, "No llegó la request GET /data/productos/buscar con q y limit");
+    }
+
+    @Test
+    @DisplayName("Feign: GET /data/productos/sugerencias → envía q y limit y decodifica las sugerencias")
+    void obtenerSugerencias_ok() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type","application/json")
+                .setBody("""
+                    [{"texto":"Mate imperial","peso":12},{"texto":"Mate camionero","peso":3}]
+                """));
+
+        var lista = dataServiceClient.obtenerSugerencias("mate", 5);
+        assertEquals(2, lista.size());
+        assertEquals("Mate imperial", lista.getFirst().getTexto());
+        assertEquals(12L, lista.getFirst().getPeso());
+
+        RecordedRequest req = awaitRequest("GET", "/data/productos/sugerencias?q=mate&limit=5");
+        assertNotNull(req, "No llegó la request GET /data/productos/sugerencias con q y limit");
+    }
+
+    @Test
+    @DisplayName("Feign: GET /data/productos?ids= → pide Smile y decodifica la respuesta binaria")
+    void getProductosPorIds_smile() throws Exception {
+        byte[] cuerpo = new SmileMapper().writeValueAsBytes(List.of(
+                new ProductoDTO(1L, "Mate", "Calabaza", new BigDecimal("1999.99"), "Bazar", 5, false)));
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/x-jackson-smile")
+                .setBody(new Buffer().write(cuerpo)));
+
+        var lista = dataServiceClient.obtenerProductosPorIds(List.of(1L));
+        assertEquals(1, lista.size());
+        assertEquals("Mate", lista.get(0).getNombre());
+        assertEquals(new BigDecimal("1999.99"), lista.get(0).getPrecio());
+
+        RecordedRequest req = awaitRequest("GET", "/data/productos?ids=1");
+        assertNotNull(req, "No llegó la request GET /data/productos?ids=1");
+        assertEquals("application/x-jackson-smile, application/json;q=0.9", req.getHeader("Accept"));
+    }
+
+    @Test
+    @DisplayName("Feign: GET /data/productos/categoria/{nombre} revalida con If-None-Match y un 304 reutiliza el cuerpo")
+    void getProductosPorCategoria_revalidaConEtag() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .addHeader("ETag", "\"productos-abc\"")
+                .setBody("""
+                    [{"id":9,"nombre":"Mate","descripcion":"Calabaza","precio":100.0,"categoriaNombre":"Revalidación","stock":5,"stockBajo":false}]
+                """));
+        server.enqueue(new MockResponse().setResponseCode(304).addHeader("ETag", "\"productos-abc\""));
+
+        var primera = dataServiceClient.obtenerProductosPorCategoria("Revalidacion");
+        var revalidada = dataServiceClient.obtenerProductosPorCategoria("Revalidacion");
+
+        assertEquals(1, revalidada.size());
+        assertEquals(primera.get(0).getId(), revalidada.get(0).getId());
+        RecordedRequest r1 = awaitRequest("GET", "/data/productos/categoria/Revalidacion");
+        RecordedRequest r2 = awaitRequest("GET", "/data/productos/categoria/Revalidacion");
+        assertNotNull(r1);
+        assertNotNull(r2);
+        assertNull(r1.getHeader("If-None-Match"));
+        assertEquals("\"productos-abc\"", r2.getHeader("If-None-Match"));
+    }
+
+    // ---------------- GET /data/productos/pagina ----------------
+
+    @Test
+    @DisplayName("Feign: GET /data/productos/pagina → 200 envía after/limit y mapea la página")
+    void getPaginaDeProductos_ok() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type","application/json")
+                .setBody("""
+                    {"items":[{"id":3,"nombre":"Mate","descripcion":"Calabaza","precio":100.0,"categoriaNombre":"Bazar","stock":5,"stockBajo":false}],"siguienteCursor":3}
+                """));
+
+        var pagina = dataServiceClient.obtenerPaginaDeProductos(2L, 1);
+        assertEquals(1, pagina.getItems().size());
+        assertEquals("Mate", pagina.getItems().getFirst().getNombre());
+        assertEquals(3L, pagina.getSiguienteCursor());
+
+        RecordedRequest req = awaitRequest("GET", "/data/productos/pagina?after=2&limit=1");
+        assertNotNull(req, "No llegó la request GET /data/productos/pagina?after=2&limit=1");
+    }
+
     // ---------------- POST /data/productos ----------------
 
     @Test
@@ -146,6 +272,31 @@ class DataServiceClientTest {
                 () -> dataServiceClient.crearProducto(body));
     }
 
+    // ---------------- POST /data/productos/lote ----------------
+
+    @Test
+    @DisplayName("Feign: POST /data/productos/lote → 200 envía la lista y mapea el resultado")
+    void postImportarProductos_200() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type","application/json")
+                .setBody("""
+                    {"recibidos":2,"importados":1,"errores":[{"indice":1,"mensaje":"Categoría no encontrada id=9"}]}
+                """));
+
+        var out = dataServiceClient.importarProductos(List.of(
+                new ProductoRequest("Mouse", "Óptico", new BigDecimal("50.0"), 1L, 3),
+                new ProductoRequest("Pad", "Tela", new BigDecimal("10.0"), 9L, 1)));
+        assertEquals(1, out.getImportados());
+        assertEquals(1, out.getErrores().getFirst().getIndice());
+
+        RecordedRequest req = awaitRequest("POST", "/data/productos/lote");
+        assertNotNull(req, "No llegó la request POST /data/productos/lote");
+        String sent = req.getBody().readUtf8();
+        assertTrue(sent.startsWith("["));
+        assertTrue(sent.contains("\"categoriaId\":9"));
+    }
+
     // ---------------- PUT /data/productos/{id} ----------------
 
     @Test
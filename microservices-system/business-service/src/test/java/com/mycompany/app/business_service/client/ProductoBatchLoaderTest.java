@@ -0,0 +1,154 @@
+package com.mycompany.app.business_service.client;
+
+import com.mycompany.app.business_service.dto.ProductoDTO;
+import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
+import com.mycompany.app.business_service.exceptions.ProductoNoEncontradoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductoBatchLoaderTest {
+
+    private static final Duration ESPERA = Duration.ofSeconds(5);
+
+    @Mock
+    private DataServiceClient dataServiceClient;
+
+    private ProductoBatchLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        if (loader != null) {
+            loader.cerrar();
+        }
+    }
+
+    private static ProductoDTO producto(Long id) {
+        return new ProductoDTO(id, "Prod " + id, "Desc", BigDecimal.ONE, "Cat", 1, false);
+    }
+
+    // Responde con los productos pedidos, salvo el id 404
+    private void responderConLosPedidos() {
+        when(dataServiceClient.obtenerProductosPorIds(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().filter(id -> id != 404L).map(ProductoBatchLoaderTest::producto).toList();
+        });
+    }
+
+    private List<Future<ProductoDTO>> cargarEnParalelo(List<Long> ids) {
+        List<Future<ProductoDTO>> futuros = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long id : ids) {
+                futuros.add(executor.submit(() -> loader.cargar(id)));
+            }
+        }
+        return futuros;
+    }
+
+    @Test
+    void cuandoBusquedasConcurrentesDentroDeLaVentana_entoncesUnaSolaLlamada() throws Exception {
+        loader = new ProductoBatchLoader(dataServiceClient, true, Duration.ofMillis(200), 100, ESPERA);
+        responderConLosPedidos();
+
+        List<Future<ProductoDTO>> futuros = cargarEnParalelo(List.of(1L, 2L, 3L, 2L));
+
+        assertEquals(List.of(1L, 2L, 3L, 2L), futuros.stream().map(f -> f.resultNow().getId()).toList());
+        verify(dataServiceClient, times(1)).obtenerProductosPorIds(anyCollection());
+        verify(dataServiceClient, never()).obtenerProductoPorId(any());
+    }
+
+    @Test
+    void cuandoSeAlcanzaElMaximoDeIds_entoncesDespachaSinEsperarLaVentana() {
+        loader = new ProductoBatchLoader(dataServiceClient, true, Duration.ofMinutes(1), 2, ESPERA);
+        responderConLosPedidos();
+
+        // Con una ventana de un minuto, sólo el máximo de ids puede destrabar las búsquedas
+        List<Future<ProductoDTO>> futuros = cargarEnParalelo(List.of(1L, 2L));
+
+        assertEquals(2, futuros.stream().map(Future::resultNow).count());
+        verify(dataServiceClient, times(1)).obtenerProductosPorIds(anyCollection());
+    }
+
+    @Test
+    void cuandoElIdNoVieneEnLaRespuesta_entoncesProductoNoEncontrado() {
+        loader = new ProductoBatchLoader(dataServiceClient, true, Duration.ofMillis(1), 100, ESPERA);
+        responderConLosPedidos();
+
+        assertThrows(ProductoNoEncontradoException.class, () -> loader.cargar(404L));
+    }
+
+    @Test
+    void cuandoFallaLaLlamadaAgrupada_entoncesTodosLosLlamadoresRecibenElError() {
+        loader = new ProductoBatchLoader(dataServiceClient, true, Duration.ofMillis(100), 100, ESPERA);
+        when(dataServiceClient.obtenerProductosPorIds(anyCollection()))
+                .thenThrow(new MicroserviceCommunicationException("data-service no disponible"));
+
+        for (Future<ProductoDTO> futuro : cargarEnParalelo(List.of(1L, 2L))) {
+            ExecutionException e = assertThrows(ExecutionException.class, futuro::get);
+            assertInstanceOf(MicroserviceCommunicationException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void cuandoLaLlamadaAgrupadaLanzaUnError_entoncesNingunLlamadorQuedaEsperando() {
+        loader = new ProductoBatchLoader(dataServiceClient, true, Duration.ofMillis(1), 100, ESPERA);
+        when(dataServiceClient.obtenerProductosPorIds(anyCollection())).thenThrow(new StackOverflowError());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertThrows(StackOverflowError.class, () -> loader.cargar(1L)));
+    }
+
+    @Test
+    void cuandoLaLlamadaAgrupadaNoResponde_entoncesVenceLaEsperaMaxima() {
+        loader = new ProductoBatchLoader(dataServiceClient, true, Duration.ofMillis(1), 100, Duration.ofMillis(200));
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(dataServiceClient.obtenerProductosPorIds(anyCollection())).thenAnswer(inv -> {
+            liberar.await();
+            return List.of();
+        });
+
+        try {
+            MicroserviceCommunicationException e = assertThrows(MicroserviceCommunicationException.class, () -> loader.cargar(1L));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    void cuandoEstaDeshabilitado_entoncesLlamaPorId() {
+        loader = ProductoBatchLoader.sinAgrupar(dataServiceClient);
+        when(dataServiceClient.obtenerProductoPorId(7L)).thenReturn(producto(7L));
+
+        assertEquals(7L, loader.cargar(7L).getId());
+        verify(dataServiceClient, never()).obtenerProductosPorIds(anyCollection());
+    }
+
+    @Test
+    void cuandoCargarTodos_entoncesPartePorMaximoDeIds() {
+        loader = new ProductoBatchLoader(dataServiceClient, true, Duration.ofMillis(5), 2, ESPERA);
+        responderConLosPedidos();
+
+        assertEquals(List.of(1L, 2L, 3L), List.copyOf(loader.cargarTodos(List.of(1L, 2L, 3L, 404L)).keySet()));
+        verify(dataServiceClient).obtenerProductosPorIds(List.of(1L, 2L));
+        verify(dataServiceClient).obtenerProductosPorIds(List.of(3L, 404L));
+    }
+}
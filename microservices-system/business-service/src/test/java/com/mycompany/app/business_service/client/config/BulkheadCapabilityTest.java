@@ -0,0 +1,103 @@
+package com.mycompany.app.business_service.client.config;
+
+import com.mycompany.app.business_service.exceptions.ServicioSaturadoException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadCapabilityTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final CountDownLatch lecturasEnCurso = new CountDownLatch(2);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        // Los GET quedan bloqueados hasta liberar; el resto responde enseguida
+        Client lento = (request, options) -> {
+            if (request.httpMethod() == Request.HttpMethod.GET) {
+                lecturasEnCurso.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Response.builder().status(200).request(request).headers(Map.of()).build();
+        };
+        BulkheadCapability capability = new BulkheadCapability(
+                bulkhead("lecturas", 2), bulkhead("escrituras", 1));
+        client = capability.enrich(lento);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    private static Bulkhead bulkhead(String nombre, int maximo) {
+        return Bulkhead.of(nombre, BulkheadConfig.custom()
+                .maxConcurrentCalls(maximo)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    private static Request request(Request.HttpMethod metodo) {
+        return Request.create(metodo, "/data/productos", Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private Future<Response> ejecutarEnParalelo(Request.HttpMethod metodo) {
+        return executor.submit(() -> client.execute(request(metodo), new Request.Options()));
+    }
+
+    @Test
+    void cuandoLecturasSaturadas_entoncesEscriturasSiguenPasando() throws Exception {
+        Future<Response> l1 = ejecutarEnParalelo(Request.HttpMethod.GET);
+        Future<Response> l2 = ejecutarEnParalelo(Request.HttpMethod.GET);
+        assertTrue(lecturasEnCurso.await(5, TimeUnit.SECONDS));
+
+        assertEquals(200, client.execute(request(Request.HttpMethod.POST), new Request.Options()).status());
+        assertEquals(200, client.execute(request(Request.HttpMethod.DELETE), new Request.Options()).status());
+
+        liberar.countDown();
+        assertEquals(200, l1.get(5, TimeUnit.SECONDS).status());
+        assertEquals(200, l2.get(5, TimeUnit.SECONDS).status());
+    }
+
+    @Test
+    void cuandoBulkheadLleno_entoncesServicioSaturadoException() throws Exception {
+        ejecutarEnParalelo(Request.HttpMethod.GET);
+        ejecutarEnParalelo(Request.HttpMethod.GET);
+        assertTrue(lecturasEnCurso.await(5, TimeUnit.SECONDS));
+
+        ServicioSaturadoException ex = assertThrows(ServicioSaturadoException.class,
+                () -> client.execute(request(Request.HttpMethod.GET), new Request.Options()));
+        assertTrue(ex.getMessage().contains("lecturas"));
+    }
+
+    @Test
+    void cuandoLaLlamadaTermina_entoncesLiberaElPermiso() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, client.execute(request(Request.HttpMethod.PUT), new Request.Options()).status());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.mycompany.app.business_service.client.config;
+
+import com.mycompany.app.business_service.BusinessServiceApplication;
+import com.mycompany.app.business_service.client.DataServiceClient;
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = BusinessServiceApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FeignTransporteConfigTest {
+
+    static MockWebServer server;
+
+    @Autowired Client feignClient;
+    @Autowired DataServiceClient dataServiceClient;
+    @Autowired MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) throws IOException {
+        server = new MockWebServer();
+        server.start();
+        r.add("data.service.url", () -> server.url("/").toString());
+    }
+
+    @AfterAll
+    void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Feign usa el transporte hc5 con pool y publica sus métricas")
+    void transporteConPool_yMetricas() {
+        assertThat(feignClient).isInstanceOf(ApacheHttp5Client.class);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "data-service").gauge().value()).isEqualTo(200);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", "data-service").gauge().value()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Llamadas sucesivas reutilizan la misma conexión (keep-alive)")
+    void llamadasSucesivas_reusanConexion() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .addHeader("Content-Type", "application/json")
+                    .setBody("[]"));
+        }
+        int conexionesAntes = server.getRequestCount();
+
+        for (int i = 0; i < 3; i++) {
+            dataServiceClient.obtenerTodasLasCategorias();
+        }
+
+        assertThat(server.getRequestCount() - conexionesAntes).isEqualTo(3);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "data-service").tag("state", "available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Cada método de DataServiceClient pasa por su propio circuit breaker")
+    void llamadas_pasanPorCircuitBreakerDelMetodo() {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("[]"));
+
+        dataServiceClient.obtenerProductosConStockBajo();
+
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", "DataServiceClient#obtenerProductosConStockBajo()")
+                .tag("state", "closed").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Cada método de DataServiceClient publica su timer con status y outcome")
+    void llamadas_publicanTimerPorMetodo() {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        try {
+            dataServiceClient.obtenerProductoPorId(999L);
+        } catch (RuntimeException esperado) {
+            // 404 → ProductoNoEncontradoException
+        }
+
+        assertThat(meterRegistry.get("http.client.requests")
+                .tag("method", "DataServiceClient#obtenerProductoPorId(Long)")
+                .tag("http.status_code", "404")
+                .tag("outcome", "CLIENT_ERROR")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.app.business_service.client.config;
+
+import com.mycompany.app.business_service.BusinessServiceApplication;
+import com.mycompany.app.business_service.dto.ProductoDTO;
+import com.mycompany.app.business_service.service.ProductoBusinessService;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hedging habilitado con el coalescer de productos en su valor por defecto (habilitado)
+@SpringBootTest(classes = BusinessServiceApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HedgingCoalescerTest {
+
+    static MockWebServer server;
+    static final AtomicInteger recibidas = new AtomicInteger();
+
+    @Autowired ProductoBusinessService productoBusinessService;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) throws IOException {
+        server = new MockWebServer();
+        // La primera petición tarda 2s en responder; las demás, enseguida
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                MockResponse respuesta = new MockResponse()
+                        .setResponseCode(200)
+                        .addHeader("Content-Type", "application/json")
+                        .setBody("""
+                                [{"id":7,"nombre":"Prod 7","descripcion":"Desc","precio":10,
+                                  "categoriaNombre":"Cat","stock":3,"stockBajo":false}]
+                                """);
+                if (recibidas.getAndIncrement() == 0) {
+                    respuesta.setHeadersDelay(2, TimeUnit.SECONDS);
+                }
+                return respuesta;
+            }
+        });
+        server.start();
+        r.add("data.service.url", () -> server.url("/").toString());
+        r.add("business.resiliencia.hedging.habilitado", () -> true);
+        r.add("business.resiliencia.hedging.demora-inicial", () -> "50ms");
+    }
+
+    @AfterAll
+    void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("La búsqueda por id agrupada por el coalescer se cubre con una segunda petición")
+    void busquedaAgrupada_seCubre() throws Exception {
+        long inicio = System.nanoTime();
+        ProductoDTO producto = productoBusinessService.obtenerProductoPorId(7L);
+        long transcurrido = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+
+        assertThat(producto.getNombre()).isEqualTo("Prod 7");
+        assertThat(transcurrido).isLessThan(1000);
+        assertThat(server.getRequestCount()).isEqualTo(2);
+        for (int i = 0; i < 2; i++) {
+            assertThat(server.takeRequest(1, TimeUnit.SECONDS).getPath()).isEqualTo("/data/productos?ids=7");
+        }
+    }
+}
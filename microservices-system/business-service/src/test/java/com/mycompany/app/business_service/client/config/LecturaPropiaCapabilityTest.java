@@ -0,0 +1,106 @@
+package com.mycompany.app.business_service.client.config;
+
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.Response;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LecturaPropiaCapabilityTest {
+
+    interface ClientePrueba {
+        @GetMapping("/data/productos/{id}")
+        String obtenerProductoPorId(@PathVariable("id") Long id);
+
+        @PostMapping("/data/productos")
+        String crearProducto(@RequestBody String request);
+    }
+
+    private final List<Request> recibidas = new ArrayList<>();
+    private final List<String> devueltas = new ArrayList<>();
+
+    // Como data-service: las escrituras responden con su marca, en minúsculas como las entrega Feign
+    private final Client client = (request, options) -> {
+        synchronized (recibidas) {
+            recibidas.add(request);
+        }
+        Map<String, Collection<String>> headers = request.httpMethod() == Request.HttpMethod.POST
+                ? Map.of("x-ultima-escritura", List.of("1700000000000"))
+                : Map.of();
+        return Response.builder().status(200).request(request).headers(headers)
+                .body("ok", StandardCharsets.UTF_8).build();
+    };
+
+    private final ClientePrueba cliente = Feign.builder()
+            .contract(new SpringMvcContract())
+            .client(client)
+            .addCapability(new LecturaPropiaCapability())
+            .target(ClientePrueba.class, "http://data-service");
+
+    @AfterEach
+    void tearDown() {
+        LecturaPropiaCapability.cerrarSesion();
+    }
+
+    private String marcaEnviada(int indice) {
+        Collection<String> valores = recibidas.get(indice).headers().get(LecturaPropiaCapability.CABECERA);
+        return valores == null ? null : valores.iterator().next();
+    }
+
+    @Test
+    void sinSesion_lasLlamadasPasanSinMarca() {
+        cliente.crearProducto("{}");
+        cliente.obtenerProductoPorId(1L);
+
+        assertNull(marcaEnviada(1));
+    }
+
+    @Test
+    void cuandoLaRequestEscribe_entoncesLasLecturasSiguientesLlevanLaMarcaYSeDevuelveAlCliente() {
+        LecturaPropiaCapability.abrirSesion(null, devueltas::add);
+
+        cliente.obtenerProductoPorId(1L);
+        cliente.crearProducto("{}");
+        cliente.obtenerProductoPorId(1L);
+
+        assertNull(marcaEnviada(0));
+        assertEquals("1700000000000", marcaEnviada(2));
+        assertEquals(List.of("1700000000000"), devueltas);
+    }
+
+    @Test
+    void laMarcaDelClienteViajaALosHilosQueCapturanElContexto() throws Exception {
+        LecturaPropiaCapability.abrirSesion("1600000000000", devueltas::add);
+        ExecutorService ejecutor = ContextExecutorService.wrap(Executors.newSingleThreadExecutor(),
+                ContextSnapshotFactory.builder().build()::captureAll);
+        try {
+            ejecutor.submit(() -> cliente.obtenerProductoPorId(1L)).get();
+        } finally {
+            ejecutor.shutdown();
+        }
+
+        assertEquals("1600000000000", marcaEnviada(0));
+        // Otra sesión no la ve
+        LecturaPropiaCapability.abrirSesion(null, devueltas::add);
+        cliente.obtenerProductoPorId(1L);
+        assertNull(marcaEnviada(1));
+    }
+}
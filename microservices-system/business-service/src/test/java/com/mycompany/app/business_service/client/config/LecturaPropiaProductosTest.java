@@ -0,0 +1,114 @@
+package com.mycompany.app.business_service.client.config;
+
+import com.mycompany.app.business_service.BusinessServiceApplication;
+import com.mycompany.app.business_service.dto.ProductoRequest;
+import com.mycompany.app.business_service.service.ProductoBusinessService;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Búsquedas por id de quien escribió con la caché de productos y el coalescer habilitados
+@SpringBootTest(classes = BusinessServiceApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LecturaPropiaProductosTest {
+
+    static MockWebServer server;
+
+    @Autowired ProductoBusinessService productoBusinessService;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) throws IOException {
+        server = new MockWebServer();
+        // Como data-service con una réplica atrasada: las escrituras responden con la marca y
+        // sólo las lecturas que la presentan (van a la primaria) ven el nombre nuevo
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                long id = Long.parseLong(path.substring(path.lastIndexOf(path.contains("ids=") ? '=' : '/') + 1));
+                MockResponse respuesta = new MockResponse()
+                        .setResponseCode(200)
+                        .addHeader("Content-Type", "application/json");
+                if (request.getMethod().equals("PUT")) {
+                    respuesta.addHeader(LecturaPropiaCapability.CABECERA, System.currentTimeMillis());
+                }
+                boolean primaria = !request.getMethod().equals("GET")
+                        || request.getHeader(LecturaPropiaCapability.CABECERA) != null;
+                String producto = """
+                        {"id":%d,"nombre":"%s","descripcion":"Desc","precio":10,
+                         "categoriaNombre":"Cat","stock":3,"stockBajo":false}
+                        """.formatted(id, primaria ? "Nuevo" : "Viejo");
+                return respuesta.setBody(path.contains("ids=") ? "[" + producto + "]" : producto);
+            }
+        });
+        server.start();
+        r.add("data.service.url", () -> server.url("/").toString());
+        r.add("business.resiliencia.reintentos.maximo-intentos", () -> 1);
+        // Ventana larga para que ambas búsquedas caigan en el mismo lote
+        r.add("business.coalescer.productos.ventana", () -> "300ms");
+        r.add("business.lectura-propia.ventana", () -> "1m");
+    }
+
+    @AfterEach
+    void cerrarSesion() {
+        LecturaPropiaCapability.cerrarSesion();
+    }
+
+    @AfterAll
+    void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Quien presenta una marca no se suma al lote de otro llamador: lee de la primaria")
+    void conMarcaYSinMarcaEnElMismoLote() throws Exception {
+        try (ExecutorService otro = Executors.newSingleThreadExecutor()) {
+            // Abre la ventana del coalescer sin sesión
+            Future<String> sinMarca = otro.submit(() -> productoBusinessService.obtenerProductoPorId(1L).getNombre());
+            Thread.sleep(50);
+
+            LecturaPropiaCapability.abrirSesion(Long.toString(System.currentTimeMillis()), marca -> {});
+            assertThat(productoBusinessService.obtenerProductoPorId(1L).getNombre()).isEqualTo("Nuevo");
+            assertThat(sinMarca.get()).isEqualTo("Viejo");
+        }
+    }
+
+    @Test
+    @DisplayName("Tras escribir, la lectura de otro desde la réplica no deja el valor viejo en la caché")
+    void lecturaDeReplicaTrasEscribir_noLlenaLaCache() throws Exception {
+        LecturaPropiaCapability.abrirSesion(null, marca -> {});
+        productoBusinessService.actualizarProducto(2L,
+                new ProductoRequest("Nuevo", "Desc", BigDecimal.TEN, 1L, 3));
+
+        try (ExecutorService otro = Executors.newSingleThreadExecutor()) {
+            assertThat(otro.submit(() -> productoBusinessService.obtenerProductoPorId(2L).getNombre()).get())
+                    .isEqualTo("Viejo");
+            assertThat(otro.submit(() -> productoBusinessService.obtenerProductosPorIds(List.of(2L))
+                    .getFirst().getNombre()).get()).isEqualTo("Viejo");
+        }
+
+        assertThat(productoBusinessService.obtenerProductoPorId(2L).getNombre()).isEqualTo("Nuevo");
+        assertThat(productoBusinessService.obtenerProductosPorIds(List.of(2L)).getFirst().getNombre())
+                .isEqualTo("Nuevo");
+    }
+}
@@ -0,0 +1,227 @@
+package com.mycompany.app.business_service.client.config;
+
+import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
+import com.mycompany.app.business_service.exceptions.ServicioNoDisponibleException;
+import feign.Client;
+import feign.Feign;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienciaCapabilityTest {
+
+    // Subconjunto de DataServiceClient, suficiente para GET y POST
+    interface ClientePrueba {
+        @GetMapping("/data/productos/{id}")
+        String obtenerProductoPorId(@PathVariable("id") Long id);
+
+        @PostMapping("/data/productos")
+        String crearProducto(@RequestBody String request);
+    }
+
+    private final AtomicInteger llamadas = new AtomicInteger();
+    private final Deque<Integer> estados = new ArrayDeque<>();
+    private HedgingInvoker hedging;
+
+    @AfterEach
+    void tearDown() {
+        if (hedging != null) {
+            hedging.close();
+        }
+    }
+
+    // Responde con los estados encolados; 200 cuando no quedan
+    private final Client client = (request, options) -> {
+        llamadas.incrementAndGet();
+        Integer estado;
+        synchronized (estados) {
+            estado = estados.isEmpty() ? 200 : estados.poll();
+        }
+        return Response.builder().status(estado).request(request).headers(Map.of())
+                .body("ok", StandardCharsets.UTF_8).build();
+    };
+
+    private ClientePrueba cliente(CircuitBreakerRegistry circuitBreakers, Client transporte) {
+        return cliente(circuitBreakers, transporte, "http://data-service");
+    }
+
+    private ClientePrueba cliente(CircuitBreakerRegistry circuitBreakers, Client transporte, String url) {
+        RetryRegistry reintentos = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryOnException(ResilienciaCapability::esFalla)
+                .build());
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .client(transporte)
+                .errorDecoder(new SimpleErrorDecoder())
+                .addCapability(new ResilienciaCapability(circuitBreakers, reintentos, hedging,
+                        Set.of("obtenerProductoPorId")))
+                .target(ClientePrueba.class, url);
+    }
+
+    private ClientePrueba cliente() {
+        return cliente(CircuitBreakerRegistry.ofDefaults(), client);
+    }
+
+    @Test
+    void cuandoGetRecibe503_entoncesReintentaHastaResponder() {
+        estados.addAll(List.of(503, 503));
+
+        assertEquals("ok", cliente().obtenerProductoPorId(1L));
+        assertEquals(3, llamadas.get());
+    }
+
+    @Test
+    void cuandoPostRecibe503_entoncesNoReintenta() {
+        estados.add(503);
+
+        assertThrows(ServicioNoDisponibleException.class, () -> cliente().crearProducto("{}"));
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void cuandoGetRecibe404_entoncesNoReintenta() {
+        estados.add(404);
+
+        assertThrows(RuntimeException.class, () -> cliente().obtenerProductoPorId(1L));
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void cuandoCircuitoAbierto_entoncesFallaSinLlamar() {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(ResilienciaCapability::esFalla)
+                .build());
+        ClientePrueba cliente = cliente(circuitBreakers, client);
+        for (int i = 0; i < 4; i++) {
+            estados.add(503);
+            assertThrows(MicroserviceCommunicationException.class, () -> cliente.crearProducto("{}"));
+        }
+        int antes = llamadas.get();
+
+        ServicioNoDisponibleException ex = assertThrows(ServicioNoDisponibleException.class,
+                () -> cliente.crearProducto("{}"));
+        assertTrue(ex.getMessage().contains("Circuito abierto"));
+        assertEquals(antes, llamadas.get());
+        // El circuito es por método: los GET siguen pasando
+        assertEquals("ok", cliente.obtenerProductoPorId(1L));
+    }
+
+    @Test
+    void cuandoPrimeraLlamadaSuperaLaDemora_entoncesGanaLaCubierta() {
+        hedging = new HedgingInvoker(Duration.ofMillis(50), Duration.ofMillis(10));
+        // La primera llamada tarda 2s; la segunda responde enseguida
+        Client lentoLaPrimeraVez = (request, options) -> {
+            if (llamadas.get() == 0) {
+                llamadas.incrementAndGet();
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Response.builder().status(200).request(request).headers(Map.of())
+                        .body("lenta", StandardCharsets.UTF_8).build();
+            }
+            return client.execute(request, options);
+        };
+        ClientePrueba cliente = cliente(CircuitBreakerRegistry.ofDefaults(), lentoLaPrimeraVez);
+
+        long inicio = System.nanoTime();
+        String respuesta = cliente.obtenerProductoPorId(1L);
+        long transcurrido = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+
+        assertEquals("ok", respuesta);
+        assertEquals(2, llamadas.get());
+        assertTrue(transcurrido < 1000, "tardó " + transcurrido + " ms");
+    }
+
+    @Test
+    void cuandoGanaLaCubierta_entoncesLaPerdedoraLiberaSuConexion() throws Exception {
+        hedging = new HedgingInvoker(Duration.ofMillis(50), Duration.ofMillis(10));
+        PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager();
+        CountDownLatch liberar = new CountDownLatch(1);
+        MockWebServer servidor = new MockWebServer();
+        // Sin reintentos automáticos, como en FeignTransporteConfig
+        try (CloseableHttpClient httpClient = HttpClients.custom().setConnectionManager(pool)
+                .disableAutomaticRetries().build()) {
+            // La primera petición no responde hasta el final del test; la cubierta, enseguida
+            AtomicInteger recibidas = new AtomicInteger();
+            servidor.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                    if (recibidas.getAndIncrement() == 0) {
+                        liberar.await(10, TimeUnit.SECONDS);
+                    }
+                    return new MockResponse().setBody("ok");
+                }
+            });
+            ClientePrueba cliente = cliente(CircuitBreakerRegistry.ofDefaults(), new ApacheHttp5Client(httpClient),
+                    servidor.url("/").toString());
+
+            assertEquals("ok", cliente.obtenerProductoPorId(1L));
+
+            // La perdedora se interrumpe y cierra su conexión en vez de esperar la respuesta
+            long limite = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+            while (pool.getTotalStats().getLeased() > 0 && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, pool.getTotalStats().getLeased());
+            assertEquals(2, servidor.getRequestCount());
+        } finally {
+            liberar.countDown();
+            servidor.close();
+        }
+    }
+
+    @Test
+    void cuandoLaPrimeraFallaTrasLaDemora_entoncesEsperaLaCubierta() throws Throwable {
+        hedging = new HedgingInvoker(Duration.ofMillis(20), Duration.ofMillis(10));
+        AtomicInteger intentos = new AtomicInteger();
+
+        String resultado = hedging.ejecutar(() -> {
+            if (intentos.getAndIncrement() == 0) {
+                Thread.sleep(100);
+                throw new MicroserviceCommunicationException("primera caída");
+            }
+            Thread.sleep(200);
+            return "cubierta";
+        });
+
+        assertEquals("cubierta", resultado);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mycompany.app.business_service.client.config;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevalidacionCapabilityTest {
+
+    private final Deque<Response.Builder> respuestas = new ArrayDeque<>();
+    private final List<Request> recibidas = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private RevalidacionCapability capability;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        Client servidor = (request, options) -> {
+            recibidas.add(request);
+            return respuestas.removeFirst().request(request).build();
+        };
+        capability = new RevalidacionCapability(1024 * 1024, registry);
+        client = capability.enrich(servidor);
+    }
+
+    private static Response.Builder respuesta(int status, String etag, String cuerpo) {
+        Map<String, Collection<String>> headers = etag == null
+                ? Map.of("content-type", List.of("application/json"))
+                : Map.of("content-type", List.of("application/json"), "etag", List.of(etag));
+        return Response.builder().status(status).headers(headers)
+                .body(cuerpo, StandardCharsets.UTF_8);
+    }
+
+    private Response get(String url) throws Exception {
+        Request request = Request.create(Request.HttpMethod.GET, url,
+                Map.of("Accept", List.of("application/json")), null, StandardCharsets.UTF_8, null);
+        return client.execute(request, new Request.Options());
+    }
+
+    private static String cuerpo(Response response) throws Exception {
+        return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void cuandoResponde304_entoncesDevuelveElCuerpoGuardadoComo200() throws Exception {
+        respuestas.add(respuesta(200, "\"v1\"", "[{\"id\":1}]"));
+        respuestas.add(respuesta(304, "\"v1\"", ""));
+
+        assertEquals("[{\"id\":1}]", cuerpo(get("/data/categorias")));
+        Response revalidada = get("/data/categorias");
+
+        assertEquals(200, revalidada.status());
+        assertEquals("[{\"id\":1}]", cuerpo(revalidada));
+        assertNull(recibidas.get(0).headers().get("If-None-Match"));
+        assertEquals(List.of("\"v1\""), List.copyOf(recibidas.get(1).headers().get("If-None-Match")));
+        assertEquals(1.0, registry.get("data-service.revalidaciones").tag("resultado", "no-modificada").counter().count());
+    }
+
+    @Test
+    void cuandoCambia_entoncesGuardaElNuevoValidador() throws Exception {
+        respuestas.add(respuesta(200, "\"v1\"", "[1]"));
+        respuestas.add(respuesta(200, "\"v2\"", "[1,2]"));
+        respuestas.add(respuesta(304, "\"v2\"", ""));
+
+        get("/data/categorias");
+        assertEquals("[1,2]", cuerpo(get("/data/categorias")));
+        assertEquals("[1,2]", cuerpo(get("/data/categorias")));
+
+        assertEquals(List.of("\"v2\""), List.copyOf(recibidas.get(2).headers().get("If-None-Match")));
+    }
+
+    @Test
+    void cuandoElRecursoDesaparece_entoncesOlvidaElValidador() throws Exception {
+        respuestas.add(respuesta(200, "\"v1\"", "{\"id\":7}"));
+        respuestas.add(respuesta(404, null, ""));
+
+        get("/data/productos/7");
+        assertEquals(404, get("/data/productos/7").status());
+
+        assertEquals(0, capability.tamanio());
+    }
+
+    @Test
+    void cuandoNoHayEtag_entoncesNoGuardaNada() throws Exception {
+        respuestas.add(respuesta(200, null, "[]"));
+        respuestas.add(respuesta(200, null, "[]"));
+
+        get("/data/productos");
+        get("/data/productos");
+
+        assertNull(recibidas.get(1).headers().get("If-None-Match"));
+        assertEquals(0, capability.tamanio());
+    }
+}
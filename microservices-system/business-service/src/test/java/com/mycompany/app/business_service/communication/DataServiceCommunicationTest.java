@@ -8,7 +8,9 @@ import com.mycompany.app.business_service.dto.ProductoDTO;
 import com.mycompany.app.business_service.dto.ProductoRequest;
 import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
 import com.mycompany.app.business_service.exceptions.ProductoNoEncontradoException;
+import com.mycompany.app.business_service.exceptions.StockInsuficienteException;
 import com.mycompany.app.business_service.service.CategoriaBusinessService;
+import com.mycompany.app.business_service.service.ExportacionCatalogoService;
 import com.mycompany.app.business_service.service.InventarioBusinessService;
 import com.mycompany.app.business_service.service.ProductoBusinessService;
 import okhttp3.mockwebserver.MockResponse;
@@ -19,8 +21,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -38,6 +42,7 @@ class DataServiceCommunicationTest {
     @Autowired ProductoBusinessService productoBusinessService;
     @Autowired CategoriaBusinessService categoriaBusinessService;
     @Autowired InventarioBusinessService inventarioBusinessService;
+    @Autowired ExportacionCatalogoService exportacionCatalogoService;
 
     @DynamicPropertySource
     static void props(DynamicPropertyRegistry r) throws IOException {
@@ -45,6 +50,8 @@ class DataServiceCommunicationTest {
         server.start();
         // Exponer la URL del servidor falso al Feign Client
         r.add("data.service.url", () -> server.url("/").toString());
+        // Cada respuesta encolada atiende exactamente una petición: sin reintentos
+        r.add("business.resiliencia.reintentos.maximo-intentos", () -> 1);
     }
 
     @AfterAll
@@ -210,6 +217,35 @@ class DataServiceCommunicationTest {
         assertThat(lista.getFirst().getNombre()).isEqualTo("Teclado"); // Java 21
     }
 
+    @Test
+    @DisplayName("GET /data/productos/export → NDJSON en chunks se reenvía registro por registro")
+    void exportarCatalogo_streaming() throws Exception {
+        String ndjson = """
+                {"id":1,"nombre":"Mate","precio":10,"categoriaNombre":"Bazar","stock":3,"stockBajo":false}
+                {"id":2,"nombre":"Termo","precio":20,"categoriaNombre":"Bazar","stock":1,"stockBajo":true}
+                {"id":3,"nombre":"Bombilla","precio":5,"categoriaNombre":"Bazar","stock":9,"stockBajo":false}
+                """;
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/x-ndjson")
+                .setChunkedBody(ndjson, 32));
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        exportacionCatalogoService.exportarCatalogo().writeTo(salida);
+
+        List<String> lineas = salida.toString(StandardCharsets.UTF_8).lines().filter(l -> !l.isBlank()).toList();
+        assertThat(lineas).hasSize(3);
+        assertThat(lineas.get(1)).contains("\"nombre\":\"Termo\"");
+    }
+
+    @Test
+    @DisplayName("GET /data/productos/export → 503 (MicroserviceCommunicationException antes de empezar a escribir)")
+    void exportarCatalogo_503() {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        assertThrows(MicroserviceCommunicationException.class,
+                () -> exportacionCatalogoService.exportarCatalogo());
+    }
+
     // -------------------------
     // Categorías
     // -------------------------
@@ -270,4 +306,26 @@ class DataServiceCommunicationTest {
         assertThrows(MicroserviceCommunicationException.class,
                 () -> inventarioBusinessService.obtenerProductosConStockBajo());
     }
+
+    @Test
+    @DisplayName("POST /data/inventario/{productoId}/ajuste → 200 (ajuste aplicado)")
+    void ajustarStock_ok() {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type","application/json")
+                .setBody("""
+                    {"productoId":5,"cantidad":3,"stockMinimo":5,"fechaActualizacion":"2025-09-20T15:00:00Z"}
+                """));
+
+        InventarioDTO out = inventarioBusinessService.ajustarStock(5L, -2);
+        assertThat(out.getCantidad()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("POST /data/inventario/{productoId}/ajuste → 409 (ErrorDecoder → StockInsuficienteException)")
+    void ajustarStock_409() {
+        server.enqueue(new MockResponse().setResponseCode(409));
+        assertThrows(StockInsuficienteException.class,
+                () -> inventarioBusinessService.ajustarStock(5L, -100));
+    }
 }
@@ -2,11 +2,17 @@ package com.mycompany.app.business_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.app.business_service.dto.CategoriaDTO;
+import com.mycompany.app.business_service.dto.DashboardDTO;
 import com.mycompany.app.business_service.dto.InventarioDTO;
+import com.mycompany.app.business_service.dto.PaginaCursorDTO;
 import com.mycompany.app.business_service.dto.ProductoDTO;
 import com.mycompany.app.business_service.dto.ProductoRequest;
+import com.mycompany.app.business_service.dto.SugerenciaDTO;
 import com.mycompany.app.business_service.exceptions.GlobalExceptionHandler;
+import com.mycompany.app.business_service.exceptions.ServicioSaturadoException;
 import com.mycompany.app.business_service.service.CategoriaBusinessService;
+import com.mycompany.app.business_service.service.DashboardService;
+import com.mycompany.app.business_service.service.ExportacionCatalogoService;
 import com.mycompany.app.business_service.service.InventarioBusinessService;
 import com.mycompany.app.business_service.service.ProductoBusinessService;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +27,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -45,6 +52,12 @@ class BusinessControllerIntegrationTest {
     @MockitoBean
     private InventarioBusinessService inventarioBusinessService;
 
+    @MockitoBean
+    private ExportacionCatalogoService exportacionCatalogoService;
+
+    @MockitoBean
+    private DashboardService dashboardService;
+
     @Test
     @DisplayName("GET /api/productos → 200 y lista de productos")
     void getProductos_ok() throws Exception {
@@ -60,6 +73,80 @@ class BusinessControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].nombre").value("Prod 1"));
     }
 
+    @Test
+    @DisplayName("GET /api/productos con Accept Smile → 406: la API pública sólo responde JSON")
+    void getProductos_smile_notAcceptable() throws Exception {
+        when(productoBusinessService.obtenerTodosLosProductos()).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/productos").accept("application/x-jackson-smile"))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    @DisplayName("GET /api/productos/pagina → 200 con items y siguienteCursor")
+    void getPaginaDeProductos_ok() throws Exception {
+        PaginaCursorDTO<ProductoDTO> pagina = new PaginaCursorDTO<>(List.of(
+                new ProductoDTO(21L, "Prod 21", "Desc", BigDecimal.TEN, "Cat 1", 5, false)), 21L);
+        when(productoBusinessService.obtenerPaginaDeProductos(20L, 1)).thenReturn(pagina);
+
+        mockMvc.perform(get("/api/productos/pagina").param("after", "20").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.siguienteCursor").value(21));
+    }
+
+    @Test
+    @DisplayName("GET /api/productos/buscar → 200 con los resultados en el orden de data-service")
+    void buscarProductos_ok() throws Exception {
+        when(productoBusinessService.buscarProductos("cámara", 5)).thenReturn(List.of(
+                new ProductoDTO(7L, "Cámara réflex", "Lente 18-55", BigDecimal.TEN, "Foto", 2, false),
+                new ProductoDTO(3L, "Bolso para cámara", "Acolchado", BigDecimal.ONE, "Foto", 9, false)));
+
+        mockMvc.perform(get("/api/productos/buscar").param("q", "cámara").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[1].id").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/productos/buscar con q vacío → 400 por @NotBlank")
+    void buscarProductos_consultaVacia_badRequest() throws Exception {
+        mockMvc.perform(get("/api/productos/buscar").param("q", " "))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(productoBusinessService);
+    }
+
+    @Test
+    @DisplayName("GET /api/productos/sugerencias → 200 con los nombres en el orden de data-service")
+    void obtenerSugerencias_ok() throws Exception {
+        when(productoBusinessService.obtenerSugerencias("tec", 10)).thenReturn(List.of(
+                new SugerenciaDTO("Teclado mecánico", 20L),
+                new SugerenciaDTO("Tetera", 4L)));
+
+        mockMvc.perform(get("/api/productos/sugerencias").param("q", "tec"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].texto").value("Teclado mecánico"))
+                .andExpect(jsonPath("$[1].peso").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /api/productos/sugerencias con limit > 10 → 400 por validación @Max")
+    void obtenerSugerencias_limiteInvalido_badRequest() throws Exception {
+        mockMvc.perform(get("/api/productos/sugerencias").param("q", "tec").param("limit", "11"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(productoBusinessService);
+    }
+
+    @Test
+    @DisplayName("GET /api/productos/pagina con limit > 500 → 400 por validación @Max")
+    void getPaginaDeProductos_limiteInvalido_badRequest() throws Exception {
+        mockMvc.perform(get("/api/productos/pagina").param("limit", "501"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(productoBusinessService);
+    }
+
     @Test
     @DisplayName("GET /api/productos/{id} con id<1 → 400 por validación @Min")
     void getProducto_idInvalido_badRequest() throws Exception {
@@ -127,4 +214,33 @@ class BusinessControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].productoId").value(5));
     }
+
+    @Test
+    @DisplayName("GET /api/categorias con data-service saturado → 503 y Retry-After")
+    void getCategorias_bulkheadLleno_serviceUnavailable() throws Exception {
+        when(categoriaBusinessService.obtenerTodasLasCategorias())
+                .thenThrow(new ServicioSaturadoException("data-service saturado: data-service-lecturas", null));
+
+        mockMvc.perform(get("/api/categorias"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"));
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard → 200 con resultados parciales y errores por rama")
+    void getDashboard_parcial() throws Exception {
+        when(dashboardService.obtenerDashboard()).thenReturn(new DashboardDTO(
+                List.of(new ProductoDTO(1L, "Prod 1", "Desc", BigDecimal.TEN, "Cat 1", 5, false)),
+                null,
+                List.of(new InventarioDTO(5L, 2, 5, Instant.now())),
+                Map.of("categorias", "Tiempo de espera agotado (2000 ms)")));
+
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productos.length()").value(1))
+                .andExpect(jsonPath("$.categorias").doesNotExist())
+                .andExpect(jsonPath("$.stockBajo[0].productoId").value(5))
+                .andExpect(jsonPath("$.errores.categorias").value("Tiempo de espera agotado (2000 ms)"));
+    }
 }
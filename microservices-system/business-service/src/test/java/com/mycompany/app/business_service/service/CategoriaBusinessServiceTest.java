@@ -1,5 +1,6 @@
 package com.mycompany.app.business_service.service;
 
+import com.mycompany.app.business_service.cache.CategoriaCache;
 import com.mycompany.app.business_service.client.DataServiceClient;
 import com.mycompany.app.business_service.dto.CategoriaDTO;
 import com.mycompany.app.business_service.dto.ProductoDTO;
@@ -7,16 +8,20 @@ import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationEx
 import feign.FeignException;
 import feign.Request;
 import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,9 +32,21 @@ class CategoriaBusinessServiceTest {
     @Mock
     private DataServiceClient dataServiceClient;
 
-    @InjectMocks
+    private CategoriaCache categoriaCache;
     private CategoriaBusinessService categoriaBusinessService;
 
+    @BeforeEach
+    void setUp() {
+        categoriaCache = new CategoriaCache(() -> dataServiceClient.obtenerTodasLasCategorias(),
+                Duration.ofMinutes(1), Duration.ofMinutes(5), new SimpleMeterRegistry());
+        categoriaBusinessService = new CategoriaBusinessService(dataServiceClient, categoriaCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoriaCache.close();
+    }
+
     private FeignException feignStatus(int status) {
         Request req = Request.create(Request.HttpMethod.GET, "/fake", Map.of(), null, Charset.defaultCharset(), null);
         Response res = Response.builder().status(status).reason("r").request(req).build();
@@ -49,6 +66,19 @@ class CategoriaBusinessServiceTest {
         verify(dataServiceClient).obtenerTodasLasCategorias();
     }
 
+    @Test
+    void cuandoSeLeenCategoriasVariasVeces_entoncesSoloLaPrimeraLlamaADataService() {
+        when(dataServiceClient.obtenerTodasLasCategorias()).thenReturn(List.of(
+                new CategoriaDTO(1L, "Electrónica", "Desc"), new CategoriaDTO(2L, "Hogar", "Desc")));
+
+        categoriaBusinessService.obtenerTodasLasCategorias();
+        categoriaBusinessService.obtenerTodasLasCategorias();
+
+        assertEquals(Optional.of(2L), categoriaBusinessService.buscarIdPorNombre(" hogar "));
+        assertEquals(Optional.empty(), categoriaBusinessService.buscarIdPorNombre("Jardín"));
+        verify(dataServiceClient, times(1)).obtenerTodasLasCategorias();
+    }
+
     @Test
     void cuandoObtenerTodasLasCategorias_yFallaFeign_entoncesMicroserviceCommunicationException() {
         when(dataServiceClient.obtenerTodasLasCategorias()).thenThrow(feignStatus(503));
@@ -69,6 +99,7 @@ class CategoriaBusinessServiceTest {
         String nombre = "Electrónica";
         ProductoDTO p = new ProductoDTO(1L, "TV", "LED", BigDecimal.valueOf(1000), nombre, 3, true);
 
+        when(dataServiceClient.obtenerTodasLasCategorias()).thenReturn(List.of(new CategoriaDTO(1L, nombre, "Desc")));
         when(dataServiceClient.obtenerProductosPorCategoria(nombre)).thenReturn(List.of(p));
 
         List<ProductoDTO> out = categoriaBusinessService.obtenerProductosPorCategoria(nombre);
@@ -78,8 +109,17 @@ class CategoriaBusinessServiceTest {
         verify(dataServiceClient).obtenerProductosPorCategoria(nombre);
     }
 
+    @Test
+    void cuandoObtenerProductosPorCategoria_conCategoriaDesconocida_entoncesListaVaciaSinConsultarProductos() {
+        when(dataServiceClient.obtenerTodasLasCategorias()).thenReturn(List.of(new CategoriaDTO(1L, "Hogar", "Desc")));
+
+        assertEquals(List.of(), categoriaBusinessService.obtenerProductosPorCategoria("Jardín"));
+        verify(dataServiceClient, never()).obtenerProductosPorCategoria(any());
+    }
+
     @Test
     void cuandoObtenerProductosPorCategoria_yFallaFeign_entoncesMicroserviceCommunicationException() {
+        when(dataServiceClient.obtenerTodasLasCategorias()).thenReturn(List.of(new CategoriaDTO(1L, "Electro", "Desc")));
         when(dataServiceClient.obtenerProductosPorCategoria("Electro")).thenThrow(feignStatus(502));
 
         assertThrows(MicroserviceCommunicationException.class,
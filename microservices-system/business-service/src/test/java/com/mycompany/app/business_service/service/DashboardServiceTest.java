@@ -0,0 +1,110 @@
+package com.mycompany.app.business_service.service;
+
+import com.mycompany.app.business_service.dto.CategoriaDTO;
+import com.mycompany.app.business_service.dto.DashboardDTO;
+import com.mycompany.app.business_service.dto.InventarioDTO;
+import com.mycompany.app.business_service.dto.ProductoDTO;
+import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private ProductoBusinessService productoBusinessService;
+
+    @Mock
+    private CategoriaBusinessService categoriaBusinessService;
+
+    @Mock
+    private InventarioBusinessService inventarioBusinessService;
+
+    private DashboardService dashboardService;
+
+    private final List<ProductoDTO> productos = List.of(
+            new ProductoDTO(1L, "Prod 1", "Desc", BigDecimal.TEN, "Cat 1", 5, false));
+    private final List<CategoriaDTO> categorias = List.of(new CategoriaDTO(1L, "Cat 1", "desc"));
+    private final List<InventarioDTO> stockBajo = List.of(new InventarioDTO(1L, 2, 5, Instant.now()));
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardService(productoBusinessService, categoriaBusinessService,
+                inventarioBusinessService, Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.cerrar();
+    }
+
+    private static <T> Answer<T> demorado(long millis, T valor) {
+        return inv -> {
+            Thread.sleep(millis);
+            return valor;
+        };
+    }
+
+    @Test
+    void cuandoTodasLasRamasResponden_entoncesLatenciaEsLaDeLaMasLenta() {
+        when(productoBusinessService.obtenerTodosLosProductos()).thenAnswer(demorado(300, productos));
+        when(categoriaBusinessService.obtenerTodasLasCategorias()).thenAnswer(demorado(300, categorias));
+        when(inventarioBusinessService.obtenerProductosConStockBajo()).thenAnswer(demorado(300, stockBajo));
+
+        long inicio = System.nanoTime();
+        DashboardDTO dashboard = dashboardService.obtenerDashboard();
+        long transcurrido = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+
+        assertEquals(productos, dashboard.getProductos());
+        assertEquals(categorias, dashboard.getCategorias());
+        assertEquals(stockBajo, dashboard.getStockBajo());
+        assertTrue(dashboard.getErrores().isEmpty());
+        // En serie serían 900 ms
+        assertTrue(transcurrido < 800, "tardó " + transcurrido + " ms");
+    }
+
+    @Test
+    void cuandoUnaRamaFalla_entoncesDevuelveLasDemasYElError() {
+        when(productoBusinessService.obtenerTodosLosProductos()).thenReturn(productos);
+        when(categoriaBusinessService.obtenerTodasLasCategorias())
+                .thenThrow(new MicroserviceCommunicationException("Error de comunicación con el servicio de datos"));
+        when(inventarioBusinessService.obtenerProductosConStockBajo()).thenReturn(stockBajo);
+
+        DashboardDTO dashboard = dashboardService.obtenerDashboard();
+
+        assertEquals(productos, dashboard.getProductos());
+        assertNull(dashboard.getCategorias());
+        assertEquals(stockBajo, dashboard.getStockBajo());
+        assertEquals("Error de comunicación con el servicio de datos", dashboard.getErrores().get("categorias"));
+    }
+
+    @Test
+    void cuandoUnaRamaVence_entoncesNoEsperaMasQueElTimeout() {
+        when(productoBusinessService.obtenerTodosLosProductos()).thenAnswer(demorado(3000, productos));
+        when(categoriaBusinessService.obtenerTodasLasCategorias()).thenReturn(categorias);
+        when(inventarioBusinessService.obtenerProductosConStockBajo()).thenReturn(stockBajo);
+
+        long inicio = System.nanoTime();
+        DashboardDTO dashboard = dashboardService.obtenerDashboard();
+        long transcurrido = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+
+        assertNull(dashboard.getProductos());
+        assertEquals(categorias, dashboard.getCategorias());
+        assertEquals(stockBajo, dashboard.getStockBajo());
+        assertTrue(dashboard.getErrores().get("productos").contains("Tiempo de espera agotado"));
+        assertTrue(transcurrido < 1500, "tardó " + transcurrido + " ms");
+    }
+}
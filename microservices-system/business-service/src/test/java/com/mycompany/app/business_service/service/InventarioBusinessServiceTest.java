@@ -1,8 +1,12 @@
 package com.mycompany.app.business_service.service;
 
+import com.mycompany.app.business_service.cache.ProductoCache;
 import com.mycompany.app.business_service.client.DataServiceClient;
+import com.mycompany.app.business_service.dto.AjusteStockRequest;
 import com.mycompany.app.business_service.dto.InventarioDTO;
 import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
+import com.mycompany.app.business_service.exceptions.StockInsuficienteException;
+import com.mycompany.app.business_service.exceptions.ValidacionNegocioException;
 import feign.FeignException;
 import feign.Request;
 import feign.Response;
@@ -26,6 +30,9 @@ class InventarioBusinessServiceTest {
     @Mock
     private DataServiceClient dataServiceClient;
 
+    @Mock
+    private ProductoCache productoCache;
+
     @InjectMocks
     private InventarioBusinessService inventarioBusinessService;
 
@@ -55,4 +62,30 @@ class InventarioBusinessServiceTest {
         assertThrows(MicroserviceCommunicationException.class,
                 () -> inventarioBusinessService.obtenerProductosConStockBajo());
     }
+
+    @Test
+    void cuandoAjustarStock_entoncesEnviaDeltaEInvalidaCache() {
+        InventarioDTO ajustado = new InventarioDTO(5L, 8, 5, Instant.now());
+        when(dataServiceClient.ajustarStock(5L, new AjusteStockRequest(-2))).thenReturn(ajustado);
+
+        InventarioDTO out = inventarioBusinessService.ajustarStock(5L, -2);
+
+        assertEquals(8, out.getCantidad());
+        verify(productoCache).invalidar(5L);
+    }
+
+    @Test
+    void cuandoAjustarStock_ySinStock_entoncesPropagaStockInsuficiente() {
+        when(dataServiceClient.ajustarStock(5L, new AjusteStockRequest(-100)))
+                .thenThrow(new StockInsuficienteException("Stock insuficiente"));
+
+        assertThrows(StockInsuficienteException.class, () -> inventarioBusinessService.ajustarStock(5L, -100));
+        verify(productoCache).invalidar(5L);
+    }
+
+    @Test
+    void cuandoAjustarStockConDeltaCero_entoncesValidacionNegocio() {
+        assertThrows(ValidacionNegocioException.class, () -> inventarioBusinessService.ajustarStock(5L, 0));
+        verifyNoInteractions(dataServiceClient);
+    }
 }
@@ -1,22 +1,28 @@
 package com.mycompany.app.business_service.service;
 
+import com.mycompany.app.business_service.cache.ProductoCache;
 import com.mycompany.app.business_service.client.DataServiceClient;
+import com.mycompany.app.business_service.client.ProductoBatchLoader;
+import com.mycompany.app.business_service.dto.ErrorImportacionDTO;
+import com.mycompany.app.business_service.dto.PaginaCursorDTO;
 import com.mycompany.app.business_service.dto.ProductoDTO;
 import com.mycompany.app.business_service.dto.ProductoRequest;
+import com.mycompany.app.business_service.dto.ResultadoImportacionDTO;
 import com.mycompany.app.business_service.exceptions.MicroserviceCommunicationException;
 import com.mycompany.app.business_service.exceptions.ProductoNoEncontradoException;
 import com.mycompany.app.business_service.exceptions.ValidacionNegocioException;
 import feign.FeignException;
 import feign.Request;
 import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -29,9 +35,15 @@ class ProductoBusinessServiceTest {
     @Mock
     private DataServiceClient dataServiceClient;
 
-    @InjectMocks
     private ProductoBusinessService productoBusinessService;
 
+    @BeforeEach
+    void setUp() {
+        productoBusinessService = new ProductoBusinessService(dataServiceClient,
+                new ProductoCache(100, Duration.ofMinutes(1)),
+                ProductoBatchLoader.sinAgrupar(dataServiceClient), 2, Duration.ofSeconds(1));
+    }
+
     // Helper para crear FeignException con un status dado
     private FeignException feignStatus(int status) {
         Request request = Request.create(
@@ -73,6 +85,40 @@ class ProductoBusinessServiceTest {
                 () -> productoBusinessService.obtenerTodosLosProductos());
     }
 
+    @Test
+    void cuandoObtenerPaginaDeProductos_entoncesDelegaCursorYLimite() {
+        ProductoDTO p1 = new ProductoDTO(11L, "Prod 11", "Desc", BigDecimal.ONE, "Cat", 1, false);
+        when(dataServiceClient.obtenerPaginaDeProductos(10L, 1)).thenReturn(new PaginaCursorDTO<>(List.of(p1), 11L));
+
+        PaginaCursorDTO<ProductoDTO> out = productoBusinessService.obtenerPaginaDeProductos(10L, 1);
+
+        assertEquals(1, out.getItems().size());
+        assertEquals(11L, out.getSiguienteCursor());
+        verify(dataServiceClient).obtenerPaginaDeProductos(10L, 1);
+    }
+
+    @Test
+    void cuandoObtenerPaginaDeProductos_yFallaFeign_entoncesMicroserviceCommunicationException() {
+        when(dataServiceClient.obtenerPaginaDeProductos(0L, 50)).thenThrow(feignStatus(503));
+
+        assertThrows(MicroserviceCommunicationException.class,
+                () -> productoBusinessService.obtenerPaginaDeProductos(0L, 50));
+    }
+
+    @Test
+    void cuandoObtenerProductosPorIds_entoncesSoloPideLosQueNoEstanEnCache() {
+        ProductoDTO p1 = new ProductoDTO(1L, "Prod 1", "Desc", BigDecimal.ONE, "Cat", 1, false);
+        ProductoDTO p2 = new ProductoDTO(2L, "Prod 2", "Desc", BigDecimal.ONE, "Cat", 1, false);
+        when(dataServiceClient.obtenerProductoPorId(1L)).thenReturn(p1);
+        productoBusinessService.obtenerProductoPorId(1L);
+        when(dataServiceClient.obtenerProductosPorIds(anyCollection())).thenReturn(List.of(p2));
+
+        List<ProductoDTO> out = productoBusinessService.obtenerProductosPorIds(List.of(2L, 1L, 3L, 2L));
+
+        assertEquals(List.of(2L, 1L), out.stream().map(ProductoDTO::getId).toList());
+        verify(dataServiceClient).obtenerProductosPorIds(argThat(ids -> ids.size() == 2 && !ids.contains(1L)));
+    }
+
     @Test
     void cuandoObtenerProductoPorId404_entoncesLanzaProductoNoEncontrado() {
         Long id = 999L;
@@ -92,6 +138,46 @@ class ProductoBusinessServiceTest {
                 () -> productoBusinessService.obtenerProductoPorId(id));
     }
 
+    @Test
+    void cuandoObtenerProductoPorIdDosVeces_entoncesSegundaLecturaSaleDeCache() {
+        ProductoDTO p = new ProductoDTO(3L, "Prod 3", "Desc", BigDecimal.ONE, "Cat", 1, false);
+        when(dataServiceClient.obtenerProductoPorId(3L)).thenReturn(p);
+
+        assertEquals(p, productoBusinessService.obtenerProductoPorId(3L));
+        assertEquals(p, productoBusinessService.obtenerProductoPorId(3L));
+
+        verify(dataServiceClient, times(1)).obtenerProductoPorId(3L);
+    }
+
+    @Test
+    void cuandoActualizarProducto_entoncesLaCacheQuedaConLaVersionNueva() {
+        Long id = 4L;
+        ProductoRequest req = new ProductoRequest("Nuevo", "Desc", BigDecimal.TEN, 1L, 2);
+        ProductoDTO viejo = new ProductoDTO(id, "Viejo", "Desc", BigDecimal.ONE, "Cat", 1, false);
+        ProductoDTO nuevo = new ProductoDTO(id, "Nuevo", "Desc", BigDecimal.TEN, "Cat", 2, false);
+        when(dataServiceClient.obtenerProductoPorId(id)).thenReturn(viejo);
+        when(dataServiceClient.actualizarProducto(id, req)).thenReturn(nuevo);
+
+        productoBusinessService.obtenerProductoPorId(id);
+        productoBusinessService.actualizarProducto(id, req);
+
+        assertEquals("Nuevo", productoBusinessService.obtenerProductoPorId(id).getNombre());
+        verify(dataServiceClient, times(1)).obtenerProductoPorId(id);
+    }
+
+    @Test
+    void cuandoEliminarProducto_entoncesSeInvalidaLaCache() {
+        Long id = 6L;
+        ProductoDTO p = new ProductoDTO(id, "Prod", "Desc", BigDecimal.ONE, "Cat", 1, false);
+        when(dataServiceClient.obtenerProductoPorId(id)).thenReturn(p);
+
+        productoBusinessService.obtenerProductoPorId(id);
+        productoBusinessService.eliminarProducto(id);
+        productoBusinessService.obtenerProductoPorId(id);
+
+        verify(dataServiceClient, times(2)).obtenerProductoPorId(id);
+    }
+
     @Test
     void cuandoCrearProductoConPrecioInvalido_entoncesValidacionNegocio() {
         ProductoRequest req = new ProductoRequest("P", "D", BigDecimal.valueOf(0), 1L, 1);
@@ -164,5 +250,34 @@ class ProductoBusinessServiceTest {
                 () -> productoBusinessService.eliminarProducto(id));
         verify(dataServiceClient).eliminarProducto(id);
     }
-}
 
+    @Test
+    void cuandoImportarProductos_entoncesEnviaEnTandasYTraduceIndices() {
+        ProductoRequest ok1 = new ProductoRequest("A", "a", BigDecimal.ONE, 1L, 1);
+        ProductoRequest invalido = new ProductoRequest("B", "b", BigDecimal.ZERO, 1L, 1);
+        ProductoRequest ok2 = new ProductoRequest("C", "c", BigDecimal.TEN, 1L, 2);
+        ProductoRequest ok3 = new ProductoRequest("D", "d", BigDecimal.TEN, 99L, 3);
+        // tamanio-envio = 2: [ok1, ok2] y luego [ok3]
+        when(dataServiceClient.importarProductos(List.of(ok1, ok2)))
+                .thenReturn(new ResultadoImportacionDTO(2, 2, List.of()));
+        when(dataServiceClient.importarProductos(List.of(ok3)))
+                .thenReturn(new ResultadoImportacionDTO(1, 0, List.of(new ErrorImportacionDTO(0, "Categoría no encontrada id=99"))));
+
+        ResultadoImportacionDTO out = productoBusinessService.importarProductos(List.of(ok1, invalido, ok2, ok3));
+
+        assertEquals(4, out.getRecibidos());
+        assertEquals(2, out.getImportados());
+        assertEquals(List.of(1, 3), out.getErrores().stream().map(ErrorImportacionDTO::getIndice).toList());
+        assertEquals("El precio debe ser mayor a cero", out.getErrores().get(0).getMensaje());
+        verify(dataServiceClient, times(2)).importarProductos(anyList());
+    }
+
+    @Test
+    void cuandoImportarProductos_yFallaFeign_entoncesMicroserviceCommunicationException() {
+        ProductoRequest req = new ProductoRequest("A", "a", BigDecimal.ONE, 1L, 1);
+        when(dataServiceClient.importarProductos(anyList())).thenThrow(feignStatus(503));
+
+        assertThrows(MicroserviceCommunicationException.class,
+                () -> productoBusinessService.importarProductos(List.of(req)));
+    }
+}
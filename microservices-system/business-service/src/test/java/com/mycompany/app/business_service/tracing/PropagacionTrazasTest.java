@@ -0,0 +1,86 @@
+package com.mycompany.app.business_service.tracing;
+
+import com.mycompany.app.business_service.BusinessServiceApplication;
+import com.mycompany.app.business_service.service.ProductoBusinessService;
+import com.mycompany.app.trazas.ExportadorSpansLocal;
+import com.mycompany.app.trazas.SpanRegistrado;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = BusinessServiceApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureObservability
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PropagacionTrazasTest {
+
+    static MockWebServer server;
+
+    @Autowired ProductoBusinessService productoBusinessService;
+    @Autowired Tracer tracer;
+    @Autowired ExportadorSpansLocal exportador;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) throws IOException {
+        server = new MockWebServer();
+        server.start();
+        r.add("data.service.url", () -> server.url("/").toString());
+        r.add("business.resiliencia.reintentos.maximo-intentos", () -> 1);
+    }
+
+    @AfterAll
+    void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("La búsqueda agrupada por id lleva la traza de la request a data-service (traceparent)")
+    void busquedaPorId_propagaTraza() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("""
+                        [{"id":7,"nombre":"Prod 7","descripcion":"Desc","precio":10,
+                          "categoriaNombre":"Cat","stock":3,"stockBajo":false}]
+                        """));
+
+        Span request = tracer.nextSpan().name("request").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(request)) {
+            productoBusinessService.obtenerProductoPorId(7L);
+        } finally {
+            request.end();
+        }
+        String traceId = request.context().traceId();
+
+        RecordedRequest recibida = server.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(recibida).isNotNull();
+        // 00-{traceId}-{spanId del cliente Feign}-{flags}
+        String[] traceparent = recibida.getHeader("traceparent").split("-");
+        assertThat(traceparent[1]).isEqualTo(traceId);
+
+        List<SpanRegistrado> spans = exportador.spansDeTraza(traceId);
+        assertThat(spans).extracting(SpanRegistrado::nombre)
+                .contains("request", "producto-business-service#obtener-producto-por-id");
+        assertThat(spans).anySatisfy(span -> {
+            assertThat(span.tipo()).isEqualTo("CLIENT");
+            assertThat(span.spanId()).isEqualTo(traceparent[2]);
+        });
+    }
+}
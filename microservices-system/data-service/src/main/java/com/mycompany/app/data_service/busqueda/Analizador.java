@@ -0,0 +1,40 @@
+package com.mycompany.app.data_service.busqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Convierte texto en términos de búsqueda: sin tildes ni diéresis, en minúsculas y cortado en
+ * todo lo que no sea letra o dígito. Indexación y consultas pasan por acá, así "Cámara" y
+ * "camara" son el mismo término.
+ */
+public final class Analizador {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private Analizador() {
+    }
+
+    public static String plegar(String texto) {
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinMarcas.toLowerCase(Locale.ROOT);
+    }
+
+    /** Términos en orden de aparición, con repetidos (la frecuencia cuenta para el ranking). */
+    public static List<String> terminos(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        List<String> terminos = new ArrayList<>();
+        for (String termino : SEPARADORES.split(plegar(texto))) {
+            if (!termino.isEmpty()) {
+                terminos.add(termino);
+            }
+        }
+        return terminos;
+    }
+}
@@ -0,0 +1,378 @@
+package com.mycompany.app.data_service.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria con ranking BM25. Cada documento es un id con uno o más campos
+ * de texto; {@link #indexar} reemplaza la versión anterior del mismo id y {@link #quitar} la
+ * borra, así las altas y modificaciones se aplican de a una sin reconstruir el índice.
+ * <p>
+ * Los documentos ocupan posiciones internas que se reutilizan al quitarlos. Cada término
+ * guarda sus ocurrencias (posición y frecuencia) en arreglos primitivos, sin orden, y cada
+ * documento recuerda dónde quedó en cada lista: quitarlo no recorre listas de un millón de
+ * ocurrencias. Las búsquedas corren en paralelo; las escrituras toman el lock exclusivo.
+ */
+public class IndiceInvertido {
+
+    // Parámetros usuales de BM25: saturación de la frecuencia y peso de la longitud del documento
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    public record Coincidencia(long id, double puntaje) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Ocurrencias> ocurrenciasPorTermino = new HashMap<>();
+    private final Map<Long, Integer> posicionPorId = new HashMap<>();
+
+    private long[] ids = new long[64];
+    private int[] longitudes = new int[64];
+    // Términos distintos de cada documento y su lugar en la lista de ocurrencias de cada uno
+    private String[][] terminosPorPosicion = new String[64][];
+    private int[][] lugaresPorPosicion = new int[64][];
+    private int[] posicionesLibres = new int[16];
+    private int cantidadLibres;
+    private int posicionesUsadas;
+    private long longitudTotal;
+
+    public void indexar(long id, String... campos) {
+        Map<String, Integer> frecuencias = new HashMap<>();
+        int longitud = 0;
+        for (String campo : campos) {
+            for (String termino : Analizador.terminos(campo)) {
+                frecuencias.merge(termino, 1, Integer::sum);
+                longitud++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer anterior = posicionPorId.remove(id);
+            if (anterior != null) {
+                liberar(anterior);
+            }
+            if (longitud == 0) {
+                return;
+            }
+            int posicion = nuevaPosicion();
+            String[] terminos = new String[frecuencias.size()];
+            int[] lugares = new int[frecuencias.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> frecuencia : frecuencias.entrySet()) {
+                Ocurrencias ocurrencias = ocurrenciasPorTermino.computeIfAbsent(frecuencia.getKey(), Ocurrencias::new);
+                lugares[i] = ocurrencias.agregar(posicion, frecuencia.getValue());
+                // Se guarda la instancia del mapa: un único String por término en todo el índice
+                terminos[i++] = ocurrencias.termino;
+            }
+            ids[posicion] = id;
+            longitudes[posicion] = longitud;
+            terminosPorPosicion[posicion] = terminos;
+            lugaresPorPosicion[posicion] = lugares;
+            longitudTotal += longitud;
+            posicionPorId.put(id, posicion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void quitar(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer posicion = posicionPorId.remove(id);
+            if (posicion != null) {
+                liberar(posicion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Documentos que contienen al menos un término de la consulta, de mayor a menor puntaje
+     * (a igual puntaje, menor id primero). Los términos repetidos en la consulta cuentan una vez.
+     */
+    public List<Coincidencia> buscar(String consulta, int limite) {
+        LinkedHashSet<String> terminos = new LinkedHashSet<>(Analizador.terminos(consulta));
+        if (terminos.isEmpty() || limite < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentos = posicionPorId.size();
+            List<Ocurrencias> listas = new ArrayList<>(terminos.size());
+            long ocurrenciasALeer = 0;
+            for (String termino : terminos) {
+                Ocurrencias ocurrencias = ocurrenciasPorTermino.get(termino);
+                if (ocurrencias != null) {
+                    listas.add(ocurrencias);
+                    ocurrenciasALeer += ocurrencias.tamanio;
+                }
+            }
+            if (listas.isEmpty()) {
+                return List.of();
+            }
+            double longitudPromedio = (double) longitudTotal / documentos;
+            Mejores mejores = new Mejores(limite);
+
+            // Con un solo término cada documento aparece una vez: se puntúa directo, sin acumular
+            if (listas.size() == 1) {
+                Ocurrencias ocurrencias = listas.getFirst();
+                double idf = idf(documentos, ocurrencias.tamanio);
+                for (int j = 0; j < ocurrencias.tamanio; j++) {
+                    int posicion = ocurrencias.posiciones[j];
+                    mejores.ofrecer(posicion, puntaje(idf, ocurrencias.frecuencias[j], longitudes[posicion], longitudPromedio));
+                }
+                return mejores.ordenadas();
+            }
+
+            Acumulador acumulador = new Acumulador(ocurrenciasALeer, posicionesUsadas);
+            for (Ocurrencias ocurrencias : listas) {
+                double idf = idf(documentos, ocurrencias.tamanio);
+                for (int j = 0; j < ocurrencias.tamanio; j++) {
+                    int posicion = ocurrencias.posiciones[j];
+                    acumulador.sumar(posicion, puntaje(idf, ocurrencias.frecuencias[j], longitudes[posicion], longitudPromedio));
+                }
+            }
+            acumulador.volcarEn(mejores);
+            return mejores.ordenadas();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanio() {
+        lock.readLock().lock();
+        try {
+            return posicionPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double idf(int documentos, int conElTermino) {
+        return Math.log(1 + (documentos - conElTermino + 0.5) / (conElTermino + 0.5));
+    }
+
+    private static float puntaje(double idf, int tf, int longitud, double longitudPromedio) {
+        double normalizacion = K1 * (1 - B + B * longitud / longitudPromedio);
+        return (float) (idf * tf * (K1 + 1) / (tf + normalizacion));
+    }
+
+    private int nuevaPosicion() {
+        if (cantidadLibres > 0) {
+            return posicionesLibres[--cantidadLibres];
+        }
+        if (posicionesUsadas == ids.length) {
+            int capacidad = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacidad);
+            longitudes = Arrays.copyOf(longitudes, capacidad);
+            terminosPorPosicion = Arrays.copyOf(terminosPorPosicion, capacidad);
+            lugaresPorPosicion = Arrays.copyOf(lugaresPorPosicion, capacidad);
+        }
+        return posicionesUsadas++;
+    }
+
+    private void liberar(int posicion) {
+        String[] terminos = terminosPorPosicion[posicion];
+        int[] lugares = lugaresPorPosicion[posicion];
+        for (int i = 0; i < terminos.length; i++) {
+            Ocurrencias ocurrencias = ocurrenciasPorTermino.get(terminos[i]);
+            int movida = ocurrencias.quitar(lugares[i]);
+            if (movida >= 0) {
+                reubicar(movida, ocurrencias.termino, lugares[i]);
+            }
+            if (ocurrencias.tamanio == 0) {
+                ocurrenciasPorTermino.remove(terminos[i]);
+            }
+        }
+        longitudTotal -= longitudes[posicion];
+        longitudes[posicion] = 0;
+        terminosPorPosicion[posicion] = null;
+        lugaresPorPosicion[posicion] = null;
+        if (cantidadLibres == posicionesLibres.length) {
+            posicionesLibres = Arrays.copyOf(posicionesLibres, cantidadLibres * 2);
+        }
+        posicionesLibres[cantidadLibres++] = posicion;
+    }
+
+    // El documento en posicion pasó a otro lugar de la lista de termino; los términos son
+    // las instancias del mapa, alcanza con comparar referencias
+    private void reubicar(int posicion, String termino, int lugar) {
+        String[] terminos = terminosPorPosicion[posicion];
+        for (int i = 0; i < terminos.length; i++) {
+            if (terminos[i] == termino) {
+                lugaresPorPosicion[posicion][i] = lugar;
+                return;
+            }
+        }
+    }
+
+    private static final class Ocurrencias {
+
+        private final String termino;
+        private int[] posiciones = new int[2];
+        private int[] frecuencias = new int[2];
+        private int tamanio;
+
+        private Ocurrencias(String termino) {
+            this.termino = termino;
+        }
+
+        private int agregar(int posicion, int frecuencia) {
+            if (tamanio == posiciones.length) {
+                int capacidad = tamanio + (tamanio >> 1) + 1;
+                posiciones = Arrays.copyOf(posiciones, capacidad);
+                frecuencias = Arrays.copyOf(frecuencias, capacidad);
+            }
+            posiciones[tamanio] = posicion;
+            frecuencias[tamanio] = frecuencia;
+            return tamanio++;
+        }
+
+        // Rellena el hueco con la última ocurrencia (el orden no importa al puntuar) y devuelve
+        // la posición del documento que se movió, o -1 si era la última
+        private int quitar(int lugar) {
+            tamanio--;
+            if (lugar == tamanio) {
+                return -1;
+            }
+            posiciones[lugar] = posiciones[tamanio];
+            frecuencias[lugar] = frecuencias[tamanio];
+            return posiciones[lugar];
+        }
+    }
+
+    /**
+     * Suma de puntajes por documento para consultas de varios términos. Si las ocurrencias a
+     * leer son pocas frente al índice usa una tabla hash abierta de su tamaño; si no, un
+     * arreglo denso por posición. Así una consulta por un código no paga un arreglo de un
+     * millón de entradas.
+     */
+    private static final class Acumulador {
+
+        private static final int VACIA = -1;
+
+        private final int[] claves;
+        private final float[] puntajes;
+        private final int mascara;
+        private int[] usadas = new int[16];
+        private int cantidadUsadas;
+
+        private Acumulador(long ocurrencias, int posiciones) {
+            if (ocurrencias * 4 >= posiciones) {
+                claves = null;
+                puntajes = new float[posiciones];
+                mascara = 0;
+            } else {
+                int capacidad = Integer.highestOneBit((int) ocurrencias * 2 - 1) << 1;
+                claves = new int[capacidad];
+                Arrays.fill(claves, VACIA);
+                puntajes = new float[capacidad];
+                mascara = capacidad - 1;
+            }
+        }
+
+        private void sumar(int posicion, float puntaje) {
+            int celda;
+            if (claves == null) {
+                celda = posicion;
+            } else {
+                int h = posicion * 0x9E3779B9;
+                celda = (h ^ (h >>> 16)) & mascara;
+                while (claves[celda] != VACIA && claves[celda] != posicion) {
+                    celda = (celda + 1) & mascara;
+                }
+                claves[celda] = posicion;
+            }
+            if (puntajes[celda] == 0) {
+                if (cantidadUsadas == usadas.length) {
+                    usadas = Arrays.copyOf(usadas, cantidadUsadas * 2);
+                }
+                usadas[cantidadUsadas++] = celda;
+            }
+            puntajes[celda] += puntaje;
+        }
+
+        private void volcarEn(Mejores mejores) {
+            for (int i = 0; i < cantidadUsadas; i++) {
+                int celda = usadas[i];
+                mejores.ofrecer(claves == null ? celda : claves[celda], puntajes[celda]);
+            }
+        }
+    }
+
+    /**
+     * Los {@code limite} mejores documentos en un heap de primitivos cuya raíz es el peor
+     * retenido: la mayoría de los candidatos se descarta con una sola comparación.
+     */
+    private final class Mejores {
+
+        private final int[] posiciones;
+        private final float[] puntajes;
+        private int tamanio;
+
+        private Mejores(int limite) {
+            posiciones = new int[limite];
+            puntajes = new float[limite];
+        }
+
+        private void ofrecer(int posicion, float puntaje) {
+            if (tamanio < posiciones.length) {
+                int i = tamanio++;
+                while (i > 0) {
+                    int padre = (i - 1) >>> 1;
+                    if (!peor(posicion, puntaje, posiciones[padre], puntajes[padre])) {
+                        break;
+                    }
+                    posiciones[i] = posiciones[padre];
+                    puntajes[i] = puntajes[padre];
+                    i = padre;
+                }
+                posiciones[i] = posicion;
+                puntajes[i] = puntaje;
+            } else if (peor(posiciones[0], puntajes[0], posicion, puntaje)) {
+                int i = 0;
+                while (true) {
+                    int hijo = 2 * i + 1;
+                    if (hijo >= tamanio) {
+                        break;
+                    }
+                    if (hijo + 1 < tamanio && peor(posiciones[hijo + 1], puntajes[hijo + 1], posiciones[hijo], puntajes[hijo])) {
+                        hijo++;
+                    }
+                    if (!peor(posiciones[hijo], puntajes[hijo], posicion, puntaje)) {
+                        break;
+                    }
+                    posiciones[i] = posiciones[hijo];
+                    puntajes[i] = puntajes[hijo];
+                    i = hijo;
+                }
+                posiciones[i] = posicion;
+                puntajes[i] = puntaje;
+            }
+        }
+
+        // Menor puntaje, o a igual puntaje mayor id
+        private boolean peor(int a, float puntajeA, int b, float puntajeB) {
+            return puntajeA != puntajeB ? puntajeA < puntajeB : ids[a] > ids[b];
+        }
+
+        private List<Coincidencia> ordenadas() {
+            List<Coincidencia> resultado = new ArrayList<>(tamanio);
+            for (int i = 0; i < tamanio; i++) {
+                resultado.add(new Coincidencia(ids[posiciones[i]], puntajes[i]));
+            }
+            resultado.sort(Comparator.comparingDouble(Coincidencia::puntaje).reversed()
+                    .thenComparingLong(Coincidencia::id));
+            return resultado;
+        }
+    }
+}
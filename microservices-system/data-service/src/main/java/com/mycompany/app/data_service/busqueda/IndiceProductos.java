@@ -0,0 +1,208 @@
+package com.mycompany.app.data_service.busqueda;
+
+import com.mycompany.app.data_service.dto.InventarioDTO;
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import com.mycompany.app.data_service.dto.Sugerencia;
+import com.mycompany.app.data_service.entity.Inventario;
+import com.mycompany.app.data_service.repositories.ProductoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Índices en memoria de los productos: texto (nombre y descripción) para
+ * GET /data/productos/buscar y nombres para GET /data/productos/sugerencias. Se arman una vez
+ * al iniciar, antes de que el servidor acepte requests, y después los mantienen las
+ * escrituras de productos y de stock: cada cambio se aplica al confirmarse su transacción,
+ * así un rollback no deja rastros en los índices.
+ */
+@Component
+@Slf4j
+public class IndiceProductos implements SmartInitializingSingleton {
+
+    /** Criterio de orden de las sugerencias (data.sugerencias.peso). */
+    public enum PesoSugerencia {
+        // Unidades en stock sumadas entre los productos con ese nombre: primero lo que hay
+        STOCK,
+        // Cantidad de productos con ese nombre
+        PRODUCTOS
+    }
+
+    /**
+     * Stock de un producto tal como quedó en cierta versión (@Version) de su inventario. Los
+     * cambios se aplican en afterCommit y dos transacciones pueden llegar en otro orden que el
+     * de sus commits: la versión permite descartar el más viejo. Sin inventarioId (índices
+     * recién armados, producto sin inventario) no hay con qué comparar y siempre se aplica.
+     */
+    public record Stock(Long inventarioId, long version, Integer cantidad) {
+
+        // Versión de un inventario borrado: ningún cambio suyo que llegue tarde puede superarla
+        private static final long BORRADO = Long.MAX_VALUE;
+
+        public static Stock de(Inventario inventario) {
+            return inventario == null ? new Stock(null, 0, null)
+                    : new Stock(inventario.getId(), inventario.getVersion(), inventario.getCantidad());
+        }
+
+        public static Stock de(InventarioDTO inventario) {
+            return new Stock(inventario.id(), inventario.version(), inventario.cantidad());
+        }
+
+        /** El inventario pasó a otro producto en esa versión. */
+        public static Stock retirado(Inventario inventario) {
+            return new Stock(inventario.getId(), inventario.getVersion(), 0);
+        }
+
+        public static Stock borrado(Long inventarioId) {
+            return new Stock(inventarioId, BORRADO, 0);
+        }
+
+        static Stock sinVersion(Integer cantidad) {
+            return new Stock(null, 0, cantidad);
+        }
+
+        boolean anteriorA(Stock otro) {
+            return inventarioId != null && inventarioId.equals(otro.inventarioId) && version < otro.version;
+        }
+    }
+
+    // Nombre, peso y stock con que cada producto aporta a su sugerencia, para descontarlo al cambiar
+    private record AporteSugerencia(String nombre, long peso, Stock stock) {
+    }
+
+    private final IndiceInvertido indice = new IndiceInvertido();
+    private final TrieSugerencias sugerencias;
+    private final Map<Long, AporteSugerencia> aportes = new HashMap<>();
+    private final PesoSugerencia pesoSugerencia;
+    private final ProductoRepository productoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public IndiceProductos(ProductoRepository productoRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${data.sugerencias.maximo:10}") int maximoSugerencias,
+                           @Value("${data.sugerencias.peso:stock}") PesoSugerencia pesoSugerencia) {
+        this.productoRepository = productoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.sugerencias = new TrieSugerencias(maximoSugerencias);
+        this.pesoSugerencia = pesoSugerencia;
+        Gauge.builder("data.busqueda.productos", indice, IndiceInvertido::tamanio)
+                .description("Productos en el índice de búsqueda de texto")
+                .register(meterRegistry);
+        Gauge.builder("data.busqueda.sugerencias", sugerencias, TrieSugerencias::tamanio)
+                .description("Nombres distintos en el trie de sugerencias")
+                .register(meterRegistry);
+        Gauge.builder("data.busqueda.sugerencias.nodos", sugerencias, TrieSugerencias::nodos)
+                .description("Nodos del trie de sugerencias, incluidos los que esperan la próxima compactación")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long inicio = System.nanoTime();
+        transactionTemplate.executeWithoutResult(estado -> {
+            try (Stream<ProductoDTO> productos = productoRepository.streamAllAsDTO()) {
+                productos.forEach(p -> {
+                    indice.indexar(p.id(), p.nombre(), p.descripcion());
+                    aportarSugerencia(p.id(), p.nombre(), Stock.sinVersion(p.stock()));
+                });
+            }
+        });
+        log.info("Índices de productos armados: {} productos y {} nombres en {} ms",
+                indice.tamanio(), sugerencias.tamanio(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public void indexar(Long id, String nombre, String descripcion, Stock stock) {
+        alConfirmar(() -> {
+            indice.indexar(id, nombre, descripcion);
+            aportarSugerencia(id, nombre, stock);
+        });
+    }
+
+    // Cambios de stock sin pasar por el producto (ajustes de inventario)
+    public void actualizarStock(Long id, Stock stock) {
+        alConfirmar(() -> {
+            synchronized (aportes) {
+                AporteSugerencia aporte = aportes.get(id);
+                if (aporte != null && !stock.anteriorA(aporte.stock())) {
+                    aportarSugerencia(id, aporte.nombre(), stock);
+                }
+            }
+        });
+    }
+
+    public void quitar(Long id) {
+        alConfirmar(() -> {
+            indice.quitar(id);
+            synchronized (aportes) {
+                AporteSugerencia anterior = aportes.remove(id);
+                if (anterior != null) {
+                    sugerencias.actualizar(anterior.nombre(), -anterior.peso(), -1);
+                }
+            }
+        });
+    }
+
+    public List<IndiceInvertido.Coincidencia> buscar(String consulta, int limite) {
+        return indice.buscar(consulta, limite);
+    }
+
+    public int maximoSugerencias() {
+        return sugerencias.maximo();
+    }
+
+    public List<Sugerencia> sugerir(String prefijo, int limite) {
+        String[] textos = new String[limite];
+        long[] pesos = new long[limite];
+        int cantidad = sugerencias.sugerir(prefijo, textos, pesos);
+        List<Sugerencia> resultado = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            resultado.add(new Sugerencia(textos[i], pesos[i]));
+        }
+        return resultado;
+    }
+
+    private void aportarSugerencia(Long id, String nombre, Stock stock) {
+        synchronized (aportes) {
+            AporteSugerencia actual = aportes.get(id);
+            // Un cambio del producto que llega tarde aporta su nombre pero no un stock más viejo
+            Stock vigente = actual != null && stock.anteriorA(actual.stock()) ? actual.stock() : stock;
+            long peso = switch (pesoSugerencia) {
+                case STOCK -> vigente.cantidad() != null ? vigente.cantidad() : 0;
+                case PRODUCTOS -> 1;
+            };
+            AporteSugerencia anterior = aportes.put(id, new AporteSugerencia(nombre, peso, vigente));
+            if (anterior != null) {
+                sugerencias.actualizar(anterior.nombre(), -anterior.peso(), -1);
+            }
+            sugerencias.actualizar(nombre, peso, 1);
+        }
+    }
+
+    private void alConfirmar(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package com.mycompany.app.data_service.busqueda;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Trie radix (con caminos comprimidos) de textos cortos para autocompletar, con un peso por
+ * entrada. Cada nodo guarda las {@code maximo} entradas de mayor peso de su subárbol, así
+ * {@link #sugerir} sólo recorre el prefijo y copia una lista ya ordenada.
+ * <p>
+ * Todo vive en arreglos primitivos paralelos (un índice por nodo y por entrada) y las
+ * etiquetas de las aristas son rangos de un único {@code char[]}: dos nodos como máximo por
+ * entrada y ningún objeto por nodo. Las claves se pliegan carácter por carácter (sin tildes,
+ * en minúsculas, cualquier separador es un espacio) con una tabla de todo el plano básico, para
+ * que la consulta no necesite armar un String; un par sustituto se pliega según su code point.
+ * Las búsquedas no reservan memoria: escriben en los arreglos que pasa el llamador. Los nodos
+ * que se quedan sin entrada se conservan y se reutilizan si el texto vuelve a aparecer; cuando
+ * los nodos o las etiquetas superan {@value #FACTOR_COMPACTAR} veces lo que necesitan las
+ * entradas vivas, el trie se rearma sólo con éstas.
+ */
+public class TrieSugerencias {
+
+    private static final int RAIZ = 0;
+    private static final int NINGUNO = -1;
+    // Marca combinante: no forma parte de la clave ("a" + U+0301 es "a")
+    private static final char OMITIR = '\0';
+    // Todo el plano básico (128 KB): las consultas nunca pasan por Normalizer
+    private static final char[] PLEGADOS = new char[Character.MAX_VALUE + 1];
+    private static final int FACTOR_COMPACTAR = 4;
+    // Por debajo de esto no vale la pena rearmar
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    static {
+        for (int c = 0; c < PLEGADOS.length; c++) {
+            PLEGADOS[c] = plegarSinTabla((char) c);
+        }
+    }
+
+    private final int maximo;
+    private final StampedLock lock = new StampedLock();
+
+    // Nodos: la arista que llega al nodo es etiquetas[inicio, inicio + longitud)
+    private int[] inicio;
+    private int[] longitud;
+    private int[] padre;
+    private int[] primerHijo;
+    private int[] siguienteHermano;
+    private int[] entradaDelNodo;
+    // Mejores entradas del subárbol de cada nodo, maximo por nodo, de mayor a menor peso
+    private int[] mejores;
+    private int[] cantidadMejores;
+    private int nodos;
+
+    private char[] etiquetas = new char[1024];
+    private int etiquetasUsadas;
+
+    // Entradas
+    private String[] textos;
+    private long[] pesos;
+    private int[] referencias;
+    private int[] nodoDeEntrada;
+    private int[] entradasLibres = new int[16];
+    private int cantidadEntradasLibres;
+    private int entradas;
+    // Largo de las claves de las entradas vivas: lo que ocuparían sus etiquetas en un trie nuevo
+    private int caracteresVivos;
+
+    // Cabeza y fin de la lista de cada hijo al recalcular las mejores de un nodo; sólo bajo el
+    // lock de escritura
+    private int[] cabezas = new int[64];
+    private int[] finales = new int[64];
+
+    public TrieSugerencias(int maximo) {
+        if (maximo < 1) {
+            throw new IllegalArgumentException("maximo debe ser positivo");
+        }
+        this.maximo = maximo;
+        vaciar(CAPACIDAD_INICIAL, CAPACIDAD_INICIAL, 1024);
+    }
+
+    public int maximo() {
+        return maximo;
+    }
+
+    /**
+     * Suma {@code deltaPeso} al peso del texto y {@code deltaReferencias} a la cantidad de
+     * elementos que lo usan (p.ej. productos con ese nombre). La entrada se crea con la
+     * primera referencia y se quita cuando no le quedan. Textos que sólo difieren en tildes,
+     * mayúsculas o separadores son la misma entrada y conservan la forma del primero.
+     */
+    public void actualizar(String texto, long deltaPeso, int deltaReferencias) {
+        char[] clave = plegarClave(texto);
+        if (clave.length == 0) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int nodo = insertar(clave);
+            int entrada = entradaDelNodo[nodo];
+            if (entrada == NINGUNO) {
+                if (deltaReferencias <= 0) {
+                    return;
+                }
+                entrada = nuevaEntrada(texto, nodo, clave.length);
+                entradaDelNodo[nodo] = entrada;
+            }
+            pesos[entrada] += deltaPeso;
+            referencias[entrada] += deltaReferencias;
+            if (referencias[entrada] <= 0) {
+                entradaDelNodo[nodo] = NINGUNO;
+                liberarEntrada(entrada, clave.length);
+                if (sobraEspacio()) {
+                    compactar();
+                    return;
+                }
+            }
+            for (int n = nodo; n != NINGUNO; n = padre[n]) {
+                boolean estaba = contiene(n, entrada);
+                recalcularMejores(n);
+                // Si no figura antes ni después, las listas de los ancestros no cambian
+                if (!estaba && !contiene(n, entrada)) {
+                    break;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copia en {@code textosSalida}/{@code pesosSalida} las entradas de mayor peso que empiezan
+     * con {@code prefijo} (a igual peso, en orden alfabético) y devuelve cuántas copió: como
+     * máximo {@link #maximo()} y el largo de los arreglos. Un prefijo vacío devuelve las de
+     * mayor peso de todo el trie.
+     */
+    public int sugerir(CharSequence prefijo, String[] textosSalida, long[] pesosSalida) {
+        long stamp = lock.readLock();
+        try {
+            int nodo = RAIZ;
+            int enArista = 0;
+            char anterior = ' ';
+            for (int i = 0; i < prefijo.length(); i++) {
+                char c = plegar(prefijo, i);
+                // Separadores al comienzo o repetidos no cuentan, igual que en las claves
+                if (c == OMITIR || (c == ' ' && anterior == ' ')) {
+                    continue;
+                }
+                anterior = c;
+                if (enArista == longitud[nodo]) {
+                    nodo = hijo(nodo, c);
+                    if (nodo == NINGUNO) {
+                        return 0;
+                    }
+                    enArista = 1;
+                } else if (etiquetas[inicio[nodo] + enArista] == c) {
+                    enArista++;
+                } else {
+                    return 0;
+                }
+            }
+            int cantidad = Math.min(cantidadMejores[nodo], Math.min(textosSalida.length, pesosSalida.length));
+            int base = nodo * maximo;
+            for (int i = 0; i < cantidad; i++) {
+                int entrada = mejores[base + i];
+                textosSalida[i] = textos[entrada];
+                pesosSalida[i] = pesos[entrada];
+            }
+            return cantidad;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int tamanio() {
+        long stamp = lock.readLock();
+        try {
+            return entradas - cantidadEntradasLibres;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Nodos del trie, incluidos los que quedaron sin entrada hasta la próxima compactación. */
+    public int nodos() {
+        long stamp = lock.readLock();
+        try {
+            return nodos;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ---- Plegado ----
+
+    // Un par sustituto se pliega como su code point: si es letra o dígito quedan sus dos mitades
+    // (en minúsculas); si no, es un único separador. Un sustituto suelto es un separador
+    static char plegar(CharSequence texto, int i) {
+        char c = texto.charAt(i);
+        if (!Character.isSurrogate(c)) {
+            return PLEGADOS[c];
+        }
+        if (Character.isHighSurrogate(c) && i + 1 < texto.length() && Character.isLowSurrogate(texto.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, texto.charAt(i + 1));
+            return Character.isLetterOrDigit(codePoint)
+                    ? Character.highSurrogate(Character.toLowerCase(codePoint)) : ' ';
+        }
+        if (Character.isLowSurrogate(c) && i > 0 && Character.isHighSurrogate(texto.charAt(i - 1))) {
+            int codePoint = Character.toCodePoint(texto.charAt(i - 1), c);
+            return Character.isLetterOrDigit(codePoint)
+                    ? Character.lowSurrogate(Character.toLowerCase(codePoint)) : OMITIR;
+        }
+        return ' ';
+    }
+
+    private static char plegarSinTabla(char c) {
+        if (Character.getType(c) == Character.NON_SPACING_MARK) {
+            return OMITIR;
+        }
+        if (!Character.isLetterOrDigit(c)) {
+            return ' ';
+        }
+        // Primera letra de la descomposición: "á" → "a", "ñ" → "n"
+        char base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+        return Character.toLowerCase(base);
+    }
+
+    // Misma regla que sugerir: sin separadores al comienzo, repetidos ni al final
+    private static char[] plegarClave(String texto) {
+        if (texto == null) {
+            return new char[0];
+        }
+        char[] clave = new char[texto.length()];
+        int largo = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = plegar(texto, i);
+            if (c == OMITIR || (c == ' ' && (largo == 0 || clave[largo - 1] == ' '))) {
+                continue;
+            }
+            clave[largo++] = c;
+        }
+        if (largo > 0 && clave[largo - 1] == ' ') {
+            largo--;
+        }
+        return Arrays.copyOf(clave, largo);
+    }
+
+    // ---- Estructura ----
+
+    private void vaciar(int capacidadNodos, int capacidadEntradas, int capacidadEtiquetas) {
+        inicio = new int[capacidadNodos];
+        longitud = new int[capacidadNodos];
+        padre = new int[capacidadNodos];
+        primerHijo = new int[capacidadNodos];
+        siguienteHermano = new int[capacidadNodos];
+        entradaDelNodo = new int[capacidadNodos];
+        mejores = new int[capacidadNodos * maximo];
+        cantidadMejores = new int[capacidadNodos];
+        nodos = 0;
+        etiquetas = new char[capacidadEtiquetas];
+        etiquetasUsadas = 0;
+        textos = new String[capacidadEntradas];
+        pesos = new long[capacidadEntradas];
+        referencias = new int[capacidadEntradas];
+        nodoDeEntrada = new int[capacidadEntradas];
+        cantidadEntradasLibres = 0;
+        entradas = 0;
+        caracteresVivos = 0;
+        nuevoNodo(NINGUNO, 0, 0);
+    }
+
+    // Cada entrada viva necesita a lo sumo dos nodos (su hoja y la partición de una arista)
+    private boolean sobraEspacio() {
+        int vivas = entradas - cantidadEntradasLibres;
+        return nodos > CAPACIDAD_INICIAL && nodos > FACTOR_COMPACTAR * (2 * vivas + 1)
+                || etiquetasUsadas > CAPACIDAD_INICIAL && etiquetasUsadas > FACTOR_COMPACTAR * caracteresVivos;
+    }
+
+    // Rearma el trie sólo con las entradas vivas, con sus textos, pesos y referencias. Como hace
+    // falta que se libere FACTOR_COMPACTAR veces lo que queda, el costo se reparte entre las bajas
+    private void compactar() {
+        int vivas = entradas - cantidadEntradasLibres;
+        String[] textosVivos = new String[vivas];
+        long[] pesosVivos = new long[vivas];
+        int[] referenciasVivas = new int[vivas];
+        int n = 0;
+        for (int e = 0; e < entradas; e++) {
+            if (textos[e] != null) {
+                textosVivos[n] = textos[e];
+                pesosVivos[n] = pesos[e];
+                referenciasVivas[n] = referencias[e];
+                n++;
+            }
+        }
+        int capacidad = Math.max(CAPACIDAD_INICIAL, 2 * vivas + 1);
+        vaciar(capacidad, Math.max(CAPACIDAD_INICIAL, vivas), Math.max(1024, caracteresVivos));
+        for (int i = 0; i < vivas; i++) {
+            char[] clave = plegarClave(textosVivos[i]);
+            int nodo = insertar(clave);
+            int entrada = nuevaEntrada(textosVivos[i], nodo, clave.length);
+            entradaDelNodo[nodo] = entrada;
+            pesos[entrada] = pesosVivos[i];
+            referencias[entrada] = referenciasVivas[i];
+        }
+        // Orden previo (cada padre antes que sus hijos) recorrido al revés: los hijos ya tienen
+        // sus mejores cuando se mezclan en las del padre
+        int[] orden = new int[nodos];
+        int[] pila = new int[nodos];
+        int enPila = 0;
+        int ordenados = 0;
+        pila[enPila++] = RAIZ;
+        while (enPila > 0) {
+            int nodo = pila[--enPila];
+            orden[ordenados++] = nodo;
+            for (int h = primerHijo[nodo]; h != NINGUNO; h = siguienteHermano[h]) {
+                pila[enPila++] = h;
+            }
+        }
+        for (int i = ordenados - 1; i >= 0; i--) {
+            recalcularMejores(orden[i]);
+        }
+    }
+
+    private int hijo(int nodo, char primero) {
+        for (int h = primerHijo[nodo]; h != NINGUNO; h = siguienteHermano[h]) {
+            if (etiquetas[inicio[h]] == primero) {
+                return h;
+            }
+        }
+        return NINGUNO;
+    }
+
+    // Nodo terminal de la clave, creándolo (y partiendo una arista) si hace falta
+    private int insertar(char[] clave) {
+        int nodo = RAIZ;
+        int i = 0;
+        while (i < clave.length) {
+            int h = hijo(nodo, clave[i]);
+            if (h == NINGUNO) {
+                int hoja = nuevoNodo(nodo, agregarEtiqueta(clave, i), clave.length - i);
+                return hoja;
+            }
+            int comunes = 0;
+            while (comunes < longitud[h] && i + comunes < clave.length
+                    && etiquetas[inicio[h] + comunes] == clave[i + comunes]) {
+                comunes++;
+            }
+            if (comunes < longitud[h]) {
+                h = partir(h, comunes);
+            }
+            nodo = h;
+            i += comunes;
+        }
+        return nodo;
+    }
+
+    // Inserta un nodo intermedio con los primeros caracteres de la arista de nodo
+    private int partir(int nodo, int caracteres) {
+        int arriba = padre[nodo];
+        int intermedio = nuevoNodo(arriba, inicio[nodo], caracteres);
+        // nuevoNodo lo agregó como primer hijo de arriba: se saca a nodo de esa lista
+        for (int h = intermedio; h != NINGUNO; h = siguienteHermano[h]) {
+            if (siguienteHermano[h] == nodo) {
+                siguienteHermano[h] = siguienteHermano[nodo];
+                break;
+            }
+        }
+        padre[nodo] = intermedio;
+        inicio[nodo] += caracteres;
+        longitud[nodo] -= caracteres;
+        siguienteHermano[nodo] = NINGUNO;
+        primerHijo[intermedio] = nodo;
+        // Mismo subárbol, mismas mejores entradas
+        System.arraycopy(mejores, nodo * maximo, mejores, intermedio * maximo, cantidadMejores[nodo]);
+        cantidadMejores[intermedio] = cantidadMejores[nodo];
+        return intermedio;
+    }
+
+    private int nuevoNodo(int padreDelNodo, int inicioEtiqueta, int longitudEtiqueta) {
+        if (nodos == inicio.length) {
+            int capacidad = nodos * 2;
+            inicio = Arrays.copyOf(inicio, capacidad);
+            longitud = Arrays.copyOf(longitud, capacidad);
+            padre = Arrays.copyOf(padre, capacidad);
+            primerHijo = Arrays.copyOf(primerHijo, capacidad);
+            siguienteHermano = Arrays.copyOf(siguienteHermano, capacidad);
+            entradaDelNodo = Arrays.copyOf(entradaDelNodo, capacidad);
+            mejores = Arrays.copyOf(mejores, capacidad * maximo);
+            cantidadMejores = Arrays.copyOf(cantidadMejores, capacidad);
+        }
+        int nodo = nodos++;
+        inicio[nodo] = inicioEtiqueta;
+        longitud[nodo] = longitudEtiqueta;
+        padre[nodo] = padreDelNodo;
+        primerHijo[nodo] = NINGUNO;
+        entradaDelNodo[nodo] = NINGUNO;
+        cantidadMejores[nodo] = 0;
+        siguienteHermano[nodo] = NINGUNO;
+        if (padreDelNodo != NINGUNO) {
+            siguienteHermano[nodo] = primerHijo[padreDelNodo];
+            primerHijo[padreDelNodo] = nodo;
+        }
+        return nodo;
+    }
+
+    private int agregarEtiqueta(char[] clave, int desde) {
+        int largo = clave.length - desde;
+        if (etiquetasUsadas + largo > etiquetas.length) {
+            etiquetas = Arrays.copyOf(etiquetas, Math.max(etiquetas.length * 2, etiquetasUsadas + largo));
+        }
+        System.arraycopy(clave, desde, etiquetas, etiquetasUsadas, largo);
+        int posicion = etiquetasUsadas;
+        etiquetasUsadas += largo;
+        return posicion;
+    }
+
+    private int nuevaEntrada(String texto, int nodo, int largoClave) {
+        int entrada;
+        if (cantidadEntradasLibres > 0) {
+            entrada = entradasLibres[--cantidadEntradasLibres];
+        } else {
+            if (entradas == textos.length) {
+                int capacidad = entradas * 2;
+                textos = Arrays.copyOf(textos, capacidad);
+                pesos = Arrays.copyOf(pesos, capacidad);
+                referencias = Arrays.copyOf(referencias, capacidad);
+                nodoDeEntrada = Arrays.copyOf(nodoDeEntrada, capacidad);
+            }
+            entrada = entradas++;
+        }
+        textos[entrada] = texto.strip();
+        pesos[entrada] = 0;
+        referencias[entrada] = 0;
+        nodoDeEntrada[entrada] = nodo;
+        caracteresVivos += largoClave;
+        return entrada;
+    }
+
+    private void liberarEntrada(int entrada, int largoClave) {
+        textos[entrada] = null;
+        caracteresVivos -= largoClave;
+        nodoDeEntrada[entrada] = NINGUNO;
+        if (cantidadEntradasLibres == entradasLibres.length) {
+            entradasLibres = Arrays.copyOf(entradasLibres, cantidadEntradasLibres * 2);
+        }
+        entradasLibres[cantidadEntradasLibres++] = entrada;
+    }
+
+    // Las mejores de un nodo salen de su propia entrada y de las mejores de cada hijo: como
+    // esas listas ya están ordenadas, se mezclan tomando cada vez la mejor de las cabezas
+    private void recalcularMejores(int nodo) {
+        int listas = 0;
+        for (int h = primerHijo[nodo]; h != NINGUNO; h = siguienteHermano[h]) {
+            if (cantidadMejores[h] == 0) {
+                continue;
+            }
+            if (listas == cabezas.length) {
+                cabezas = Arrays.copyOf(cabezas, listas * 2);
+                finales = Arrays.copyOf(finales, listas * 2);
+            }
+            cabezas[listas] = h * maximo;
+            finales[listas] = h * maximo + cantidadMejores[h];
+            listas++;
+        }
+        int propia = entradaDelNodo[nodo];
+        int base = nodo * maximo;
+        int elegidos = 0;
+        while (elegidos < maximo) {
+            int mejor = propia;
+            int listaDelMejor = NINGUNO;
+            for (int l = 0; l < listas; l++) {
+                if (cabezas[l] < finales[l]) {
+                    int candidato = mejores[cabezas[l]];
+                    if (mejor == NINGUNO || antes(candidato, mejor)) {
+                        mejor = candidato;
+                        listaDelMejor = l;
+                    }
+                }
+            }
+            if (mejor == NINGUNO) {
+                break;
+            }
+            if (listaDelMejor == NINGUNO) {
+                propia = NINGUNO;
+            } else {
+                cabezas[listaDelMejor]++;
+            }
+            mejores[base + elegidos++] = mejor;
+        }
+        cantidadMejores[nodo] = elegidos;
+    }
+
+    private boolean contiene(int nodo, int entrada) {
+        int base = nodo * maximo;
+        for (int i = 0; i < cantidadMejores[nodo]; i++) {
+            if (mejores[base + i] == entrada) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean antes(int a, int b) {
+        if (pesos[a] != pesos[b]) {
+            return pesos[a] > pesos[b];
+        }
+        return textos[a].compareToIgnoreCase(textos[b]) < 0;
+    }
+}
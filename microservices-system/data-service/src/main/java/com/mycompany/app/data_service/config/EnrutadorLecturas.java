@@ -0,0 +1,281 @@
+package com.mycompany.app.data_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * Reparte las conexiones entre la base primaria y sus réplicas de lectura. Como listener del
+ * transaction manager sabe, al comenzar cada transacción, si es readOnly: la conexión que se
+ * pide mientras comienza (JPA la toma ahí) sale de una réplica en ese caso y de la primaria en
+ * cualquier otro, incluidos los accesos fuera de una transacción.
+ *
+ * <p>Una lectura va a la primaria si su mismo llamador confirmó una escritura hace menos de
+ * {@code retrasoMaximo}, si ninguna réplica está disponible con un retraso menor a ese, o si
+ * la réplica elegida no entrega la conexión (queda afuera hasta la próxima verificación). Como
+ * ninguna réplica elegible atrasa más que la ventana posterior a una escritura, quien acaba de
+ * escribir lee lo que escribió, con la precisión de la última medición; las escrituras de otros
+ * llamadores no desvían sus lecturas. El llamador es la sesión abierta con {@link #abrirSesion}
+ * (una request, ver {@link LecturaPropiaInterceptor}) o, fuera de una sesión, el hilo. El retraso se mide
+ * cada {@code intervaloVerificacion} con la consulta de cada réplica (milisegundos); una
+ * réplica sin consulta se considera al día mientras responda.
+ *
+ * <p>La sesión de Hibernate de una transacción que lee de una réplica usa
+ * {@link CacheMode#IGNORE}: no usa las cachés de segundo nivel y de consultas. Lo
+ * leído de una réplica atrasada quedaría en cachés compartidas con un sello posterior a la
+ * escritura que invalidó la región, y todos (también quien escribió) lo verían hasta su TTL.
+ */
+@Slf4j
+public class EnrutadorLecturas implements TransactionExecutionListener, AutoCloseable {
+
+    /** Réplica de lectura y la consulta que devuelve su retraso en milisegundos (null: ninguna). */
+    public record Replica(String nombre, DataSource dataSource, @Nullable String consultaRetraso) {
+    }
+
+    // Retraso de una réplica sin medir todavía o que no respondió
+    private static final long NO_DISPONIBLE = Long.MAX_VALUE;
+
+    private final DataSource primaria;
+    private final List<Replica> replicas;
+    private final long retrasoMaximoMs;
+    private final AtomicLongArray retrasos;
+    private final AtomicInteger turno = new AtomicInteger();
+    private final DataSource dataSource = new DataSourceEnrutado();
+    // Marca del hilo que está comenzando una transacción readOnly
+    private final ThreadLocal<Boolean> comenzandoLectura = new ThreadLocal<>();
+    // La transacción que está comenzando tomó su conexión de una réplica
+    private final ThreadLocal<Boolean> comenzoEnReplica = new ThreadLocal<>();
+
+    // Última escritura confirmada del llamador en curso; fuera de una sesión, la del hilo
+    private final ThreadLocal<Sesion> sesion = ThreadLocal.withInitial(() -> new Sesion(0, escritura -> {
+    }));
+
+    private final ScheduledExecutorService verificacion = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+            .name("replicas-verificacion").daemon(true).factory());
+
+    private final Counter[] lecturasPorReplica;
+    private final Counter primariaPorEscritura;
+    private final Counter primariaSinReplicas;
+
+    public EnrutadorLecturas(DataSource primaria, List<Replica> replicas, Duration retrasoMaximo,
+                             Duration intervaloVerificacion, MeterRegistry meterRegistry) {
+        this.primaria = primaria;
+        this.replicas = List.copyOf(replicas);
+        this.retrasoMaximoMs = retrasoMaximo.toMillis();
+        this.retrasos = new AtomicLongArray(this.replicas.size());
+        this.lecturasPorReplica = new Counter[this.replicas.size()];
+        for (int i = 0; i < this.replicas.size(); i++) {
+            int indice = i;
+            String nombre = this.replicas.get(i).nombre();
+            retrasos.set(i, NO_DISPONIBLE);
+            Gauge.builder("data.datasource.replica.retraso", this, e -> e.retrasoMs(indice))
+                    .description("Retraso medido de la réplica de lectura (NaN: no disponible)")
+                    .baseUnit("milliseconds")
+                    .tag("replica", nombre)
+                    .register(meterRegistry);
+            lecturasPorReplica[i] = lecturas(meterRegistry, nombre, "replica");
+        }
+        this.primariaPorEscritura = lecturas(meterRegistry, "primaria", "escritura-reciente");
+        this.primariaSinReplicas = lecturas(meterRegistry, "primaria", "sin-replica-al-dia");
+
+        // Hasta la primera medición las lecturas van a la primaria
+        verificacion.scheduleWithFixedDelay(this::verificarReplicas, 0,
+                intervaloVerificacion.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static Counter lecturas(MeterRegistry meterRegistry, String destino, String motivo) {
+        return Counter.builder("data.datasource.lecturas")
+                .description("Conexiones entregadas a transacciones readOnly")
+                .tag("destino", destino)
+                .tag("motivo", motivo)
+                .register(meterRegistry);
+    }
+
+    /** DataSource de la aplicación: réplica para las transacciones readOnly, primaria para el resto. */
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        if (transaction.isReadOnly()) {
+            comenzandoLectura.set(Boolean.TRUE);
+        }
+    }
+
+    // Una transacción que participa de otra no pasa por acá: usa la conexión de la exterior
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        comenzandoLectura.remove();
+        if (comenzoEnReplica.get() != null) {
+            comenzoEnReplica.remove();
+            if (beginFailure == null) {
+                sinLlenarCaches();
+            }
+        }
+    }
+
+    // JpaTransactionManager ya ligó al hilo el EntityManager de la transacción. IGNORE y no GET:
+    // con GET, Hibernate 6.6 igual guarda en la caché de consultas el resultado de un fallo
+    private static void sinLlenarCaches() {
+        for (Object recurso : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (recurso instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            }
+        }
+    }
+
+    // Aunque el commit haya fallado: no se sabe si llegó a aplicarse
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (!transaction.isReadOnly()) {
+            Sesion actual = sesion.get();
+            actual.ultimaEscrituraMillis = System.currentTimeMillis();
+            actual.alEscribir.accept(actual.ultimaEscrituraMillis);
+        }
+    }
+
+    /**
+     * Comienza, en este hilo, las lecturas de un llamador cuya última escritura fue en
+     * {@code ultimaEscrituraMillis} (epoch; 0 si no se conoce). Cada escritura que confirme se
+     * informa a {@code alEscribir} para que el llamador la presente en sus próximas requests.
+     */
+    public void abrirSesion(long ultimaEscrituraMillis, LongConsumer alEscribir) {
+        sesion.set(new Sesion(ultimaEscrituraMillis, alEscribir));
+    }
+
+    public void cerrarSesion() {
+        sesion.remove();
+    }
+
+    void verificarReplicas() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            long anterior = retrasos.get(i);
+            long medido = medirRetraso(replica);
+            retrasos.set(i, medido);
+            if (medido > retrasoMaximoMs && anterior <= retrasoMaximoMs) {
+                log.warn("Réplica {} fuera de las lecturas: retraso {}", replica.nombre(),
+                        medido == NO_DISPONIBLE ? "desconocido" : medido + " ms");
+            } else if (medido <= retrasoMaximoMs && anterior > retrasoMaximoMs) {
+                log.info("Réplica {} recibe lecturas: retraso {} ms", replica.nombre(), medido);
+            }
+        }
+    }
+
+    private long medirRetraso(Replica replica) {
+        try (Connection conexion = replica.dataSource().getConnection()) {
+            if (replica.consultaRetraso() == null) {
+                return conexion.isValid(5) ? 0 : NO_DISPONIBLE;
+            }
+            try (Statement sentencia = conexion.createStatement();
+                 ResultSet resultado = sentencia.executeQuery(replica.consultaRetraso())) {
+                return resultado.next() ? Math.max(0, resultado.getLong(1)) : NO_DISPONIBLE;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("No se pudo medir el retraso de la réplica {}: {}", replica.nombre(), e.getMessage());
+            return NO_DISPONIBLE;
+        }
+    }
+
+    private double retrasoMs(int indice) {
+        long retraso = retrasos.get(indice);
+        return retraso == NO_DISPONIBLE ? Double.NaN : retraso;
+    }
+
+    // Una marca en el futuro más allá de la ventana no es de este sistema: se ignora
+    private boolean escrituraReciente() {
+        long ultima = sesion.get().ultimaEscrituraMillis;
+        long transcurrido = System.currentTimeMillis() - ultima;
+        return ultima != 0 && transcurrido < retrasoMaximoMs && transcurrido > -retrasoMaximoMs;
+    }
+
+    private Connection conexionDeLectura() throws SQLException {
+        if (escrituraReciente()) {
+            primariaPorEscritura.increment();
+            return primaria.getConnection();
+        }
+        int cantidad = replicas.size();
+        int desde = Math.floorMod(turno.getAndIncrement(), cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int indice = (desde + i) % cantidad;
+            if (retrasos.get(indice) > retrasoMaximoMs) {
+                continue;
+            }
+            try {
+                Connection conexion = replicas.get(indice).dataSource().getConnection();
+                lecturasPorReplica[indice].increment();
+                comenzoEnReplica.set(Boolean.TRUE);
+                return conexion;
+            } catch (SQLException e) {
+                log.warn("Réplica {} sin conexión, fuera de las lecturas hasta la próxima verificación: {}",
+                        replicas.get(indice).nombre(), e.getMessage());
+                retrasos.set(indice, NO_DISPONIBLE);
+            }
+        }
+        primariaSinReplicas.increment();
+        return primaria.getConnection();
+    }
+
+    // Cierra también los pools: el enrutador es su único dueño
+    @Override
+    public void close() throws Exception {
+        verificacion.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+        if (primaria instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private static final class Sesion {
+        private final LongConsumer alEscribir;
+        private long ultimaEscrituraMillis;
+
+        private Sesion(long ultimaEscrituraMillis, LongConsumer alEscribir) {
+            this.ultimaEscrituraMillis = ultimaEscrituraMillis;
+            this.alEscribir = alEscribir;
+        }
+    }
+
+    private class DataSourceEnrutado extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return comenzandoLectura.get() != null ? conexionDeLectura() : primaria.getConnection();
+        }
+
+        // Las credenciales salen de la configuración de cada base
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("El DataSource enrutado no acepta credenciales por conexión");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.mycompany.app.data_service.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Respuestas en Smile (JSON binario) para quien las pida con
+ * {@code Accept: application/x-jackson-smile}, es decir business-service. Sin ese Accept se
+ * sigue respondiendo JSON: el convertidor queda detrás del de JSON en la lista.
+ */
+@Configuration
+public class FormatoBinarioConfig {
+
+    // Construido con el builder de Boot para que spring.jackson.* y los módulos registrados
+    // apliquen igual que en JSON; reemplaza al convertidor Smile por defecto de Spring MVC
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,59 @@
+package com.mycompany.app.data_service.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Lectura propia por llamador: cada request abre una sesión de {@link EnrutadorLecturas} con
+ * la marca que trae en {@value #CABECERA} (epoch en milisegundos de su última escritura) y, si
+ * confirma una escritura, responde con la marca nueva en la misma cabecera. El llamador la
+ * reenvía en sus requests siguientes y, mientras dure la ventana, esas lecturas van a la
+ * primaria; las de quien no presenta una marca reciente siguen yendo a las réplicas.
+ */
+public class LecturaPropiaInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String CABECERA = "X-Ultima-Escritura";
+
+    private final EnrutadorLecturas enrutador;
+
+    public LecturaPropiaInterceptor(EnrutadorLecturas enrutador) {
+        this.enrutador = enrutador;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Las escrituras se confirman dentro del handler, antes de que se envíe la respuesta
+        enrutador.abrirSesion(marca(request.getHeader(CABECERA)), escritura -> {
+            if (!response.isCommitted()) {
+                response.setHeader(CABECERA, Long.toString(escritura));
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        enrutador.cerrarSesion();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                @Nullable Exception ex) {
+        enrutador.cerrarSesion();
+    }
+
+    // Una marca ilegible cuenta como ausente
+    private static long marca(@Nullable String valor) {
+        if (valor == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.mycompany.app.data_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Métricas de acceso a datos además de las que Boot ya publica (hibernate.*, hikaricp.*,
+ * spring.data.repository.invocations): sentencias por método de repositorio, sentencias y
+ * tiempo en la base por request HTTP (con log de sentencias lentas) y ejecuciones por
+ * consulta HQL/JPQL ({@code hibernate.query.*}, tag query).
+ */
+@Configuration
+public class MetricasPersistenciaConfig {
+
+    @Bean
+    public SentenciasPorRepositorio sentenciasPorRepositorio(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SentenciasPorRepositorio(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sentenciasPorRepositorioInspector(SentenciasPorRepositorio sentencias) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sentencias);
+    }
+
+    // Estático: los BeanPostProcessor se crean antes que el resto de los beans
+    @Bean
+    public static BeanPostProcessor sentenciasPorRepositorioPostProcessor(
+            ObjectProvider<SentenciasPorRepositorio> sentencias) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositorio) {
+                    repositorio.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, informacion) -> proxy.addAdvice(
+                                    sentencias.getObject().interceptor(informacion.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // datasource-micrometer agrega los QueryExecutionListener del contexto a su proxy JDBC
+    @Bean
+    public SentenciasPorRequest sentenciasPorRequest(ObjectProvider<MeterRegistry> meterRegistry,
+                                                     ApplicationEventPublisher eventos,
+                                                     @Value("${data.sql.umbral-lenta:200ms}") Duration umbralLenta) {
+        return new SentenciasPorRequest(meterRegistry, eventos, umbralLenta);
+    }
+
+    @Bean
+    public WebMvcConfigurer sentenciasPorRequestInterceptor(SentenciasPorRequest sentencias) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(sentencias).addPathPatterns("/data/**");
+            }
+        };
+    }
+
+    // Sale de las estadísticas de Hibernate: sin ellas no hay nada que publicar
+    @Bean
+    @ConditionalOnProperty(name = "data.metricas.hibernate-estadisticas", havingValue = "true")
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> new HibernateQueryMetrics(entityManagerFactory.unwrap(SessionFactory.class),
+                "entityManagerFactory", List.of()).bindTo(registry);
+    }
+}
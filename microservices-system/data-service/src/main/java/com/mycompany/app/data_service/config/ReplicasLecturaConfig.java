@@ -0,0 +1,95 @@
+package com.mycompany.app.data_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura (data.datasource.replicas): reemplaza el DataSource de Boot por uno que
+ * manda las transacciones readOnly a las réplicas a través de {@link EnrutadorLecturas}, con
+ * lectura propia por llamador ({@link LecturaPropiaInterceptor}). La primaria se sigue
+ * configurando con spring.datasource.*; sin réplicas configuradas esta configuración no se
+ * aplica y todo queda como antes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "data.datasource.replicas[0]", name = "url")
+public class ReplicasLecturaConfig {
+
+    // data.datasource.replicas[i]; el pool de cada una se ajusta con data.datasource.replicas[i].hikari.*
+    record PropiedadesReplica(String url, String username, String password, String consultaRetraso) {
+    }
+
+    @Bean(destroyMethod = "close")
+    public EnrutadorLecturas enrutadorLecturas(
+            DataSourceProperties propiedadesPrimaria,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${data.datasource.retraso-maximo:1s}") Duration retrasoMaximo,
+            @Value("${data.datasource.intervalo-verificacion:5s}") Duration intervaloVerificacion) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primaria = propiedadesPrimaria.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+        if (primaria.getPoolName() == null) {
+            primaria.setPoolName("primaria");
+        }
+
+        List<PropiedadesReplica> configuradas = binder.bind("data.datasource.replicas",
+                Bindable.listOf(PropiedadesReplica.class)).orElse(List.of());
+        List<EnrutadorLecturas.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < configuradas.size(); i++) {
+            PropiedadesReplica propiedades = configuradas.get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(propiedades.url())
+                    .username(propiedades.username())
+                    .password(propiedades.password())
+                    .build();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setReadOnly(true);
+            // Una réplica caída no impide arrancar: queda fuera de las lecturas hasta que responda
+            pool.setInitializationFailTimeout(-1);
+            binder.bind("data.datasource.replicas[" + i + "].hikari", Bindable.ofInstance(pool));
+            // Los pools de las réplicas no son beans: sus métricas hikaricp.* se registran acá
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new EnrutadorLecturas.Replica(pool.getPoolName(), pool, propiedades.consultaRetraso()));
+        }
+        return new EnrutadorLecturas(primaria, replicas, retrasoMaximo, intervaloVerificacion, meterRegistry);
+    }
+
+    // Sólo en los endpoints de datos; actuator no escribe
+    @Bean
+    public WebMvcConfigurer lecturaPropiaInterceptor(EnrutadorLecturas enrutadorLecturas) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new LecturaPropiaInterceptor(enrutadorLecturas)).addPathPatterns("/data/**");
+            }
+        };
+    }
+
+    // Único DataSource del contexto. El enrutador también es un TransactionExecutionListener:
+    // Boot lo registra en el transaction manager, que le avisa qué transacciones son readOnly
+    @Bean
+    public DataSource dataSource(EnrutadorLecturas enrutadorLecturas) {
+        return enrutadorLecturas.dataSource();
+    }
+}
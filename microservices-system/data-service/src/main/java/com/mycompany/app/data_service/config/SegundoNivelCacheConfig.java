@@ -0,0 +1,88 @@
+package com.mycompany.app.data_service.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Regiones de la caché de segundo nivel de Hibernate (JCache con Caffeine). Cada una se crea
+ * con su tope de entradas y TTL configurados en data.cache.regiones.*. Cada región lleva sus
+ * estadísticas JCache, publicadas como {@code cache.gets} (tags cache y result hit/miss),
+ * {@code cache.puts}, {@code cache.removals} y {@code cache.evictions}; no dependen de
+ * data.metricas.hibernate-estadisticas. La caché de consultas es la región
+ * {@value #REGION_CONSULTAS}.
+ */
+@Configuration
+public class SegundoNivelCacheConfig {
+
+    static final String REGION_CATEGORIAS = "categorias";
+    static final String REGION_PRODUCTOS = "productos";
+    // Nombres por defecto de Hibernate para la caché de consultas y sus marcas de tiempo
+    static final String REGION_CONSULTAS = "default-query-results-region";
+    static final String REGION_TIMESTAMPS = "default-update-timestamps-region";
+
+    // Un CacheManager propio por contexto: dos contextos de Spring (p.ej. en tests) no
+    // comparten regiones ni soft locks
+    @Bean(destroyMethod = "close")
+    public CacheManager segundoNivelCacheManager(
+            @Value("${data.cache.regiones.categorias.tamanio-maximo:1000}") long tamanioCategorias,
+            @Value("${data.cache.regiones.categorias.ttl:1h}") Duration ttlCategorias,
+            @Value("${data.cache.regiones.productos.tamanio-maximo:10000}") long tamanioProductos,
+            @Value("${data.cache.regiones.productos.ttl:10m}") Duration ttlProductos,
+            @Value("${data.cache.regiones.consultas.tamanio-maximo:1000}") long tamanioConsultas,
+            @Value("${data.cache.regiones.consultas.ttl:10m}") Duration ttlConsultas) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("data-service:" + UUID.randomUUID()),
+                        SegundoNivelCacheConfig.class.getClassLoader(), new Properties());
+        cacheManager.createCache(REGION_CATEGORIAS, region(tamanioCategorias, ttlCategorias));
+        cacheManager.createCache(REGION_PRODUCTOS, region(tamanioProductos, ttlProductos));
+        cacheManager.createCache(REGION_CONSULTAS, region(tamanioConsultas, ttlConsultas));
+        // Sin tope ni vencimiento: si se desalojara una marca, la caché de consultas podría
+        // devolver resultados anteriores a una escritura
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(REGION_TIMESTAMPS, timestamps);
+        return cacheManager;
+    }
+
+    // JCacheMetrics lee las estadísticas que cada región publica por JMX
+    @Bean
+    public MeterBinder segundoNivelCacheMetrics(CacheManager segundoNivelCacheManager) {
+        return registry -> {
+            for (String region : segundoNivelCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, segundoNivelCacheManager.getCache(region));
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long tamanioMaximo, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        configuracion.setMaximumSize(OptionalLong.of(tamanioMaximo));
+        configuracion.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuracion.setStatisticsEnabled(true);
+        return configuracion;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer segundoNivelCacheCustomizer(CacheManager segundoNivelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, segundoNivelCacheManager);
+            // Las regiones se crean arriba; una región sin configurar es un error de mapeo
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
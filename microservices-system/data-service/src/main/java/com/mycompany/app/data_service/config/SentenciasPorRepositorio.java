@@ -0,0 +1,58 @@
+package com.mycompany.app.data_service.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Cuenta las sentencias SQL que prepara Hibernate durante cada método de repositorio y las
+ * publica como {@code data.repository.sentencias} (tags repository y method): count es la
+ * cantidad de invocaciones y sum el total de sentencias, así un N+1 se ve como un promedio
+ * alto. Las escrituras que Hibernate difiere hasta el flush del commit ocurren fuera del
+ * método y no se atribuyen; el total global está en hibernate.statements.
+ */
+public class SentenciasPorRepositorio implements StatementInspector {
+
+    private static final ThreadLocal<int[]> EN_CURSO = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SentenciasPorRepositorio(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = EN_CURSO.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+
+    /** Advice para el proxy del repositorio {@code repositorio}. */
+    public MethodInterceptor interceptor(Class<?> repositorio) {
+        return invocation -> {
+            int[] anterior = EN_CURSO.get();
+            int[] contador = {0};
+            EN_CURSO.set(contador);
+            try {
+                return invocation.proceed();
+            } finally {
+                EN_CURSO.set(anterior);
+                if (anterior != null) {
+                    // Un método que delega en otro del repositorio también carga con sus sentencias
+                    anterior[0] += contador[0];
+                }
+                DistributionSummary.builder("data.repository.sentencias")
+                        .description("Sentencias SQL preparadas por invocación de método de repositorio")
+                        .tag("repository", repositorio.getSimpleName())
+                        .tag("method", invocation.getMethod().getName())
+                        .register(meterRegistry.getObject())
+                        .record(contador[0]);
+            }
+        };
+    }
+}
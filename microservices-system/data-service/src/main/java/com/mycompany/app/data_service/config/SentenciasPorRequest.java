@@ -0,0 +1,160 @@
+package com.mycompany.app.data_service.config;
+
+import com.mycompany.app.data_service.controller.PresupuestoSql;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cuenta y mide a nivel JDBC las sentencias de cada request HTTP. Como QueryExecutionListener
+ * se engancha en el proxy de datasource-micrometer; como interceptor de Spring MVC abre la
+ * cuenta de cada request y al terminar la atribuye a su endpoint (método y patrón de URI, como
+ * http.server.requests): {@code data.http.sentencias} (count = requests, sum = sentencias) y
+ * {@code data.http.sentencias.tiempo} (tiempo total en la base). Un batch cuenta como una
+ * sentencia. Las sentencias de un cuerpo asíncrono (la exportación NDJSON) corren en otro
+ * hilo y no se atribuyen.
+ *
+ * <p>Toda sentencia más lenta que el umbral se registra con su SQL y la forma de sus
+ * parámetros (el tipo de cada uno, nunca los valores), dentro o fuera de un request. Al
+ * terminar cada request se publica una {@link Medicion}, que los tests usan para verificar
+ * los {@link PresupuestoSql}.
+ */
+@Slf4j
+public class SentenciasPorRequest implements QueryExecutionListener, AsyncHandlerInterceptor {
+
+    /** Sentencias de un request y el presupuesto de su endpoint (null: sin presupuesto). */
+    public record Medicion(String endpoint, int sentencias, Duration tiempo, @Nullable Integer presupuesto) {
+
+        public boolean excedida() {
+            return presupuesto != null && sentencias > presupuesto;
+        }
+    }
+
+    private static final class Cuenta {
+        int sentencias;
+        long milisegundos;
+    }
+
+    private static final ThreadLocal<Cuenta> EN_CURSO = new ThreadLocal<>();
+    private static final String ATRIBUTO_CUENTA = SentenciasPorRequest.class.getName() + ".cuenta";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ApplicationEventPublisher eventos;
+    private final long umbralLentaMs;
+
+    public SentenciasPorRequest(ObjectProvider<MeterRegistry> meterRegistry, ApplicationEventPublisher eventos,
+                                Duration umbralLenta) {
+        this.meterRegistry = meterRegistry;
+        this.eventos = eventos;
+        this.umbralLentaMs = umbralLenta.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo ejecucion, List<QueryInfo> consultas) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo ejecucion, List<QueryInfo> consultas) {
+        Cuenta cuenta = EN_CURSO.get();
+        if (cuenta != null) {
+            cuenta.sentencias++;
+            cuenta.milisegundos += ejecucion.getElapsedTime();
+        }
+        if (ejecucion.getElapsedTime() >= umbralLentaMs) {
+            for (QueryInfo consulta : consultas) {
+                log.warn("Sentencia lenta ({} ms){}: {} parámetros {}", ejecucion.getElapsedTime(),
+                        cuenta != null ? " en un request" : "", consulta.getQuery(), forma(consulta, ejecucion));
+            }
+        }
+    }
+
+    // Tipo JDBC de cada parámetro según el setter usado (Long, String, Null...), sin valores
+    private static String forma(QueryInfo consulta, ExecutionInfo ejecucion) {
+        List<List<ParameterSetOperation>> juegos = consulta.getParametersList();
+        if (juegos.isEmpty()) {
+            return "[]";
+        }
+        StringJoiner tipos = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operacion : juegos.getFirst()) {
+            tipos.add(operacion.getMethod().getName().replaceFirst("^set", ""));
+        }
+        return ejecucion.isBatch() ? tipos + " x" + ejecucion.getBatchSize() : tipos.toString();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // En el despacho asíncrono se sigue con la cuenta del request original
+        Cuenta cuenta = (Cuenta) request.getAttribute(ATRIBUTO_CUENTA);
+        if (cuenta == null) {
+            cuenta = new Cuenta();
+            request.setAttribute(ATRIBUTO_CUENTA, cuenta);
+        }
+        EN_CURSO.set(cuenta);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        EN_CURSO.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                @Nullable Exception ex) {
+        EN_CURSO.remove();
+        Cuenta cuenta = (Cuenta) request.getAttribute(ATRIBUTO_CUENTA);
+        if (cuenta == null || !(handler instanceof HandlerMethod metodo)) {
+            return;
+        }
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+        PresupuestoSql presupuesto = metodo.getMethodAnnotation(PresupuestoSql.class);
+        Medicion medicion = new Medicion(request.getMethod() + " " + uri, cuenta.sentencias,
+                Duration.ofMillis(cuenta.milisegundos), presupuesto != null ? presupuesto.value() : null);
+
+        MeterRegistry registry = meterRegistry.getObject();
+        DistributionSummary.builder("data.http.sentencias")
+                .description("Sentencias SQL ejecutadas por request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(cuenta.sentencias);
+        Timer.builder("data.http.sentencias.tiempo")
+                .description("Tiempo en la base por request, sumando todas sus sentencias")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(cuenta.milisegundos, TimeUnit.MILLISECONDS);
+        if (medicion.excedida()) {
+            log.warn("{} ejecutó {} sentencias SQL; su presupuesto es {}", medicion.endpoint(),
+                    medicion.sentencias(), medicion.presupuesto());
+            Counter.builder("data.http.sentencias.excedidas")
+                    .description("Requests que ejecutaron más sentencias que el @PresupuestoSql de su endpoint")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .increment();
+        }
+        eventos.publishEvent(medicion);
+    }
+}
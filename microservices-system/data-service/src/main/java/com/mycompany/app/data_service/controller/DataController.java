@@ -1,19 +1,38 @@
 package com.mycompany.app.data_service.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.app.data_service.dto.AjusteStock;
+import com.mycompany.app.data_service.dto.CategoriaDTO;
+import com.mycompany.app.data_service.dto.InventarioDTO;
+import com.mycompany.app.data_service.dto.PaginaCursor;
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import com.mycompany.app.data_service.dto.ResultadoImportacion;
+import com.mycompany.app.data_service.dto.Sugerencia;
 import com.mycompany.app.data_service.entity.Categoria;
-import com.mycompany.app.data_service.entity.Inventario;
 import com.mycompany.app.data_service.entity.Producto;
 import com.mycompany.app.data_service.service.CategoriaService;
+import com.mycompany.app.data_service.service.ImportacionProductosService;
 import com.mycompany.app.data_service.service.InventarioService;
 import com.mycompany.app.data_service.service.ProductoService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import java.util.List;
 
@@ -25,51 +44,147 @@ public class DataController {
     private final ProductoService productoService;
     private final CategoriaService categoriaService;
     private final InventarioService inventarioService;
+    private final ImportacionProductosService importacionProductosService;
+    private final ObjectMapper objectMapper;
 
     public DataController(ProductoService productoService,
                           CategoriaService categoriaService,
-                          InventarioService inventarioService) {
+                          InventarioService inventarioService,
+                          ImportacionProductosService importacionProductosService,
+                          ObjectMapper objectMapper) {
         this.productoService = productoService;
         this.categoriaService = categoriaService;
         this.inventarioService = inventarioService;
+        this.importacionProductosService = importacionProductosService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/productos")
-    public List<Producto> obtenerTodosLosProductos() {
+    @PresupuestoSql(1)
+    public List<ProductoDTO> obtenerTodosLosProductos() {
         return productoService.obtenerTodos();
     }
 
+    // Multi-get: GET /data/productos?ids=1,2,3 (los ids inexistentes se omiten)
+    @GetMapping(value = "/productos", params = "ids")
+    @PresupuestoSql(1)
+    public List<ProductoDTO> obtenerProductosPorIds(@RequestParam("ids") @Size(min = 1, max = 200) List<Long> ids) {
+        return productoService.buscarPorIds(ids);
+    }
+
+    // Búsqueda de texto (sin distinguir tildes ni mayúsculas) en nombre y descripción, por
+    // relevancia. Una consulta vacía la rechaza el servicio con 400
+    @GetMapping("/productos/buscar")
+    @PresupuestoSql(1)
+    public List<ProductoDTO> buscarProductos(
+            @RequestParam("q") @Size(max = 200) String consulta,
+            @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(100) Integer limit) {
+        return productoService.buscarPorTexto(consulta, limit);
+    }
+
+    // Autocompletado de nombres por prefijo. El máximo de limit lo fija data.sugerencias.maximo
+    // y lo controla el servicio; un prefijo vacío devuelve los nombres de mayor peso. Sale
+    // entero del índice en memoria
+    @GetMapping("/productos/sugerencias")
+    @PresupuestoSql(0)
+    public List<Sugerencia> sugerirNombres(
+            @RequestParam(name = "q", defaultValue = "") @Size(max = 100) String prefijo,
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) Integer limit) {
+        return productoService.sugerirNombres(prefijo, limit);
+    }
+
+    @GetMapping("/productos/pagina")
+    @PresupuestoSql(1)
+    public PaginaCursor<ProductoDTO> obtenerPaginaDeProductos(
+            @RequestParam(name = "after", defaultValue = "0") @Min(0) Long after,
+            @RequestParam(name = "limit", defaultValue = "50") @Min(1) @Max(500) Integer limit) {
+        return productoService.obtenerPagina(after, limit);
+    }
+
+    // Catálogo completo como NDJSON (un producto por línea), escrito a medida que se lee de la base.
+    // Sin presupuesto: el cuerpo se escribe en otro hilo y sus sentencias no se cuentan en el request
+    @GetMapping(value = "/productos/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarCatalogo() {
+        StreamingResponseBody cuerpo = salida -> {
+            try (SequenceWriter escritor = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(salida)) {
+                productoService.exportarCatalogo(dto -> {
+                    try {
+                        escritor.write(dto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            salida.write('\n');
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+
+    // GETs condicionales: el ETag sale de las versiones de las filas y se consulta antes que el
+    // cuerpo. Con If-None-Match vigente responde 304 sin leer ni serializar la entidad; si algo
+    // cambia entre ambas consultas el cuerpo es más nuevo que el ETag y la próxima
+    // revalidación simplemente no coincide.
     @GetMapping("/productos/{id}")
-    public Producto obtenerProductoPorId(@PathVariable("id") @Min(1) Long id) {
-        return productoService.buscarPorId(id);
+    @PresupuestoSql(2)
+    public ResponseEntity<ProductoDTO> obtenerProductoPorId(@PathVariable("id") @Min(1) Long id,
+                                                            WebRequest request) {
+        if (request.checkNotModified(productoService.etagDe(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(productoService.buscarPorId(id));
     }
 
+    // Categoría, inserts de producto e inventario y, cada tanto, los próximos valores de sus secuencias
     @PostMapping("/productos")
+    @PresupuestoSql(6)
     @ResponseStatus(HttpStatus.CREATED)
-    public Producto crearProducto(@Valid @RequestBody Producto producto) {
+    public ProductoDTO crearProducto(@Valid @RequestBody Producto producto) {
         return productoService.guardar(producto);
     }
 
+    // Alta masiva: mismo formato que POST /productos, informa los errores por índice de fila.
+    // Sin presupuesto: las sentencias crecen con el tamaño del lote (en batches)
+    @PostMapping(value = "/productos/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResultadoImportacion importarProductos(@RequestBody List<Producto> productos) {
+        return importacionProductosService.importar(productos);
+    }
+
+    // Producto, categoría nueva si cambia, updates y el alta del inventario si no tenía
     @PutMapping(value = "/productos/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public Producto actualizarProducto(@PathVariable("id") @Min(1) Long id,
+    @PresupuestoSql(5)
+    public ProductoDTO actualizarProducto(@PathVariable("id") @Min(1) Long id,
                                        @Valid @RequestBody Producto producto) {
         return productoService.actualizar(id, producto);
     }
 
     @DeleteMapping("/productos/{id}")
+    @PresupuestoSql(3)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void eliminarProducto(@PathVariable("id") @Min(1) Long id) {
         productoService.eliminar(id);
     }
 
     @GetMapping("/productos/categoria/{nombre}")
-    public List<Producto> obtenerProductosPorCategoria(@PathVariable("nombre") @NotBlank String nombre) {
-        return productoService.buscarPorCategoria(nombre);
+    @PresupuestoSql(3)
+    public ResponseEntity<List<ProductoDTO>> obtenerProductosPorCategoria(@PathVariable("nombre") @NotBlank String nombre,
+                                                                          WebRequest request) {
+        if (request.checkNotModified(productoService.etagDeCategoria(nombre))) {
+            return null;
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(productoService.buscarPorCategoria(nombre));
     }
 
     @GetMapping("/categorias")
-    public List<Categoria> obtenerTodasLasCategorias() {
-        return categoriaService.obtenerTodas();
+    @PresupuestoSql(2)
+    public ResponseEntity<List<CategoriaDTO>> obtenerTodasLasCategorias(WebRequest request) {
+        if (request.checkNotModified(categoriaService.etagDeTodas())) {
+            return null;
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(categoriaService.obtenerTodas());
     }
 
     @PostMapping(
@@ -77,13 +192,23 @@ public class DataController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
+    @PresupuestoSql(1)
     public ResponseEntity<Categoria> crearCategoria(@RequestBody Categoria categoria) {
         Categoria creada = categoriaService.guardar(categoria); // usa tu service/repo
         return ResponseEntity.status(HttpStatus.CREATED).body(creada);
     }
 
     @GetMapping("/inventario/stock-bajo")
-    public List<Inventario> obtenerProductosConStockBajo() {
+    @PresupuestoSql(1)
+    public List<InventarioDTO> obtenerProductosConStockBajo() {
         return inventarioService.obtenerProductosConStockBajo();
     }
+
+    // Ajuste relativo de stock: 409 si dejaría la cantidad en negativo
+    @PostMapping(value = "/inventario/{productoId}/ajuste", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PresupuestoSql(2)
+    public InventarioDTO ajustarStock(@PathVariable("productoId") @Min(1) Long productoId,
+                                      @RequestBody AjusteStock ajuste) {
+        return inventarioService.ajustarStock(productoId, ajuste.delta());
+    }
 }
@@ -0,0 +1,20 @@
+package com.mycompany.app.data_service.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sentencias SQL que un endpoint puede ejecutar por request. Si un request lo supera,
+ * SentenciasPorRequest deja un warning y suma a {@code data.http.sentencias.excedidas}, y los
+ * tests de presupuesto de DataController fallan: un N+1 nuevo no pasa desapercibido.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PresupuestoSql {
+
+    int value();
+}
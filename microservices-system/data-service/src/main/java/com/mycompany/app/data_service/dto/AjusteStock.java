@@ -0,0 +1,5 @@
+package com.mycompany.app.data_service.dto;
+
+// delta positivo repone stock, negativo lo descuenta
+public record AjusteStock(Integer delta) {
+}
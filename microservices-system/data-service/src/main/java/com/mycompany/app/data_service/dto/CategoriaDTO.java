@@ -0,0 +1,4 @@
+package com.mycompany.app.data_service.dto;
+
+public record CategoriaDTO(Long id, String nombre, String descripcion) {
+}
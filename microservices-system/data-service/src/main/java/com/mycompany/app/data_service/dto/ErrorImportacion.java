@@ -0,0 +1,5 @@
+package com.mycompany.app.data_service.dto;
+
+// indice: posición (base 0) de la fila en el cuerpo recibido
+public record ErrorImportacion(int indice, String mensaje) {
+}
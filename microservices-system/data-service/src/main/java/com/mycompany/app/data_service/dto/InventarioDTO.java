@@ -0,0 +1,14 @@
+package com.mycompany.app.data_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+// version: la del inventario (@Version), para ordenar los cambios de stock en IndiceProductos
+public record InventarioDTO(Long id,
+                            Long productoId,
+                            Integer cantidad,
+                            Integer stockMinimo,
+                            LocalDateTime fechaActualizacion,
+                            @JsonIgnore Long version) {
+}
@@ -0,0 +1,17 @@
+package com.mycompany.app.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página de resultados por cursor (keyset): {@code siguienteCursor} es el último id
+ * devuelto, o {@code null} si no quedan más elementos.
+ */
+@Getter
+@AllArgsConstructor
+public class PaginaCursor<T> {
+    private final List<T> items;
+    private final Long siguienteCursor;
+}
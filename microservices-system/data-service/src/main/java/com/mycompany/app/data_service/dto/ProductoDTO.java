@@ -0,0 +1,37 @@
+package com.mycompany.app.data_service.dto;
+
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Inventario;
+import com.mycompany.app.data_service.entity.Producto;
+
+import java.math.BigDecimal;
+
+/**
+ * Vista de lectura de un producto: mismos campos JSON que {@link Producto},
+ * sin pasar por el contexto de persistencia ni por proxies lazy.
+ */
+public record ProductoDTO(Long id,
+                          String nombre,
+                          String descripcion,
+                          BigDecimal precio,
+                          String categoriaNombre,
+                          Integer stock,
+                          Boolean stockBajo) {
+
+    // Usado por las consultas "SELECT new": stockBajo se deriva igual que Producto#getStockBajoJson
+    public ProductoDTO(Long id, String nombre, String descripcion, BigDecimal precio,
+                       String categoriaNombre, Integer stock, Integer stockMinimo) {
+        this(id, nombre, descripcion, precio, categoriaNombre, stock,
+                (stock != null && stockMinimo != null) ? stock < stockMinimo : null);
+    }
+
+    // Debe invocarse dentro de la transacción: lee categoria e inventario
+    public static ProductoDTO desde(Producto p) {
+        Categoria c = p.getCategoria();
+        Inventario i = p.getInventario();
+        return new ProductoDTO(p.getId(), p.getNombre(), p.getDescripcion(), p.getPrecio(),
+                c != null ? c.getNombre() : null,
+                i != null ? i.getCantidad() : null,
+                i != null ? i.getStockMinimo() : null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.mycompany.app.data_service.dto;
+
+import java.util.List;
+
+public record ResultadoImportacion(int recibidos, int importados, List<ErrorImportacion> errores) {
+}
@@ -0,0 +1,8 @@
+package com.mycompany.app.data_service.dto;
+
+/**
+ * Nombre de producto para autocompletar, con el peso por el que se ordenó
+ * (según data.sugerencias.peso: unidades en stock o cantidad de productos con ese nombre).
+ */
+public record Sugerencia(String texto, long peso) {
+}
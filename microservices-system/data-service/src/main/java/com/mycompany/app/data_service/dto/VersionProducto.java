@@ -0,0 +1,12 @@
+package com.mycompany.app.data_service.dto;
+
+/**
+ * Versiones de las filas que componen un {@link ProductoDTO}: producto, categoría (por
+ * categoriaNombre) e inventario (por stock/stockBajo; nulo si el producto no tiene).
+ */
+public record VersionProducto(Long id, Long version, Long versionCategoria, Long versionInventario) {
+
+    public String sello() {
+        return id + "." + version + "." + versionCategoria + "." + versionInventario;
+    }
+}
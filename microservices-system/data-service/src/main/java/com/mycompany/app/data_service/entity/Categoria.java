@@ -3,15 +3,22 @@ package com.mycompany.app.data_service.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(exclude = "productos")
 @Entity
-@Table(name = "categorias")
+@Table(name = "categorias",
+        uniqueConstraints = @UniqueConstraint(name = "uk_categorias_nombre_normalizado",
+                columnNames = "nombre_normalizado"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categorias")
 public class Categoria {
 
     @Id
@@ -22,15 +29,44 @@ public class Categoria {
     @Column(nullable = false, length = 100, unique = true)
     private String nombre;
 
+    // Clave de búsqueda sin distinguir mayúsculas: upper(nombre) = upper(?) no puede usar el índice
+    // de nombre, la igualdad sobre esta columna sí. Se deriva de nombre en cada alta/modificación.
+    // Nullable sólo para que ddl-auto=update pueda agregarla a tablas con filas; el
+    // data-{platform}.sql de cada perfil completa las existentes.
+    @Column(name = "nombre_normalizado", length = 100)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private String nombreNormalizado;
+
     @Column(length = 500)
     private String descripcion;
 
+    // Un cambio de nombre cambia categoriaNombre en los productos: entra en sus ETags.
+    // Sin valor inicial: Spring Data usa la versión nula para distinguir altas de merges.
+    // El default es para que ddl-auto=update pueda agregar la columna a una tabla con filas
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Long version;
+
     @OneToMany(mappedBy = "categoria", fetch = FetchType.LAZY,
             cascade = {CascadeType.PERSIST, CascadeType.MERGE},
             orphanRemoval = true)
     @JsonIgnore
     private List<Producto> productos = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    private void normalizarNombre() {
+        this.nombreNormalizado = normalizar(nombre);
+    }
+
+    /** Forma en que se comparan los nombres de categoría: sin espacios en los extremos y en minúsculas. */
+    public static String normalizar(String nombre) {
+        return nombre == null ? null : nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
     // Helper
     public void addProducto(Producto p) {
         productos.add(p);
@@ -3,6 +3,7 @@ package com.mycompany.app.data_service.entity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Getter @Setter
@@ -10,11 +11,14 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(exclude = "producto")
 @Entity
-@Table(name = "inventarios")
+@Table(name = "inventarios",
+        indexes = @Index(name = "idx_inventarios_stock_bajo", columnList = "stock_bajo"))
 public class Inventario {
 
+    // Como en Producto: data-{platform}.sql adelanta la secuencia en bases con ids previos
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventarios_seq")
+    @SequenceGenerator(name = "inventarios_seq", sequenceName = "inventarios_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -29,12 +33,28 @@ public class Inventario {
     @Column(name = "stock_minimo", nullable = false)
     private Integer stockMinimo;
 
+    // cantidad <= stockMinimo, materializado para que el reporte de stock bajo use el índice
+    // en vez de comparar dos columnas fila por fila. El default sólo está para que ddl-auto=update
+    // pueda agregar la columna a una tabla con filas; data-{platform}.sql calcula su valor real
+    @Column(name = "stock_bajo", nullable = false)
+    @ColumnDefault("false")
+    private boolean stockBajo;
+
     @Column(name = "fecha_actualizacion", nullable = false)
     private LocalDateTime fechaActualizacion;
 
+    // Detecta escrituras concurrentes sobre la entidad; los ajustes por delta la incrementan en el UPDATE.
+    // Default como el de stockBajo, para agregar la columna a una tabla con filas; si alguna quedó
+    // con versión nula, la completa data-{platform}.sql
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version = 0L;
+
     @PrePersist
     @PreUpdate
     private void touchTimestamp() {
         this.fechaActualizacion = LocalDateTime.now();
+        this.stockBajo = cantidad != null && stockMinimo != null && cantidad <= stockMinimo;
     }
 }
@@ -1,10 +1,14 @@
 package com.mycompany.app.data_service.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 
 @Getter @Setter
@@ -12,12 +16,18 @@ import java.math.BigDecimal;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(exclude = {"categoria", "inventario"})
 @Entity
-@Table(name = "productos")
+// categoria_id + id: el listado por categoría es un rango del índice, ya ordenado por id
+@Table(name = "productos",
+        indexes = @Index(name = "idx_productos_categoria", columnList = "categoria_id, id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "productos")
 @JsonIgnoreProperties({"categoria", "inventario"})
 public class Producto {
 
+    // SEQUENCE con pool de ids: a diferencia de IDENTITY, permite que Hibernate agrupe los INSERT en batch
+    // En bases con ids IDENTITY previos, data-{platform}.sql adelanta la secuencia más allá de max(id)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productos_seq")
+    @SequenceGenerator(name = "productos_seq", sequenceName = "productos_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -40,6 +50,15 @@ public class Producto {
     @JsonManagedReference(value = "producto-inventario")
     private Inventario inventario;
 
+    // Junto con las versiones de categoría e inventario forma el ETag de las lecturas.
+    // Sin valor inicial: Spring Data usa la versión nula para distinguir altas de merges.
+    // El default es para que ddl-auto=update pueda agregar la columna a una tabla con filas
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Long version;
+
     // Helpers para mantener la relación en ambos lados
     public void setInventario(Inventario inventario) {
         this.inventario = inventario;
@@ -55,6 +74,12 @@ public class Producto {
         }
     }
 
+    // Asigna la categoría sin inicializar categoria.productos: en importaciones masivas
+    // la colección inversa no se usa y cargarla costaría un SELECT por categoría.
+    public void asignarCategoria(Categoria categoria) {
+        this.categoria = categoria;
+    }
+
     @JsonProperty("categoriaId")
     public void setCategoriaIdFromJson(Long categoriaId) {
         if (categoriaId != null) {
@@ -0,0 +1,11 @@
+package com.mycompany.app.data_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StockInsuficienteException extends RuntimeException {
+    public StockInsuficienteException(String message) {
+        super(message);
+    }
+}
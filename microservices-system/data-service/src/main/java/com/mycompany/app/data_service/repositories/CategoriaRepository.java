@@ -1,11 +1,32 @@
 package com.mycompany.app.data_service.repositories;
 
+import com.mycompany.app.data_service.dto.CategoriaDTO;
 import com.mycompany.app.data_service.entity.Categoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
-    Optional<Categoria> findByNombreIgnoreCase(String nombre);
-}
+    // Búsqueda por el índice único de nombre_normalizado (ver Categoria.normalizar).
+    // Caché de consultas: el id sale de la región de consultas y la entidad de la región categorias
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Categoria> findByNombreNormalizado(String nombreNormalizado);
+
+    @Query("SELECT new com.mycompany.app.data_service.dto.CategoriaDTO(c.id, c.nombre, c.descripcion) "
+            + "FROM Categoria c ORDER BY c.id")
+    List<CategoriaDTO> findAllAsDTO();
 
+    // Sellos id.version en el orden de findAllAsDTO, para el ETag del listado
+    @Query("SELECT concat(cast(c.id as String), '.', cast(c.version as String)) FROM Categoria c ORDER BY c.id")
+    List<String> findSellosDeVersion();
+
+    @Query("SELECT c.id FROM Categoria c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
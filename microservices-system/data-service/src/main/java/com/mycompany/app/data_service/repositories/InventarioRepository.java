@@ -1,13 +1,42 @@
 package com.mycompany.app.data_service.repositories;
 
+import com.mycompany.app.data_service.dto.InventarioDTO;
 import com.mycompany.app.data_service.entity.Inventario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface InventarioRepository extends JpaRepository<Inventario, Long> {
 
-    @Query("SELECT i FROM Inventario i WHERE i.cantidad <= i.stockMinimo")
-    List<Inventario> findConStockBajo();
+    @Query("SELECT new com.mycompany.app.data_service.dto.InventarioDTO("
+            + "i.id, i.producto.id, i.cantidad, i.stockMinimo, i.fechaActualizacion, i.version) "
+            + "FROM Inventario i WHERE i.stockBajo = true")
+    List<InventarioDTO> findConStockBajo();
+
+    @Query("SELECT new com.mycompany.app.data_service.dto.InventarioDTO("
+            + "i.id, i.producto.id, i.cantidad, i.stockMinimo, i.fechaActualizacion, i.version) "
+            + "FROM Inventario i WHERE i.producto.id = :productoId")
+    Optional<InventarioDTO> findDTOByProductoId(@Param("productoId") Long productoId);
+
+    /**
+     * Suma {@code delta} a la cantidad en una sola sentencia: el motor serializa los ajustes
+     * concurrentes sobre la fila y la condición impide dejar stock negativo.
+     * Devuelve 0 si no hay inventario para el producto o si el stock no alcanza.
+     * stockBajo se asigna antes que cantidad: MySQL evalúa el SET de izquierda a derecha
+     * y así ambos motores calculan la marca con la cantidad previa más el delta.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventario i SET "
+            + "i.stockBajo = CASE WHEN i.cantidad + :delta <= i.stockMinimo THEN true ELSE false END, "
+            + "i.cantidad = i.cantidad + :delta, i.version = i.version + 1, "
+            + "i.fechaActualizacion = :ahora "
+            + "WHERE i.producto.id = :productoId AND i.cantidad + :delta >= 0")
+    int ajustarCantidad(@Param("productoId") Long productoId,
+                        @Param("delta") int delta,
+                        @Param("ahora") LocalDateTime ahora);
 }
@@ -1,10 +1,71 @@
 package com.mycompany.app.data_service.repositories;
 
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import com.mycompany.app.data_service.dto.VersionProducto;
 import com.mycompany.app.data_service.entity.Producto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductoRepository extends JpaRepository<Producto, Long> {
-    List<Producto> findByCategoria_NombreIgnoreCase(String nombreCategoria);
+
+    // Proyección de lectura: un único SELECT con los campos que expone la API,
+    // sin hidratar entidades ni dejar snapshots en el contexto de persistencia.
+    String SELECT_DTO = "SELECT new com.mycompany.app.data_service.dto.ProductoDTO("
+            + "p.id, p.nombre, p.descripcion, p.precio, c.nombre, i.cantidad, i.stockMinimo) "
+            + "FROM Producto p JOIN p.categoria c LEFT JOIN p.inventario i";
+
+    // Si se necesitan entidades completas, categoria e inventario vienen en el mismo SELECT (sin N+1)
+    @Override
+    @EntityGraph(attributePaths = {"categoria", "inventario"})
+    List<Producto> findAll();
+
+    @Query(SELECT_DTO + " ORDER BY p.id")
+    List<ProductoDTO> findAllAsDTO();
+
+    // Exportación completa: el driver trae las filas de a bloques y el llamador las consume
+    // una por una; debe cerrarse el Stream y usarse dentro de una transacción.
+    @Query(SELECT_DTO + " ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ProductoDTO> streamAllAsDTO();
+
+    @Query(SELECT_DTO + " WHERE p.id = :id")
+    Optional<ProductoDTO> findDTOById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " WHERE p.id IN :ids ORDER BY p.id")
+    List<ProductoDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Rango de idx_productos_categoria (categoria_id, id), que también da el orden; el id sale de
+    // CategoriaRepository.findByNombreNormalizado. JOIN con ON y no JOIN p.categoria c: así
+    // p.categoria.id es la columna categoria_id de productos y no c.id del JOIN
+    @Query("SELECT new com.mycompany.app.data_service.dto.ProductoDTO("
+            + "p.id, p.nombre, p.descripcion, p.precio, c.nombre, i.cantidad, i.stockMinimo) "
+            + "FROM Producto p JOIN Categoria c ON c.id = p.categoria.id LEFT JOIN p.inventario i "
+            + "WHERE p.categoria.id = :categoriaId ORDER BY p.categoria.id, p.id")
+    List<ProductoDTO> findDTOsByCategoriaId(@Param("categoriaId") Long categoriaId);
+
+    // Versiones para los ETags: las mismas filas que las lecturas, sin los campos
+    String SELECT_VERSION = "SELECT new com.mycompany.app.data_service.dto.VersionProducto("
+            + "p.id, p.version, c.version, i.version) "
+            + "FROM Producto p JOIN p.categoria c LEFT JOIN p.inventario i";
+
+    @Query(SELECT_VERSION + " WHERE p.id = :id")
+    Optional<VersionProducto> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_VERSION + " WHERE p.categoria.id = :categoriaId ORDER BY p.id")
+    List<VersionProducto> findVersionesByCategoriaId(@Param("categoriaId") Long categoriaId);
+
+    // Keyset: recorre la PK en orden, el costo no depende de la profundidad de la página
+    @Query(SELECT_DTO + " WHERE p.id > :after ORDER BY p.id")
+    List<ProductoDTO> findDTOsAfterId(@Param("after") Long after, Limit limit);
 }
@@ -1,10 +1,13 @@
 package com.mycompany.app.data_service.service;
 
 
+import com.mycompany.app.data_service.busqueda.IndiceProductos;
+import com.mycompany.app.data_service.dto.CategoriaDTO;
 import com.mycompany.app.data_service.entity.Categoria;
 import com.mycompany.app.data_service.exceptions.RecursoNoEncontradoException;
 import com.mycompany.app.data_service.exceptions.ValidacionDatosException;
 import com.mycompany.app.data_service.repositories.CategoriaRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,16 +15,18 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
+@Observed(name = "data.service")
 @RequiredArgsConstructor
 @Transactional
 public class CategoriaServiceImpl implements CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
+    private final IndiceProductos indiceProductos;
 
     @Override
     @Transactional(readOnly = true)
-    public List<Categoria> obtenerTodas() {
-        return categoriaRepository.findAll();
+    public List<CategoriaDTO> obtenerTodas() {
+        return categoriaRepository.findAllAsDTO();
     }
 
     @Override
@@ -54,6 +59,8 @@ public class CategoriaServiceImpl implements CategoriaService {
     @Override
     public void eliminar(Long id) {
         Categoria existente = buscarPorId(id);
+        // orphanRemoval borra también sus productos: salen de los índices de búsqueda
+        existente.getProductos().forEach(p -> indiceProductos.quitar(p.getId()));
         categoriaRepository.delete(existente);
     }
 
@@ -63,10 +70,16 @@ public class CategoriaServiceImpl implements CategoriaService {
         if (nombre == null || nombre.isBlank()) {
             throw new ValidacionDatosException("El nombre de categoría es obligatorio.");
         }
-        return categoriaRepository.findByNombreIgnoreCase(nombre.trim())
+        return categoriaRepository.findByNombreNormalizado(Categoria.normalizar(nombre))
                 .orElseThrow(() -> new RecursoNoEncontradoException("Categoría no encontrada: " + nombre));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String etagDeTodas() {
+        return Etags.deListado("categorias", categoriaRepository.findSellosDeVersion());
+    }
+
     // --- Validaciones simples ---
     private void validarCategoria(Categoria c) {
         if (c == null) throw new ValidacionDatosException("Categoría requerida.");
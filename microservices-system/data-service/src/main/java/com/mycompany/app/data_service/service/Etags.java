@@ -0,0 +1,22 @@
+package com.mycompany.app.data_service.service;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * ETags fuertes derivados de las versiones de las filas (@Version), sin leer ni serializar
+ * el cuerpo de la respuesta.
+ */
+final class Etags {
+
+    private Etags() {
+    }
+
+    // Un listado cambia si cambia, aparece o desaparece cualquiera de sus filas
+    static String deListado(String prefijo, List<String> sellos) {
+        String concatenado = String.join(",", sellos);
+        return prefijo + "-" + DigestUtils.md5DigestAsHex(concatenado.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,10 @@
+package com.mycompany.app.data_service.service;
+
+import com.mycompany.app.data_service.dto.ResultadoImportacion;
+import com.mycompany.app.data_service.entity.Producto;
+
+import java.util.List;
+
+public interface ImportacionProductosService {
+    ResultadoImportacion importar(List<Producto> productos);
+}
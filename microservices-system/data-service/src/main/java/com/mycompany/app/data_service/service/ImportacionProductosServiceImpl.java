@@ -0,0 +1,163 @@
+package com.mycompany.app.data_service.service;
+
+import com.mycompany.app.data_service.busqueda.IndiceProductos;
+import com.mycompany.app.data_service.dto.ErrorImportacion;
+import com.mycompany.app.data_service.dto.ResultadoImportacion;
+import com.mycompany.app.data_service.entity.Inventario;
+import com.mycompany.app.data_service.entity.Producto;
+import com.mycompany.app.data_service.exceptions.ValidacionDatosException;
+import com.mycompany.app.data_service.repositories.CategoriaRepository;
+import com.mycompany.app.data_service.repositories.ProductoRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Alta masiva de productos. Sin {@code @Transactional} a propósito: cada bloque de
+ * {@code data.importacion.tamanio-lote} filas se confirma en su propia transacción,
+ * así un error no revierte lo ya importado.
+ */
+@Service
+@Observed(name = "data.service")
+@Slf4j
+public class ImportacionProductosServiceImpl implements ImportacionProductosService {
+
+    static final int MAXIMO_POR_LLAMADA = 10_000;
+
+    private final ProductoRepository productoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IndiceProductos indiceProductos;
+    private final int tamanioLote;
+
+    public ImportacionProductosServiceImpl(ProductoRepository productoRepository,
+                                           CategoriaRepository categoriaRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           IndiceProductos indiceProductos,
+                                           @Value("${data.importacion.tamanio-lote:500}") int tamanioLote) {
+        this.productoRepository = productoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.indiceProductos = indiceProductos;
+        this.tamanioLote = tamanioLote;
+    }
+
+    @Override
+    public ResultadoImportacion importar(List<Producto> productos) {
+        if (productos == null || productos.isEmpty()) {
+            throw new ValidacionDatosException("La importación no contiene productos.");
+        }
+        if (productos.size() > MAXIMO_POR_LLAMADA) {
+            throw new ValidacionDatosException("Se admiten hasta " + MAXIMO_POR_LLAMADA + " productos por llamada.");
+        }
+
+        // Las categorías se resuelven una sola vez para todo el lote
+        Set<Long> idsCategoria = new HashSet<>();
+        for (Producto p : productos) {
+            if (p != null && p.getCategoria() != null && p.getCategoria().getId() != null) {
+                idsCategoria.add(p.getCategoria().getId());
+            }
+        }
+        Set<Long> categoriasExistentes = idsCategoria.isEmpty()
+                ? Set.of()
+                : new HashSet<>(categoriaRepository.findExistingIds(idsCategoria));
+
+        List<ErrorImportacion> errores = new ArrayList<>();
+        List<Integer> validos = new ArrayList<>();
+        for (int i = 0; i < productos.size(); i++) {
+            String error = validar(productos.get(i), categoriasExistentes);
+            if (error != null) {
+                errores.add(new ErrorImportacion(i, error));
+            } else {
+                validos.add(i);
+            }
+        }
+
+        int importados = 0;
+        for (int desde = 0; desde < validos.size(); desde += tamanioLote) {
+            List<Integer> bloque = validos.subList(desde, Math.min(desde + tamanioLote, validos.size()));
+            try {
+                persistir(productos, bloque);
+                importados += bloque.size();
+            } catch (RuntimeException e) {
+                // El bloque se revirtió entero: se reintenta fila por fila para aislar las que fallan
+                log.warn("Falló un bloque de {} productos, se reintenta fila por fila: {}", bloque.size(), e.getMessage());
+                for (Integer indice : bloque) {
+                    try {
+                        persistir(productos, List.of(indice));
+                        importados++;
+                    } catch (RuntimeException ex) {
+                        errores.add(new ErrorImportacion(indice, mensaje(ex)));
+                    }
+                }
+            }
+        }
+
+        errores.sort(Comparator.comparingInt(ErrorImportacion::indice));
+        return new ResultadoImportacion(productos.size(), importados, errores);
+    }
+
+    private void persistir(List<Producto> productos, List<Integer> indices) {
+        transactionTemplate.executeWithoutResult(estado -> {
+            List<Producto> bloque = new ArrayList<>(indices.size());
+            for (Integer indice : indices) {
+                Producto p = productos.get(indice);
+                // Un reintento puede traer id y versión asignados por una transacción revertida:
+                // con versión, Spring Data tomaría el producto por existente y haría merge de una copia
+                p.setId(null);
+                p.setVersion(null);
+                // Referencia sin SELECT: la existencia ya se validó para todo el lote
+                p.asignarCategoria(categoriaRepository.getReferenceById(p.getCategoria().getId()));
+                Inventario inv = p.getInventario();
+                if (inv != null) {
+                    inv.setId(null);
+                    inv.setVersion(0L);
+                    inv.setProducto(p);
+                }
+                bloque.add(p);
+            }
+            List<Producto> guardados = productoRepository.saveAll(bloque);
+            // Se aplica a los índices al confirmar el bloque; un bloque revertido no se indexa
+            guardados.forEach(p -> indiceProductos.indexar(p.getId(), p.getNombre(), p.getDescripcion(),
+                    IndiceProductos.Stock.de(p.getInventario())));
+        });
+    }
+
+    private String validar(Producto p, Set<Long> categoriasExistentes) {
+        if (p == null) return "Producto requerido.";
+        if (p.getNombre() == null || p.getNombre().isBlank()) return "El nombre es obligatorio.";
+        if (p.getPrecio() == null || p.getPrecio().compareTo(BigDecimal.ZERO) < 0) {
+            return "El precio no puede ser negativo ni nulo.";
+        }
+        Long categoriaId = p.getCategoria() != null ? p.getCategoria().getId() : null;
+        if (categoriaId == null) return "La categoría es obligatoria (id).";
+        if (!categoriasExistentes.contains(categoriaId)) return "Categoría no encontrada id=" + categoriaId;
+        Inventario inv = p.getInventario();
+        if (inv != null) {
+            if (inv.getCantidad() == null || inv.getCantidad() < 0) {
+                return "La cantidad no puede ser nula ni negativa.";
+            }
+            if (inv.getStockMinimo() == null || inv.getStockMinimo() < 0) {
+                return "El stock mínimo no puede ser nulo ni negativo.";
+            }
+        }
+        return null;
+    }
+
+    private String mensaje(RuntimeException e) {
+        Throwable causa = NestedExceptionUtils.getMostSpecificCause(e);
+        return Objects.requireNonNullElse(causa.getMessage(), causa.getClass().getSimpleName());
+    }
+}
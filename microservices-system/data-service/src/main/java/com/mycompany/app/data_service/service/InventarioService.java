@@ -1,5 +1,6 @@
 package com.mycompany.app.data_service.service;
 
+import com.mycompany.app.data_service.dto.InventarioDTO;
 import com.mycompany.app.data_service.entity.Inventario;
 
 import java.util.List;
@@ -11,5 +12,6 @@ public interface InventarioService {
     Inventario actualizar(Long id, Inventario inventario);
     void eliminar(Long id);
 
-    List<Inventario> obtenerProductosConStockBajo();
+    List<InventarioDTO> obtenerProductosConStockBajo();
+    InventarioDTO ajustarStock(Long productoId, Integer delta);
 }
@@ -1,24 +1,32 @@
 package com.mycompany.app.data_service.service;
 
+import com.mycompany.app.data_service.busqueda.IndiceProductos;
+import com.mycompany.app.data_service.dto.InventarioDTO;
 import com.mycompany.app.data_service.entity.Inventario;
 import com.mycompany.app.data_service.entity.Producto;
 import com.mycompany.app.data_service.exceptions.RecursoNoEncontradoException;
+import com.mycompany.app.data_service.exceptions.StockInsuficienteException;
 import com.mycompany.app.data_service.exceptions.ValidacionDatosException;
 import com.mycompany.app.data_service.repositories.InventarioRepository;
 import com.mycompany.app.data_service.repositories.ProductoRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Observed(name = "data.service")
 @RequiredArgsConstructor
 @Transactional
 public class InventarioServiceImpl implements InventarioService {
 
     private final InventarioRepository inventarioRepository;
     private final ProductoRepository productoRepository;
+    // El stock pesa en el orden de las sugerencias de nombres
+    private final IndiceProductos indiceProductos;
 
     @Override
     @Transactional(readOnly = true)
@@ -46,7 +54,10 @@ public class InventarioServiceImpl implements InventarioService {
                 .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado id=" + productoId));
 
         inventario.setProducto(producto);
-        return inventarioRepository.save(inventario);
+        // Flush para que la versión que recibe el índice sea la que se confirma
+        Inventario guardado = inventarioRepository.saveAndFlush(inventario);
+        indiceProductos.actualizarStock(productoId, IndiceProductos.Stock.de(guardado));
+        return guardado;
     }
 
     @Override
@@ -54,6 +65,7 @@ public class InventarioServiceImpl implements InventarioService {
         if (cambios == null) throw new ValidacionDatosException("Inventario requerido.");
 
         Inventario existente = buscarPorId(id);
+        Long productoAnteriorId = existente.getProducto() != null ? existente.getProducto().getId() : null;
 
         if (cambios.getCantidad() != null) {
             if (cambios.getCantidad() < 0) throw new ValidacionDatosException("La cantidad no puede ser negativa.");
@@ -69,21 +81,48 @@ public class InventarioServiceImpl implements InventarioService {
                     .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado id=" + nuevoProductoId));
             existente.setProducto(nuevoProducto);
         }
-        return inventarioRepository.save(existente);
+        Inventario actualizado = inventarioRepository.saveAndFlush(existente);
+        Long productoId = actualizado.getProducto().getId();
+        if (productoAnteriorId != null && !productoAnteriorId.equals(productoId)) {
+            indiceProductos.actualizarStock(productoAnteriorId, IndiceProductos.Stock.retirado(actualizado));
+        }
+        indiceProductos.actualizarStock(productoId, IndiceProductos.Stock.de(actualizado));
+        return actualizado;
     }
 
     @Override
     public void eliminar(Long id) {
         Inventario existente = buscarPorId(id);
         inventarioRepository.delete(existente);
+        if (existente.getProducto() != null) {
+            indiceProductos.actualizarStock(existente.getProducto().getId(),
+                    IndiceProductos.Stock.borrado(existente.getId()));
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Inventario> obtenerProductosConStockBajo() {
+    public List<InventarioDTO> obtenerProductosConStockBajo() {
         return inventarioRepository.findConStockBajo();
     }
 
+    @Override
+    public InventarioDTO ajustarStock(Long productoId, Integer delta) {
+        if (delta == null || delta == 0) {
+            throw new ValidacionDatosException("El ajuste de stock debe ser distinto de cero.");
+        }
+        // Sin leer antes la fila: el UPDATE condicional decide, así no hay actualizaciones perdidas
+        if (inventarioRepository.ajustarCantidad(productoId, delta, LocalDateTime.now()) == 0) {
+            InventarioDTO actual = inventarioRepository.findDTOByProductoId(productoId)
+                    .orElseThrow(() -> new RecursoNoEncontradoException("Inventario no encontrado para producto id=" + productoId));
+            throw new StockInsuficienteException("Stock insuficiente para producto id=" + productoId
+                    + ": disponible " + actual.cantidad() + ", ajuste " + delta);
+        }
+        InventarioDTO ajustado = inventarioRepository.findDTOByProductoId(productoId).orElseThrow();
+        indiceProductos.actualizarStock(productoId, IndiceProductos.Stock.de(ajustado));
+        return ajustado;
+    }
+
     // --- Validaciones simples ---
     private void validarInventario(Inventario i) {
         if (i == null) throw new ValidacionDatosException("Inventario requerido.");
@@ -1,15 +1,31 @@
 package com.mycompany.app.data_service.service;
 
+import com.mycompany.app.data_service.dto.PaginaCursor;
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import com.mycompany.app.data_service.dto.Sugerencia;
 import com.mycompany.app.data_service.entity.Producto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductoService {
-    List<Producto> obtenerTodos();
-    Producto buscarPorId(Long id);
-    Producto guardar(Producto producto);
-    Producto actualizar(Long id, Producto producto);
+    List<ProductoDTO> obtenerTodos();
+    PaginaCursor<ProductoDTO> obtenerPagina(Long after, int limit);
+    void exportarCatalogo(Consumer<ProductoDTO> consumidor);
+    ProductoDTO buscarPorId(Long id);
+    List<ProductoDTO> buscarPorIds(Collection<Long> ids);
+    // Búsqueda de texto en nombre y descripción, de más a menos relevante
+    List<ProductoDTO> buscarPorTexto(String consulta, int limite);
+    // Autocompletado: nombres que empiezan con el prefijo, de mayor a menor peso
+    List<Sugerencia> sugerirNombres(String prefijo, int limite);
+    ProductoDTO guardar(Producto producto);
+    ProductoDTO actualizar(Long id, Producto producto);
     void eliminar(Long id);
 
-    List<Producto> buscarPorCategoria(String nombreCategoria);
+    List<ProductoDTO> buscarPorCategoria(String nombreCategoria);
+
+    // ETags de las lecturas condicionales, calculados sólo a partir de las versiones
+    String etagDe(Long id);
+    String etagDeCategoria(String nombreCategoria);
 }
\ No newline at end of file
@@ -1,5 +1,11 @@
 package com.mycompany.app.data_service.service;
 
+import com.mycompany.app.data_service.busqueda.IndiceInvertido;
+import com.mycompany.app.data_service.busqueda.IndiceProductos;
+import com.mycompany.app.data_service.dto.PaginaCursor;
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import com.mycompany.app.data_service.dto.Sugerencia;
+import com.mycompany.app.data_service.dto.VersionProducto;
 import com.mycompany.app.data_service.entity.Categoria;
 import com.mycompany.app.data_service.entity.Inventario;
 import com.mycompany.app.data_service.entity.Producto;
@@ -8,36 +14,128 @@ import com.mycompany.app.data_service.exceptions.ValidacionDatosException;
 import com.mycompany.app.data_service.repositories.CategoriaRepository;
 import com.mycompany.app.data_service.repositories.ProductoRepository;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "data.service")
 @RequiredArgsConstructor
 @Transactional
 public class ProductoServiceImpl implements ProductoService {
 
+    static final int LIMITE_MAXIMO_PAGINA = 500;
+    static final int MAXIMO_IDS_POR_CONSULTA = 200;
+    static final int LIMITE_MAXIMO_BUSQUEDA = 100;
+
     private final ProductoRepository productoRepository;
     private final CategoriaRepository categoriaRepository;
+    private final IndiceProductos indiceProductos;
 
     @Override
     @Transactional(readOnly = true)
-    public List<Producto> obtenerTodos() {
-        return productoRepository.findAll();
+    public List<ProductoDTO> obtenerTodos() {
+        return productoRepository.findAllAsDTO();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Producto buscarPorId(Long id) {
-        return productoRepository.findById(id)
+    public PaginaCursor<ProductoDTO> obtenerPagina(Long after, int limit) {
+        if (after == null || after < 0) {
+            throw new ValidacionDatosException("El cursor no puede ser nulo ni negativo.");
+        }
+        if (limit < 1 || limit > LIMITE_MAXIMO_PAGINA) {
+            throw new ValidacionDatosException("El límite debe estar entre 1 y " + LIMITE_MAXIMO_PAGINA + ".");
+        }
+        // Se pide una fila extra para saber si hay otra página sin hacer un COUNT
+        List<ProductoDTO> filas = productoRepository.findDTOsAfterId(after, Limit.of(limit + 1));
+        if (filas.size() <= limit) {
+            return new PaginaCursor<>(filas, null);
+        }
+        List<ProductoDTO> pagina = filas.subList(0, limit);
+        return new PaginaCursor<>(pagina, pagina.getLast().id());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarCatalogo(Consumer<ProductoDTO> consumidor) {
+        // No se materializa la lista: cada fila se entrega apenas la lee el cursor JDBC
+        try (Stream<ProductoDTO> productos = productoRepository.streamAllAsDTO()) {
+            productos.forEach(consumidor);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductoDTO buscarPorId(Long id) {
+        return productoRepository.findDTOById(id)
                 .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado id=" + id));
     }
 
     @Override
-    public Producto guardar(Producto producto) {
+    @Transactional(readOnly = true)
+    public List<ProductoDTO> buscarPorIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> distintos = new LinkedHashSet<>(ids);
+        if (distintos.size() > MAXIMO_IDS_POR_CONSULTA) {
+            throw new ValidacionDatosException("Se admiten hasta " + MAXIMO_IDS_POR_CONSULTA + " ids por consulta.");
+        }
+        // Los ids inexistentes simplemente no aparecen en la respuesta
+        return productoRepository.findDTOsByIdIn(distintos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductoDTO> buscarPorTexto(String consulta, int limite) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new ValidacionDatosException("La consulta de búsqueda es obligatoria.");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO_BUSQUEDA) {
+            throw new ValidacionDatosException("El límite debe estar entre 1 y " + LIMITE_MAXIMO_BUSQUEDA + ".");
+        }
+        // El índice sólo ordena ids; los datos salen de la base, como en el multi-get
+        List<Long> ids = indiceProductos.buscar(consulta, limite).stream()
+                .map(IndiceInvertido.Coincidencia::id)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductoDTO> porId = productoRepository.findDTOsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductoDTO::id, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
+    // Sale sólo del trie en memoria: sin transacción no se toma una conexión por cada tecla
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Sugerencia> sugerirNombres(String prefijo, int limite) {
+        if (limite < 1 || limite > indiceProductos.maximoSugerencias()) {
+            throw new ValidacionDatosException(
+                    "El límite debe estar entre 1 y " + indiceProductos.maximoSugerencias() + ".");
+        }
+        return indiceProductos.sugerir(prefijo == null ? "" : prefijo, limite);
+    }
+
+    @Override
+    public ProductoDTO guardar(Producto producto) {
         validarProducto(producto);
 
         Long categoriaId = producto.getCategoria() != null ? producto.getCategoria().getId() : null;
@@ -53,17 +151,21 @@ public class ProductoServiceImpl implements ProductoService {
             inv.setProducto(producto);
         }
 
-        return productoRepository.save(producto);
+        Producto entidad = productoRepository.save(producto);
+        ProductoDTO guardado = ProductoDTO.desde(entidad);
+        indiceProductos.indexar(guardado.id(), guardado.nombre(), guardado.descripcion(),
+                IndiceProductos.Stock.de(entidad.getInventario()));
+        return guardado;
     }
 
     @Override
     @Transactional
-    public Producto actualizar(Long id, Producto cambios) {
+    public ProductoDTO actualizar(Long id, Producto cambios) {
         // Para parcial: validar que haya al menos 1 campo a actualizar,
         // NO exigir todos los obligatorios como en crear()
         validarProductoParaActualizar(cambios);
 
-        Producto existente = buscarPorId(id);
+        Producto existente = buscarEntidad(id);
 
         // ----- Campos simples (parcial) -----
         if (cambios.getNombre() != null)      existente.setNombre(cambios.getNombre());
@@ -93,27 +195,69 @@ public class ProductoServiceImpl implements ProductoService {
             // fechaActualizacion se ajusta con @PreUpdate/@PrePersist si ya lo tenés
         }
 
-        return productoRepository.save(existente);
+        // El DTO se arma dentro de la transacción: con OSIV apagado no hay sesión al serializar.
+        // Flush para que la versión del inventario que recibe el índice sea la que se confirma
+        Producto entidad = productoRepository.saveAndFlush(existente);
+        ProductoDTO actualizado = ProductoDTO.desde(entidad);
+        indiceProductos.indexar(actualizado.id(), actualizado.nombre(), actualizado.descripcion(),
+                IndiceProductos.Stock.de(entidad.getInventario()));
+        return actualizado;
     }
 
 
     @Override
     public void eliminar(Long id) {
-        Producto existente = buscarPorId(id);
+        Producto existente = buscarEntidad(id);
 
         if (existente.getInventario() != null) {
             existente.setInventario(null);
         }
         productoRepository.delete(existente);
+        indiceProductos.quitar(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductoDTO> buscarPorCategoria(String nombreCategoria) {
+        return idDeCategoria(nombreCategoria)
+                .map(productoRepository::findDTOsByCategoriaId)
+                .orElse(List.of());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Producto> buscarPorCategoria(String nombreCategoria) {
+    public String etagDe(Long id) {
+        return productoRepository.findVersionById(id)
+                .map(VersionProducto::sello)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado id=" + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String etagDeCategoria(String nombreCategoria) {
+        List<String> sellos = idDeCategoria(nombreCategoria)
+                .map(productoRepository::findVersionesByCategoriaId)
+                .orElse(List.of())
+                .stream()
+                .map(VersionProducto::sello)
+                .toList();
+        return Etags.deListado("productos", sellos);
+    }
+
+    // Dos búsquedas por índice en vez de un join filtrado por nombre: la categoría por
+    // nombre_normalizado (casi siempre desde la caché de consultas) y sus productos por el
+    // rango de idx_productos_categoria. Una categoría inexistente es un listado vacío.
+    private Optional<Long> idDeCategoria(String nombreCategoria) {
         if (nombreCategoria == null || nombreCategoria.isBlank()) {
             throw new ValidacionDatosException("El nombre de la categoría es obligatorio.");
         }
-        return productoRepository.findByCategoria_NombreIgnoreCase(nombreCategoria.trim());
+        return categoriaRepository.findByNombreNormalizado(Categoria.normalizar(nombreCategoria))
+                .map(Categoria::getId);
+    }
+
+    private Producto buscarEntidad(Long id) {
+        return productoRepository.findById(id)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado id=" + id));
     }
 
     private void validarProducto(Producto p) {
@@ -0,0 +1,57 @@
+package com.mycompany.app.data_service.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Spans por método de repositorio (p.ej. {@code ProductoRepository.findDTOById}), entre el
+ * span del servicio ({@code @Observed}) y los de JDBC (datasource-micrometer). Sólo se abren
+ * dentro de una traza en curso: las consultas de arranque no generan trazas sueltas.
+ */
+@Configuration
+public class TracingConfig {
+
+    // Estático: los BeanPostProcessor se crean antes que el resto de los beans
+    @Bean
+    public static BeanPostProcessor spansDeRepositorioPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositorio) {
+                    repositorio.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, informacion) -> proxy.addAdvice(
+                                    spanDeRepositorio(tracer, informacion.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor spanDeRepositorio(ObjectProvider<Tracer> tracerProvider, Class<?> repositorio) {
+        return invocation -> {
+            Tracer tracer = tracerProvider.getIfAvailable();
+            if (tracer == null || tracer.currentSpan() == null) {
+                return invocation.proceed();
+            }
+            Span span = tracer.nextSpan()
+                    .name(repositorio.getSimpleName() + "." + invocation.getMethod().getName())
+                    .tag("repository", repositorio.getSimpleName())
+                    .tag("method", invocation.getMethod().getName())
+                    .start();
+            try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+                return invocation.proceed();
+            } catch (Throwable t) {
+                span.error(t);
+                throw t;
+            } finally {
+                span.end();
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+-- Categorías anteriores a la columna nombre_normalizado (ver Categoria.normalizar)
+UPDATE categorias SET nombre_normalizado = LOWER(TRIM(nombre)) WHERE nombre_normalizado IS NULL;
+
+-- Filas anteriores a las columnas version (@Version): la columna llega con default 0; si una
+-- versión previa del esquema la dejó nula, se completa para que Hibernate pueda compararla
+UPDATE categorias SET version = 0 WHERE version IS NULL;
+UPDATE productos SET version = 0 WHERE version IS NULL;
+
+-- Inventarios anteriores a la columna version (ajuste por delta): igual que arriba, y además el
+-- UPDATE del ajuste hace version = version + 1, que sobre una versión nula la deja nula
+UPDATE inventarios SET version = 0 WHERE version IS NULL;
+
+-- Inventarios anteriores a la columna stock_bajo: la columna llega con default false y la marca
+-- se recalcula como lo hacen Inventario y el ajuste por delta. Sólo toca filas desfasadas
+UPDATE inventarios SET stock_bajo = (cantidad <= stock_minimo) WHERE stock_bajo <> (cantidad <= stock_minimo);
+
+-- Secuencias de productos e inventarios (MySQL las emula con una tabla de una fila). En una
+-- base que ya tenía filas con ids AUTO_INCREMENT, ddl-auto=update las crea desde 1 y los
+-- próximos INSERT chocarían con ids existentes: se adelantan para que el próximo bloque de 50
+-- (allocationSize) empiece después de max(id). Con ids ya generados por la secuencia,
+-- next_val siempre supera a max(id) y no se tocan. Si la tabla de la secuencia quedó vacía
+-- se inicializa igual.
+INSERT INTO productos_seq (next_val)
+SELECT siguiente FROM (SELECT COALESCE(MAX(id), 0) + 50 AS siguiente FROM productos) ids
+WHERE NOT EXISTS (SELECT 1 FROM productos_seq);
+UPDATE productos_seq SET next_val = (SELECT MAX(id) + 50 FROM productos)
+WHERE next_val <= (SELECT MAX(id) FROM productos);
+INSERT INTO inventarios_seq (next_val)
+SELECT siguiente FROM (SELECT COALESCE(MAX(id), 0) + 50 AS siguiente FROM inventarios) ids
+WHERE NOT EXISTS (SELECT 1 FROM inventarios_seq);
+UPDATE inventarios_seq SET next_val = (SELECT MAX(id) + 50 FROM inventarios)
+WHERE next_val <= (SELECT MAX(id) FROM inventarios);
@@ -0,0 +1,24 @@
+-- Categorías anteriores a la columna nombre_normalizado (ver Categoria.normalizar)
+UPDATE categorias SET nombre_normalizado = LOWER(TRIM(nombre)) WHERE nombre_normalizado IS NULL;
+
+-- Filas anteriores a las columnas version (@Version): la columna llega con default 0; si una
+-- versión previa del esquema la dejó nula, se completa para que Hibernate pueda compararla
+UPDATE categorias SET version = 0 WHERE version IS NULL;
+UPDATE productos SET version = 0 WHERE version IS NULL;
+
+-- Inventarios anteriores a la columna version (ajuste por delta): igual que arriba, y además el
+-- UPDATE del ajuste hace version = version + 1, que sobre una versión nula la deja nula
+UPDATE inventarios SET version = 0 WHERE version IS NULL;
+
+-- Inventarios anteriores a la columna stock_bajo: la columna llega con default false y la marca
+-- se recalcula como lo hacen Inventario y el ajuste por delta. Sólo toca filas desfasadas
+UPDATE inventarios SET stock_bajo = (cantidad <= stock_minimo) WHERE stock_bajo <> (cantidad <= stock_minimo);
+
+-- Secuencias de productos e inventarios. En una base que ya tenía filas con ids IDENTITY,
+-- ddl-auto=update las crea desde 1 y los próximos INSERT chocarían con ids existentes: se
+-- adelantan para que el próximo bloque de 50 (allocationSize) empiece después de max(id). Con
+-- ids ya generados por la secuencia, last_value siempre alcanza a max(id) y no se tocan.
+SELECT setval('productos_seq', (SELECT MAX(id) FROM productos) + 50, false)
+WHERE (SELECT MAX(id) FROM productos) > (SELECT last_value FROM productos_seq);
+SELECT setval('inventarios_seq', (SELECT MAX(id) FROM inventarios) + 50, false)
+WHERE (SELECT MAX(id) FROM inventarios) > (SELECT last_value FROM inventarios_seq);
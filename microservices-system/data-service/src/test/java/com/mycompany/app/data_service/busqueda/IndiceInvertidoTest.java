@@ -0,0 +1,96 @@
+package com.mycompany.app.data_service.busqueda;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceInvertidoTest {
+
+    private final IndiceInvertido indice = new IndiceInvertido();
+
+    private List<Long> ids(String consulta) {
+        return indice.buscar(consulta, 10).stream().map(IndiceInvertido.Coincidencia::id).toList();
+    }
+
+    @Test
+    void cuandoLaConsultaDifiereEnTildesYMayusculas_entoncesCoincide() {
+        indice.indexar(1, "Cámara Réflex", "Lente 18-55 incluído");
+
+        assertThat(ids("CAMARA reflex")).containsExactly(1L);
+        assertThat(ids("incluido")).containsExactly(1L);
+        assertThat(ids("18")).containsExactly(1L);
+    }
+
+    @Test
+    void cuandoHayVariosDocumentos_entoncesOrdenaPorRelevanciaBM25() {
+        indice.indexar(1, "Teclado mecánico", "Teclado con switches rojos y teclado numérico");
+        indice.indexar(2, "Teclado inalámbrico", "Compacto");
+        indice.indexar(3, "Mouse inalámbrico", "Sensor óptico");
+        indice.indexar(4, "Monitor", "Panel IPS de 27 pulgadas con soporte regulable y parlantes");
+
+        // Tres ocurrencias pesan más que un documento más corto con una sola
+        assertThat(ids("teclado")).containsExactly(1L, 2L);
+        // "teclado inalámbrico": el 2 tiene ambos términos
+        assertThat(ids("teclado inalambrico").getFirst()).isEqualTo(2L);
+        assertThat(ids("inalambrico")).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids("impresora")).isEmpty();
+    }
+
+    @Test
+    void cuandoSeReindexaOQuita_entoncesLasBusquedasReflejanElCambio() {
+        indice.indexar(1, "Silla gamer", "Reclinable");
+        indice.indexar(2, "Silla de oficina", null);
+
+        indice.indexar(1, "Escritorio gamer", "Con portavasos");
+        assertThat(ids("silla")).containsExactly(2L);
+        assertThat(ids("escritorio")).containsExactly(1L);
+        assertThat(ids("reclinable")).isEmpty();
+
+        indice.quitar(2);
+        assertThat(ids("silla")).isEmpty();
+        assertThat(indice.tamanio()).isEqualTo(1);
+
+        // La posición liberada se reutiliza sin mezclar datos del documento anterior
+        indice.indexar(3, "Lámpara de escritorio", null);
+        assertThat(ids("escritorio")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids("oficina")).isEmpty();
+    }
+
+    @Test
+    void cuandoSeQuitanDocumentosIntercalados_entoncesLasOcurrenciasRestantesSiguenUbicadas() {
+        for (long id = 1; id <= 20; id++) {
+            indice.indexar(id, "Producto común", "Código t" + id);
+        }
+        for (long id = 2; id <= 20; id += 2) {
+            indice.quitar(id);
+        }
+        indice.quitar(1);
+        indice.indexar(19, "Producto renovado", "Código t19");
+
+        assertThat(indice.buscar("comun", 100)).extracting(IndiceInvertido.Coincidencia::id)
+                .containsExactlyInAnyOrder(3L, 5L, 7L, 9L, 11L, 13L, 15L, 17L);
+        assertThat(ids("renovado")).containsExactly(19L);
+        // Varios términos poco frecuentes: acumula en la tabla hash en lugar del arreglo denso
+        assertThat(ids("t7 t19 t20")).containsExactlyInAnyOrder(7L, 19L);
+    }
+
+    @Test
+    void cuandoHayMasCoincidenciasQueElLimite_entoncesDevuelveLasMejores() {
+        for (long id = 1; id <= 50; id++) {
+            indice.indexar(id, "Cable USB", "Cable de " + id + " metros");
+        }
+        indice.indexar(100, "Cable", null);
+
+        List<IndiceInvertido.Coincidencia> resultado = indice.buscar("cable", 5);
+
+        assertThat(resultado).hasSize(5);
+        // Una ocurrencia en un documento de un solo término supera a dos en uno de seis
+        assertThat(resultado.getFirst().id()).isEqualTo(100L);
+        assertThat(resultado).isSortedAccordingTo((a, b) -> Double.compare(b.puntaje(), a.puntaje()));
+        // Empates: menor id primero
+        assertThat(resultado.subList(1, 5)).extracting(IndiceInvertido.Coincidencia::id)
+                .containsExactly(1L, 2L, 3L, 4L);
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.app.data_service.busqueda;
+
+import com.mycompany.app.data_service.dto.Sugerencia;
+import com.mycompany.app.data_service.repositories.ProductoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// Sin transacción activa cada cambio se aplica al llamar: el orden de las llamadas simula
+// el orden en que corren los afterCommit
+class IndiceProductosTest {
+
+    private final IndiceProductos indice = new IndiceProductos(mock(ProductoRepository.class),
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 5,
+            IndiceProductos.PesoSugerencia.STOCK);
+
+    private List<Sugerencia> sugerencias(String prefijo) {
+        return indice.sugerir(prefijo, 5);
+    }
+
+    @Test
+    void cuandoUnAjusteMasViejoLlegaDespues_entoncesSeDescarta() {
+        indice.indexar(1L, "Mate", null, new IndiceProductos.Stock(10L, 0, 5));
+
+        indice.actualizarStock(1L, new IndiceProductos.Stock(10L, 2, 7));
+        indice.actualizarStock(1L, new IndiceProductos.Stock(10L, 1, 6));
+
+        assertEquals(List.of(new Sugerencia("Mate", 7)), sugerencias("ma"));
+    }
+
+    @Test
+    void cuandoUnCambioDelProductoLlegaTarde_entoncesTomaSuNombreYConservaElStockMasNuevo() {
+        indice.indexar(1L, "Mate", null, new IndiceProductos.Stock(10L, 0, 5));
+        indice.actualizarStock(1L, new IndiceProductos.Stock(10L, 2, 9));
+
+        indice.indexar(1L, "Mate calabaza", null, new IndiceProductos.Stock(10L, 1, 5));
+
+        assertEquals(List.of(new Sugerencia("Mate calabaza", 9)), sugerencias("ma"));
+    }
+
+    @Test
+    void cuandoSeBorraElInventario_entoncesLosAjustesAtrasadosNoDevuelvenStock() {
+        indice.indexar(1L, "Termo", null, new IndiceProductos.Stock(10L, 0, 5));
+
+        indice.actualizarStock(1L, IndiceProductos.Stock.borrado(10L));
+        indice.actualizarStock(1L, new IndiceProductos.Stock(10L, 3, 8));
+        assertEquals(List.of(new Sugerencia("Termo", 0)), sugerencias("te"));
+
+        // Otro inventario del mismo producto no se compara con el borrado
+        indice.actualizarStock(1L, new IndiceProductos.Stock(11L, 0, 4));
+        assertEquals(List.of(new Sugerencia("Termo", 4)), sugerencias("te"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.mycompany.app.data_service.busqueda;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrieSugerenciasTest {
+
+    private final TrieSugerencias trie = new TrieSugerencias(3);
+    private final String[] textos = new String[3];
+    private final long[] pesos = new long[3];
+
+    private List<String> sugerir(String prefijo) {
+        int cantidad = trie.sugerir(prefijo, textos, pesos);
+        return Arrays.asList(textos).subList(0, cantidad);
+    }
+
+    @Test
+    void cuandoElPrefijoDifiereEnTildesMayusculasOSeparadores_entoncesCoincide() {
+        trie.actualizar("Cámara Réflex", 5, 1);
+
+        assertThat(sugerir("CAMA")).containsExactly("Cámara Réflex");
+        assertThat(sugerir("  camara   re")).containsExactly("Cámara Réflex");
+        assertThat(sugerir("camara-reflex")).containsExactly("Cámara Réflex");
+        // Marca combinante suelta (NFD) en la consulta
+        assertThat(sugerir("cámara")).containsExactly("Cámara Réflex");
+        assertThat(sugerir("camaras")).isEmpty();
+        assertThat(sugerir("reflex")).isEmpty();
+    }
+
+    @Test
+    void cuandoElTextoEstaFueraDelLatin_entoncesSePliegaIgual() {
+        trie.actualizar("Ώρα Йогурт", 5, 1);
+        // Letra fuera del plano básico (U+1D400, negrita matemática) y un emoji entre palabras
+        trie.actualizar("\uD835\uDC00lfa\uD83D\uDE00beta", 3, 1);
+
+        assertThat(sugerir("ωρα йо")).containsExactly("Ώρα Йогурт");
+        assertThat(sugerir("\uD835\uDC00lfa")).containsExactly("\uD835\uDC00lfa\uD83D\uDE00beta");
+        // El emoji es un separador, como un espacio o un guion
+        assertThat(sugerir("\uD835\uDC00lfa beta")).containsExactly("\uD835\uDC00lfa\uD83D\uDE00beta");
+        assertThat(sugerir("\uD835\uDC00lfa-beta")).containsExactly("\uD835\uDC00lfa\uD83D\uDE00beta");
+        assertThat(sugerir("alfa")).isEmpty();
+        assertThat(sugerir("lfa")).isEmpty();
+    }
+
+    @Test
+    void cuandoSeQuitanLaMayoriaDeLosTextos_entoncesElTrieSeCompacta() {
+        for (int i = 0; i < 1000; i++) {
+            trie.actualizar("Producto " + i, i, 1);
+        }
+        int nodosLleno = trie.nodos();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 100 != 7) {
+                trie.actualizar("Producto " + i, -i, -1);
+            }
+        }
+
+        assertThat(trie.tamanio()).isEqualTo(10);
+        assertThat(trie.nodos()).isLessThan(nodosLleno / 10);
+        assertThat(sugerir("producto")).containsExactly("Producto 907", "Producto 807", "Producto 707");
+        assertThat(sugerir("producto 1")).containsExactly("Producto 107");
+        assertThat(sugerir("producto 2")).containsExactly("Producto 207");
+        // Lo que queda sigue actualizándose después de compactar
+        trie.actualizar("Producto 7", 2000, 0);
+        assertThat(sugerir("producto")).containsExactly("Producto 7", "Producto 907", "Producto 807");
+    }
+
+    @Test
+    void cuandoHayMasCandidatosQueElMaximo_entoncesDevuelveLosDeMayorPeso() {
+        trie.actualizar("Mate imperial", 4, 1);
+        trie.actualizar("Mate camionero", 9, 1);
+        trie.actualizar("Matera de cuero", 1, 1);
+        trie.actualizar("Mate de calabaza", 4, 1);
+        trie.actualizar("Monitor", 50, 1);
+
+        int cantidad = trie.sugerir("mat", textos, pesos);
+        // A igual peso, orden alfabético; Matera queda afuera del top 3
+        assertThat(Arrays.asList(textos).subList(0, cantidad))
+                .containsExactly("Mate camionero", "Mate de calabaza", "Mate imperial");
+        assertThat(Arrays.copyOf(pesos, cantidad)).containsExactly(9, 4, 4);
+        assertThat(sugerir("")).containsExactly("Monitor", "Mate camionero", "Mate de calabaza");
+        assertThat(sugerir("matera")).containsExactly("Matera de cuero");
+    }
+
+    @Test
+    void cuandoCambianPesosYReferencias_entoncesSeReordenaYSeQuitaLaEntrada() {
+        trie.actualizar("Termo acero", 2, 1);
+        trie.actualizar("Termo", 3, 1);
+        trie.actualizar("Termo acero", 3, 1);
+        assertThat(trie.tamanio()).isEqualTo(2);
+        assertThat(sugerir("ter")).containsExactly("Termo acero", "Termo");
+
+        trie.actualizar("termo ACERO", -5, -2);
+        assertThat(trie.tamanio()).isEqualTo(1);
+        assertThat(sugerir("ter")).containsExactly("Termo");
+        assertThat(sugerir("termo a")).isEmpty();
+
+        // El nodo que quedó sin entrada se reutiliza con la forma del nuevo texto
+        trie.actualizar("Termo Acero Inoxidable", 1, 1);
+        assertThat(sugerir("termo a")).containsExactly("Termo Acero Inoxidable");
+        // Un descuento sobre un texto que no existe no crea nada
+        trie.actualizar("Termolar", -1, -1);
+        assertThat(trie.tamanio()).isEqualTo(2);
+    }
+
+    @Test
+    void cuandoSeSugiereTrasCalentar_entoncesNoReservaMemoria() {
+        String[] prefijos = {"mate", "m", "mouse inal", "zzz", "", "ωρα"};
+        trie.actualizar("Mate imperial", 4, 1);
+        trie.actualizar("Mouse inalámbrico", 2, 1);
+        trie.actualizar("Monitor", 7, 1);
+        trie.actualizar("Ώρα", 1, 1);
+        for (int i = 0; i < 20_000; i++) {
+            trie.sugerir(prefijos[i % prefijos.length], textos, pesos);
+        }
+
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long hilo = Thread.currentThread().threadId();
+        long antes = hilos.getThreadAllocatedBytes(hilo);
+        for (int i = 0; i < 20_000; i++) {
+            trie.sugerir(prefijos[i % prefijos.length], textos, pesos);
+        }
+        long reservados = hilos.getThreadAllocatedBytes(hilo) - antes;
+
+        // Margen para lo que reserva la propia medición; 20 mil consultas con un objeto cada una serían ~300 KB
+        assertThat(reservados).isLessThan(1024);
+    }
+}
@@ -0,0 +1,263 @@
+package com.mycompany.app.data_service.config;
+
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Producto;
+import com.mycompany.app.data_service.exceptions.RecursoNoEncontradoException;
+import com.mycompany.app.data_service.service.CategoriaService;
+import com.mycompany.app.data_service.service.ProductoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Primaria y réplica son dos bases H2 en memoria. No hay replicación real: la réplica recibe
+ * una copia de la primaria al comienzo y después difiere en un nombre, así cada lectura
+ * muestra de qué base salió.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + EnrutadorLecturasTest.PRIMARIA,
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "data.datasource.replicas[0].url=" + EnrutadorLecturasTest.REPLICA,
+        "data.datasource.replicas[0].username=sa",
+        "data.datasource.replicas[0].consulta-retraso=SELECT retraso_ms FROM estado_replica",
+        "data.datasource.retraso-maximo=500ms",
+        // Las mediciones las dispara el test
+        "data.datasource.intervalo-verificacion=1h"
+})
+@ActiveProfiles("test")
+class EnrutadorLecturasTest {
+
+    static final String PRIMARIA = "jdbc:h2:mem:enrutamiento-primaria;DB_CLOSE_DELAY=-1";
+    static final String REPLICA = "jdbc:h2:mem:enrutamiento-replica;DB_CLOSE_DELAY=-1";
+    private static final long VENTANA_ESCRITURA_MS = 500;
+
+    @Autowired ProductoService productoService;
+    @Autowired CategoriaService categoriaService;
+    @Autowired EnrutadorLecturas enrutadorLecturas;
+    @Autowired MeterRegistry meterRegistry;
+
+    private Long productoId;
+    private Long categoriaId;
+    // Contadores al comenzar cada test: el contexto se comparte entre tests
+    private final Map<String, Double> alComenzar = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Réplicas " + UUID.randomUUID());
+        Producto producto = new Producto();
+        producto.setNombre("Original");
+        producto.setPrecio(BigDecimal.TEN);
+        categoriaId = categoriaService.guardar(categoria).getId();
+        producto.setCategoriaIdFromJson(categoriaId);
+        productoId = productoService.guardar(producto).id();
+
+        replicar();
+        ejecutar(REPLICA, "UPDATE productos SET nombre = 'En la réplica' WHERE id = " + productoId);
+        Thread.sleep(VENTANA_ESCRITURA_MS + 100);
+        enrutadorLecturas.verificarReplicas();
+        for (String clave : new String[]{"replica-1/replica", "primaria/escritura-reciente", "primaria/sin-replica-al-dia"}) {
+            alComenzar.put(clave, contador(clave));
+        }
+    }
+
+    @Test
+    @DisplayName("readOnly va a la réplica; tras una escritura, a la primaria hasta que pasa la ventana")
+    void lecturasConLecturaPropiaTrasEscribir() throws Exception {
+        assertThat(nombreLeido()).isEqualTo("En la réplica");
+        assertThat(lecturas("replica-1", "replica")).isEqualTo(1);
+
+        Producto cambios = new Producto();
+        cambios.setNombre("Modificado");
+        productoService.actualizar(productoId, cambios);
+
+        // Quien acaba de escribir lee su escritura, aunque la réplica todavía no la tenga
+        assertThat(nombreLeido()).isEqualTo("Modificado");
+        assertThat(lecturas("primaria", "escritura-reciente")).isEqualTo(1);
+
+        Thread.sleep(VENTANA_ESCRITURA_MS + 100);
+        assertThat(nombreLeido()).isEqualTo("En la réplica");
+        assertThat(lecturas("replica-1", "replica")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Las escrituras continuas de otro llamador no desvían las lecturas de la réplica")
+    void escriturasAjenas_noDesvianLecturas() throws Exception {
+        Producto otro = new Producto();
+        otro.setNombre("Escrito por otro");
+        otro.setPrecio(BigDecimal.ONE);
+        otro.setCategoriaIdFromJson(categoriaId);
+        Long otroId = productoService.guardar(otro).id();
+        Thread.sleep(VENTANA_ESCRITURA_MS + 100);
+
+        AtomicBoolean seguir = new AtomicBoolean(true);
+        AtomicInteger escrituras = new AtomicInteger();
+        Thread escritor = Thread.ofPlatform().start(() -> {
+            while (seguir.get()) {
+                Producto cambios = new Producto();
+                cambios.setNombre("Escrito por otro " + escrituras.incrementAndGet());
+                productoService.actualizar(otroId, cambios);
+            }
+        });
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertThat(nombreLeido()).isEqualTo("En la réplica");
+                Thread.sleep(20);
+            }
+        } finally {
+            seguir.set(false);
+            escritor.join();
+        }
+        assertThat(escrituras.get()).isGreaterThan(5);
+        assertThat(lecturas("replica-1", "replica")).isEqualTo(5);
+        assertThat(lecturas("primaria", "escritura-reciente")).isZero();
+    }
+
+    @Test
+    @DisplayName("Con sesiones, sólo quien presenta la marca de su escritura lee de la primaria")
+    void sesiones_laMarcaDeEscrituraEsDeQuienEscribio() {
+        AtomicLong marca = new AtomicLong();
+        enrutadorLecturas.abrirSesion(0, marca::set);
+        try {
+            Producto cambios = new Producto();
+            cambios.setNombre("Modificado");
+            productoService.actualizar(productoId, cambios);
+        } finally {
+            enrutadorLecturas.cerrarSesion();
+        }
+        assertThat(marca.get()).isPositive();
+
+        // Otro llamador, sin marca
+        enrutadorLecturas.abrirSesion(0, escritura -> {
+        });
+        try {
+            assertThat(nombreLeido()).isEqualTo("En la réplica");
+        } finally {
+            enrutadorLecturas.cerrarSesion();
+        }
+
+        // Quien escribió, en su request siguiente
+        enrutadorLecturas.abrirSesion(marca.get(), escritura -> {
+        });
+        try {
+            assertThat(nombreLeido()).isEqualTo("Modificado");
+        } finally {
+            enrutadorLecturas.cerrarSesion();
+        }
+        assertThat(lecturas("replica-1", "replica")).isEqualTo(1);
+        assertThat(lecturas("primaria", "escritura-reciente")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Lo leído de una réplica atrasada no queda en la caché de consultas")
+    void replicaAtrasada_noLlenaLaCacheDeConsultas() {
+        // La categoría se crea en la primaria; la réplica no la ve
+        String nombre = "Nueva " + UUID.randomUUID();
+        AtomicLong marca = new AtomicLong();
+        enrutadorLecturas.abrirSesion(0, marca::set);
+        try {
+            Categoria nueva = new Categoria();
+            nueva.setNombre(nombre);
+            categoriaService.guardar(nueva);
+        } finally {
+            enrutadorLecturas.cerrarSesion();
+        }
+
+        // Otro llamador la busca (consulta cacheable) dentro del retraso de la réplica
+        enrutadorLecturas.abrirSesion(0, escritura -> {
+        });
+        try {
+            assertThatThrownBy(() -> categoriaService.buscarPorNombre(nombre))
+                    .isInstanceOf(RecursoNoEncontradoException.class);
+        } finally {
+            enrutadorLecturas.cerrarSesion();
+        }
+        assertThat(lecturas("replica-1", "replica")).isEqualTo(1);
+
+        // Quien la creó la encuentra: el resultado vacío de la réplica no quedó cacheado
+        enrutadorLecturas.abrirSesion(marca.get(), escritura -> {
+        });
+        try {
+            assertThat(categoriaService.buscarPorNombre(nombre).getNombre()).isEqualTo(nombre);
+        } finally {
+            enrutadorLecturas.cerrarSesion();
+        }
+        assertThat(lecturas("primaria", "escritura-reciente")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Una réplica con más retraso que el máximo queda fuera hasta volver a estar al día")
+    void replicaAtrasada_leeDeLaPrimaria() throws Exception {
+        ejecutar(REPLICA, "UPDATE estado_replica SET retraso_ms = 5000");
+        enrutadorLecturas.verificarReplicas();
+
+        assertThat(nombreLeido()).isEqualTo("Original");
+        assertThat(lecturas("primaria", "sin-replica-al-dia")).isEqualTo(1);
+
+        ejecutar(REPLICA, "UPDATE estado_replica SET retraso_ms = 20");
+        enrutadorLecturas.verificarReplicas();
+        assertThat(nombreLeido()).isEqualTo("En la réplica");
+    }
+
+    private String nombreLeido() {
+        return productoService.obtenerTodos().stream()
+                .filter(p -> p.id().equals(productoId))
+                .map(ProductoDTO::nombre)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private double lecturas(String destino, String motivo) {
+        String clave = destino + "/" + motivo;
+        return contador(clave) - alComenzar.get(clave);
+    }
+
+    private double contador(String clave) {
+        String[] partes = clave.split("/");
+        return meterRegistry.get("data.datasource.lecturas")
+                .tag("destino", partes[0]).tag("motivo", partes[1]).counter().count();
+    }
+
+    // "Replicación" completa: la réplica queda igual a la primaria, con su tabla de retraso en 0
+    private void replicar() throws Exception {
+        Path copia = Files.createTempFile("primaria", ".sql");
+        try {
+            ejecutar(PRIMARIA, "SCRIPT TO '" + copia + "'");
+            ejecutar(REPLICA, "DROP ALL OBJECTS");
+            ejecutar(REPLICA, "RUNSCRIPT FROM '" + copia + "'");
+            ejecutar(REPLICA, "CREATE TABLE estado_replica (retraso_ms BIGINT)");
+            ejecutar(REPLICA, "INSERT INTO estado_replica VALUES (0)");
+        } finally {
+            Files.deleteIfExists(copia);
+        }
+    }
+
+    private static void ejecutar(String url, String sql) throws Exception {
+        try (Connection conexion = DriverManager.getConnection(url, "sa", "");
+             Statement sentencia = conexion.createStatement()) {
+            sentencia.execute(sql);
+        }
+    }
+}
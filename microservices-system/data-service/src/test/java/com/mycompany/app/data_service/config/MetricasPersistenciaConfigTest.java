@@ -0,0 +1,97 @@
+package com.mycompany.app.data_service.config;
+
+import com.mycompany.app.data_service.DataServiceApplication;
+import com.mycompany.app.data_service.repositories.ProductoRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        classes = DataServiceApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "data.metricas.hibernate-estadisticas=true"
+)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricasPersistenciaConfigTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired TestRestTemplate rest;
+    @Autowired ProductoRepository productoRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Cada método de repositorio publica cuántas sentencias SQL preparó")
+    void sentenciasPorMetodoDeRepositorio() {
+        productoRepository.findDTOsByIdIn(List.of(1L, 2L, 3L));
+        productoRepository.findDTOsByIdIn(List.of(4L));
+
+        DistributionSummary sentencias = meterRegistry.get("data.repository.sentencias")
+                .tag("repository", "ProductoRepository")
+                .tag("method", "findDTOsByIdIn")
+                .summary();
+        assertThat(sentencias.count()).isEqualTo(2);
+        assertThat(sentencias.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Cada endpoint publica cuántas sentencias SQL ejecutó por request")
+    void sentenciasPorRequest() {
+        DistributionSummary sentencias = meterRegistry.find("data.http.sentencias")
+                .tag("method", "POST").tag("uri", "/data/categorias").summary();
+        long requestsAntes = sentencias != null ? sentencias.count() : 0;
+        double totalAntes = sentencias != null ? sentencias.totalAmount() : 0;
+
+        for (int i = 0; i < 2; i++) {
+            rest.exchange(RequestEntity.post("http://localhost:" + port + "/data/categorias")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("nombre", "Sentencias " + UUID.randomUUID())), String.class);
+        }
+
+        sentencias = meterRegistry.get("data.http.sentencias")
+                .tag("method", "POST").tag("uri", "/data/categorias").summary();
+        // Un insert por categoría
+        assertThat(sentencias.count() - requestsAntes).isEqualTo(2);
+        assertThat(sentencias.totalAmount() - totalAntes).isEqualTo(2);
+        assertThat(meterRegistry.get("data.http.sentencias.tiempo")
+                .tag("method", "POST").tag("uri", "/data/categorias").timer().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus expone endpoints, Hibernate, Hikari y repositorios")
+    void prometheus_exponeMetricas() {
+        rest.getForEntity("http://localhost:" + port + "/data/categorias", String.class);
+        productoRepository.count();
+
+        ResponseEntity<String> resp = rest.getForEntity("http://localhost:" + port + "/actuator/prometheus", String.class);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getBody()).contains(
+                "http_server_requests_seconds_bucket{application=\"data-service\"",
+                "uri=\"/data/categorias\"",
+                "hibernate_statements_total",
+                "hikaricp_connections_max",
+                "spring_data_repository_invocations_seconds_bucket",
+                "data_repository_sentencias_sum",
+                "data_http_sentencias_sum");
+    }
+}
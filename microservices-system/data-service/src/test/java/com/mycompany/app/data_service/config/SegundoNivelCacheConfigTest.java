@@ -0,0 +1,120 @@
+package com.mycompany.app.data_service.config;
+
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Producto;
+import com.mycompany.app.data_service.service.CategoriaService;
+import com.mycompany.app.data_service.service.ProductoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "data.metricas.hibernate-estadisticas=true")
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class SegundoNivelCacheConfigTest {
+
+    @Autowired CategoriaService categoriaService;
+    @Autowired ProductoService productoService;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Categoria crearCategoria(String nombre) {
+        Categoria c = new Categoria();
+        c.setNombre(nombre);
+        return categoriaService.guardar(c);
+    }
+
+    private void guardarProducto(String nombre, Categoria categoria) {
+        Producto p = new Producto();
+        p.setNombre(nombre);
+        p.setPrecio(BigDecimal.ONE);
+        p.setCategoriaIdFromJson(categoria.getId());
+        productoService.guardar(p);
+    }
+
+    @Test
+    @DisplayName("Alta de productos: la categoría sale de la región categorias, sin SELECT")
+    void guardarProducto_categoriaDesdeSegundoNivel() {
+        Categoria categoria = crearCategoria("Segundo nivel");
+        guardarProducto("2LC inicial", categoria);
+        statistics.clear();
+
+        for (int i = 0; i < 3; i++) {
+            guardarProducto("2LC " + i, categoria);
+        }
+
+        assertThat(statistics.getDomainDataRegionStatistics("categorias").getHitCount()).isEqualTo(3);
+        assertThat(statistics.getEntityStatistics(Categoria.class.getName()).getLoadCount()).isZero();
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "categorias").tag("result", "hit").functionCounter().count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("buscarPorNombre: la segunda búsqueda usa la caché de consultas y se invalida al escribir")
+    void buscarPorNombre_cacheDeConsultas() {
+        Categoria categoria = crearCategoria("Consultas");
+        statistics.clear();
+
+        categoriaService.buscarPorNombre("consultas");
+        categoriaService.buscarPorNombre("consultas");
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+
+        Categoria cambios = new Categoria();
+        cambios.setDescripcion("Actualizada");
+        categoriaService.actualizar(categoria.getId(), cambios);
+
+        assertThat(categoriaService.buscarPorNombre("consultas").getDescripcion()).isEqualTo("Actualizada");
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+    }
+
+    @Nested
+    @TestPropertySource(properties = "data.metricas.hibernate-estadisticas=false")
+    class SinEstadisticasDeHibernate {
+
+        @Autowired CategoriaService categoriaService;
+        @Autowired EntityManagerFactory entityManagerFactory;
+        @Autowired MeterRegistry meterRegistry;
+
+        @Test
+        @DisplayName("Las regiones publican cache.gets aunque las estadísticas de Hibernate estén apagadas")
+        void metricasPorRegion() {
+            assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().isStatisticsEnabled()).isFalse();
+            Categoria categoria = new Categoria();
+            categoria.setNombre("Metricas " + UUID.randomUUID());
+            categoria = categoriaService.guardar(categoria);
+
+            categoriaService.buscarPorNombre(categoria.getNombre());
+            categoriaService.buscarPorNombre(categoria.getNombre());
+
+            assertThat(meterRegistry.get("cache.gets").tag("cache", SegundoNivelCacheConfig.REGION_CONSULTAS)
+                    .tag("result", "hit").functionCounter().count()).isGreaterThanOrEqualTo(1);
+            assertThat(meterRegistry.get("cache.gets").tag("cache", SegundoNivelCacheConfig.REGION_CONSULTAS)
+                    .tag("result", "miss").functionCounter().count()).isGreaterThanOrEqualTo(1);
+            assertThat(meterRegistry.get("cache.puts").tag("cache", SegundoNivelCacheConfig.REGION_CATEGORIAS)
+                    .functionCounter().count()).isGreaterThanOrEqualTo(1);
+        }
+    }
+}
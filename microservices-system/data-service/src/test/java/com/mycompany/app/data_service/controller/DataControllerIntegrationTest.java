@@ -2,17 +2,24 @@ package com.mycompany.app.data_service.controller;
 
 import com.mycompany.app.data_service.DataServiceApplication;
 import com.mycompany.app.data_service.entity.Producto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.*;
 
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -21,18 +28,32 @@ import static org.assertj.core.api.Assertions.assertThat;
         webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
 )
 @ActiveProfiles("test")
+@Import(VerificadorPresupuestoSql.class)
 class DataControllerIntegrationTest {
 
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @LocalServerPort
     int port;
 
     @Autowired
     private TestRestTemplate rest;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VerificadorPresupuestoSql presupuestoSql;
+
     private String url(String path) {
         return "http://localhost:" + port + "/data" + path;
     }
 
+    @AfterEach
+    void verificarPresupuestosSql() {
+        presupuestoSql.verificar();
+    }
+
     @Test
     @DisplayName("GET /data/productos/999 → 404 cuando no existe")
     void getProductoInexistente_notFound() {
@@ -64,4 +85,293 @@ class DataControllerIntegrationTest {
 
         assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
+
+    @Test
+    @DisplayName("GET /data/productos/pagina → recorre el catálogo por cursor hasta siguienteCursor null")
+    void getPaginaDeProductos_porCursor() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Map<?, ?> categoria = rest.postForObject(url("/categorias"),
+                new HttpEntity<>(Map.of("nombre", "Paginación"), headers), Map.class);
+        Number categoriaId = (Number) categoria.get("id");
+
+        Long primerId = null;
+        for (int i = 1; i <= 3; i++) {
+            Map<?, ?> creado = rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                    "nombre", "Pag " + i,
+                    "precio", 10 * i,
+                    "categoriaId", categoriaId,
+                    "stock", i), headers), Map.class);
+            if (primerId == null) primerId = ((Number) creado.get("id")).longValue();
+        }
+
+        Map<?, ?> pagina1 = rest.getForObject(url("/productos/pagina?after=" + (primerId - 1) + "&limit=2"), Map.class);
+        assertThat((List<?>) pagina1.get("items")).hasSize(2);
+        assertThat(((Number) pagina1.get("siguienteCursor")).longValue()).isEqualTo(primerId + 1);
+
+        Map<?, ?> pagina2 = rest.getForObject(url("/productos/pagina?after=" + pagina1.get("siguienteCursor") + "&limit=2"), Map.class);
+        assertThat((List<?>) pagina2.get("items")).hasSize(1);
+        assertThat(pagina2.get("siguienteCursor")).isNull();
+    }
+
+    @Test
+    @DisplayName("GET /data/productos/{id} y /data/inventario/stock-bajo → proyecciones con OSIV apagado")
+    void lecturas_devuelvenProyecciones() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Map<?, ?> categoria = rest.postForObject(url("/categorias"),
+                new HttpEntity<>(Map.of("nombre", "Proyecciones"), headers), Map.class);
+        Map<?, ?> creado = rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                "nombre", "Yerba",
+                "precio", 10,
+                "categoriaId", categoria.get("id"),
+                "stock", 1,
+                "stockMinimo", 5), headers), Map.class);
+        Number id = (Number) creado.get("id");
+        assertThat(creado.get("categoriaNombre")).isEqualTo("Proyecciones");
+
+        Map<?, ?> leido = rest.getForObject(url("/productos/" + id), Map.class);
+        assertThat(leido.get("categoriaNombre")).isEqualTo("Proyecciones");
+        assertThat(leido.get("stock")).isEqualTo(1);
+        assertThat(leido.get("stockBajo")).isEqualTo(true);
+
+        List<?> stockBajo = rest.getForObject(url("/inventario/stock-bajo"), List.class);
+        assertThat(stockBajo).anySatisfy(item ->
+                assertThat(((Number) ((Map<?, ?>) item).get("productoId")).longValue()).isEqualTo(id.longValue()));
+    }
+
+    @Test
+    @DisplayName("GET /data/productos/{id} con Accept Smile → cuerpo Smile; sin Accept sigue en JSON")
+    void getProducto_negociaSmile() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<?, ?> categoria = rest.postForObject(url("/categorias"),
+                new HttpEntity<>(Map.of("nombre", "Smile"), headers), Map.class);
+        Map<?, ?> creado = rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                "nombre", "Termo",
+                "precio", new BigDecimal("1999.99"),
+                "categoriaId", categoria.get("id"),
+                "stock", 3), headers), Map.class);
+        Number id = (Number) creado.get("id");
+
+        HttpHeaders accept = new HttpHeaders();
+        accept.setAccept(List.of(SMILE, MediaType.APPLICATION_JSON));
+        ResponseEntity<byte[]> resp = rest.exchange(url("/productos/" + id), HttpMethod.GET,
+                new HttpEntity<>(accept), byte[].class);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getHeaders().getContentType().isCompatibleWith(SMILE)).isTrue();
+        JsonNode producto = new SmileMapper().readTree(resp.getBody());
+        assertThat(producto.get("nombre").asText()).isEqualTo("Termo");
+        assertThat(producto.get("precio").decimalValue()).isEqualByComparingTo("1999.99");
+        assertThat(producto.get("categoriaNombre").asText()).isEqualTo("Smile");
+
+        ResponseEntity<String> json = rest.getForEntity(url("/productos/" + id), String.class);
+        assertThat(json.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+    }
+
+    @Test
+    @DisplayName("GET /data/productos/{id} con If-None-Match → 304 hasta que cambia el producto o su stock")
+    void getProducto_condicional() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<?, ?> categoria = rest.postForObject(url("/categorias"),
+                new HttpEntity<>(Map.of("nombre", "ETag"), headers), Map.class);
+        Map<?, ?> creado = rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                "nombre", "Bombilla",
+                "precio", 5,
+                "categoriaId", categoria.get("id"),
+                "stock", 3), headers), Map.class);
+        Number id = (Number) creado.get("id");
+
+        ResponseEntity<String> primera = rest.getForEntity(url("/productos/" + id), String.class);
+        String etag = primera.getHeaders().getETag();
+        assertThat(etag).isNotNull().doesNotStartWith("W/");
+        assertThat(getConEtag("/productos/" + id, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        rest.postForObject(url("/inventario/" + id + "/ajuste"),
+                new HttpEntity<>(Map.of("delta", -1), headers), Map.class);
+        ResponseEntity<String> trasAjuste = getConEtag("/productos/" + id, etag);
+        assertThat(trasAjuste.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(trasAjuste.getHeaders().getETag()).isNotEqualTo(etag);
+
+        String etagAjustado = trasAjuste.getHeaders().getETag();
+        rest.put(url("/productos/" + id), new HttpEntity<>(Map.of("precio", 6), headers));
+        assertThat(getConEtag("/productos/" + id, etagAjustado).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("GET /data/categorias y /data/productos/categoria/{nombre} → 304 mientras no cambian las filas")
+    void getListados_condicionales() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<?, ?> categoria = rest.postForObject(url("/categorias"),
+                new HttpEntity<>(Map.of("nombre", "Listados ETag"), headers), Map.class);
+
+        String etagCategorias = rest.getForEntity(url("/categorias"), String.class).getHeaders().getETag();
+        String etagProductos = rest.getForEntity(url("/productos/categoria/Listados ETag"), String.class)
+                .getHeaders().getETag();
+        assertThat(getConEtag("/categorias", etagCategorias).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(getConEtag("/productos/categoria/Listados ETag", etagProductos).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                "nombre", "Nuevo",
+                "precio", 1,
+                "categoriaId", categoria.get("id"),
+                "stock", 1), headers), Map.class);
+        rest.postForObject(url("/categorias"), new HttpEntity<>(Map.of("nombre", "Otra ETag"), headers), Map.class);
+
+        assertThat(getConEtag("/productos/categoria/Listados ETag", etagProductos).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(getConEtag("/categorias", etagCategorias).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> getConEtag(String path, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return rest.exchange(url(path), HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    @DisplayName("GET /data/productos?ids= → devuelve sólo los existentes, sin repetir")
+    void getProductosPorIds_multiGet() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<?, ?> categoria = rest.postForObject(url("/categorias"),
+                new HttpEntity<>(Map.of("nombre", "Multi-get"), headers), Map.class);
+        long[] ids = new long[2];
+        for (int i = 0; i < ids.length; i++) {
+            Map<?, ?> creado = rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                    "nombre", "Multi " + i,
+                    "precio", 1,
+                    "categoriaId", categoria.get("id"),
+                    "stock", 1), headers), Map.class);
+            ids[i] = ((Number) creado.get("id")).longValue();
+        }
+
+        List<?> productos = rest.getForObject(
+                url("/productos?ids=" + ids[1] + "," + ids[0] + "," + ids[1] + ",999999"), List.class);
+
+        assertThat(productos).extracting(p -> ((Number) ((Map<?, ?>) p).get("id")).longValue())
+                .containsExactly(ids[0], ids[1]);
+    }
+
+    @Test
+    @DisplayName("GET /data/productos/export → NDJSON con un producto por línea")
+    void exportarCatalogo_ndjson() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<?, ?> categoria = rest.postForObject(url("/categorias"),
+                new HttpEntity<>(Map.of("nombre", "Exportación"), headers), Map.class);
+        for (int i = 1; i <= 3; i++) {
+            rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                    "nombre", "Exp " + i,
+                    "precio", i,
+                    "categoriaId", categoria.get("id"),
+                    "stock", i), headers), Map.class);
+        }
+        int esperados = rest.getForObject(url("/productos"), List.class).size();
+
+        HttpHeaders accept = new HttpHeaders();
+        accept.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        ResponseEntity<String> resp = rest.exchange(url("/productos/export"), HttpMethod.GET,
+                new HttpEntity<>(accept), String.class);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+        List<String> lineas = resp.getBody().lines().filter(l -> !l.isBlank()).toList();
+        assertThat(lineas).hasSize(esperados);
+        for (String linea : lineas) {
+            assertThat(objectMapper.readTree(linea).has("categoriaNombre")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("GET /data/productos/buscar → refleja altas, modificaciones y bajas sin reconstruir el índice")
+    void buscarProductos_indiceIncremental() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<?, ?> categoria = rest.postForObject(url("/categorias"),
+                new HttpEntity<>(Map.of("nombre", "Búsqueda"), headers), Map.class);
+        Map<?, ?> creado = rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                "nombre", "Calabaza artesanal",
+                "descripcion", "Mate de calabaza curado con virola de alpaca",
+                "precio", 25,
+                "categoriaId", categoria.get("id"),
+                "stock", 4), headers), Map.class);
+        rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                "nombre", "Virola de alpaca",
+                "precio", 8,
+                "categoriaId", categoria.get("id"),
+                "stock", 2), headers), Map.class);
+        Number id = (Number) creado.get("id");
+
+        List<Map<String, Object>> porCalabaza = buscar("CALABAZA");
+        assertThat(porCalabaza).extracting(p -> p.get("nombre")).containsExactly("Calabaza artesanal");
+        assertThat(porCalabaza.getFirst().get("categoriaNombre")).isEqualTo("Búsqueda");
+        assertThat(buscar("virola alpaca")).extracting(p -> p.get("nombre"))
+                .containsExactly("Virola de alpaca", "Calabaza artesanal");
+
+        rest.put(url("/productos/" + id), new HttpEntity<>(Map.of("nombre", "Porongo artesanal",
+                "descripcion", "Mate de porongo"), headers));
+        assertThat(buscar("calabaza")).isEmpty();
+        assertThat(buscar("porongo")).extracting(p -> ((Number) p.get("id")).longValue())
+                .containsExactly(id.longValue());
+
+        rest.delete(url("/productos/" + id));
+        assertThat(buscar("porongo")).isEmpty();
+
+        ResponseEntity<String> sinConsulta = rest.getForEntity(url("/productos/buscar?q= "), String.class);
+        assertThat(sinConsulta.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void sugerirNombres_ordenadasPorStock() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<?, ?> categoria = rest.postForObject(url("/categorias"),
+                new HttpEntity<>(Map.of("nombre", "Sugerencias"), headers), Map.class);
+        Map<?, ?> yerbera = rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                "nombre", "Yerbera de cerámica",
+                "precio", 12,
+                "categoriaId", categoria.get("id"),
+                "stock", 3), headers), Map.class);
+        rest.postForObject(url("/productos"), new HttpEntity<>(Map.of(
+                "nombre", "Yerbera y azucarera",
+                "precio", 15,
+                "categoriaId", categoria.get("id"),
+                "stock", 5), headers), Map.class);
+        Number id = (Number) yerbera.get("id");
+
+        assertThat(sugerir("YERBERA")).extracting(s -> s.get("texto"))
+                .containsExactly("Yerbera y azucarera", "Yerbera de cerámica");
+
+        // Un ajuste de inventario cambia el peso y con él el orden
+        rest.postForObject(url("/inventario/" + id + "/ajuste"),
+                new HttpEntity<>(Map.of("delta", 10), headers), Map.class);
+        List<Map<String, Object>> sugerencias = sugerir("yerbera d");
+        assertThat(sugerencias).extracting(s -> s.get("texto")).containsExactly("Yerbera de cerámica");
+        assertThat(sugerencias.getFirst().get("peso")).isEqualTo(13);
+        assertThat(sugerir("yerbe")).extracting(s -> s.get("texto"))
+                .containsExactly("Yerbera de cerámica", "Yerbera y azucarera");
+
+        rest.delete(url("/productos/" + id));
+        assertThat(sugerir("yerbe")).extracting(s -> s.get("texto")).containsExactly("Yerbera y azucarera");
+
+        ResponseEntity<String> limiteExcedido = rest.getForEntity(url("/productos/sugerencias?q=y&limit=11"), String.class);
+        assertThat(limiteExcedido.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> sugerir(String prefijo) {
+        return rest.getForObject(url("/productos/sugerencias?q={q}"), List.class, prefijo);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> buscar(String consulta) {
+        return rest.getForObject(url("/productos/buscar?q={q}"), List.class, consulta);
+    }
 }
@@ -0,0 +1,34 @@
+package com.mycompany.app.data_service.controller;
+
+import com.mycompany.app.data_service.config.SentenciasPorRequest;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Junta las mediciones de los requests y falla si alguno ejecutó más sentencias SQL que el
+ * {@link PresupuestoSql} de su endpoint. Se importa en el test y se verifica al terminar cada
+ * uno; así un N+1 nuevo en DataController rompe el build.
+ */
+@TestComponent
+public class VerificadorPresupuestoSql {
+
+    private final List<SentenciasPorRequest.Medicion> mediciones = new CopyOnWriteArrayList<>();
+
+    @EventListener
+    void registrar(SentenciasPorRequest.Medicion medicion) {
+        mediciones.add(medicion);
+    }
+
+    public void verificar() {
+        List<SentenciasPorRequest.Medicion> excedidas = mediciones.stream()
+                .filter(SentenciasPorRequest.Medicion::excedida)
+                .toList();
+        mediciones.clear();
+        assertThat(excedidas).as("Requests que superaron el @PresupuestoSql de su endpoint").isEmpty();
+    }
+}
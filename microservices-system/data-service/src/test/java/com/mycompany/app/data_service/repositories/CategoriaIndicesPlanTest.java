@@ -0,0 +1,130 @@
+package com.mycompany.app.data_service.repositories;
+
+import com.mycompany.app.data_service.config.SentenciasPorRepositorio;
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Producto;
+import com.mycompany.app.data_service.service.CategoriaService;
+import com.mycompany.app.data_service.service.ImportacionProductosService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Planes de H2 (EXPLAIN) para las búsquedas por nombre de categoría, con tablas pobladas y
+ * estadísticas actualizadas: deben resolverse por índice, sin recorrer tablas completas. Se
+ * explica el SQL que Hibernate genera para cada método, capturado con el StatementInspector.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CategoriaIndicesPlanTest {
+
+    private static final int CATEGORIAS = 20;
+    private static final int PRODUCTOS_POR_CATEGORIA = 50;
+
+    @MockitoSpyBean SentenciasPorRepositorio sentencias;
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired CategoriaService categoriaService;
+    @Autowired ImportacionProductosService importacionProductosService;
+    @Autowired ProductoRepository productoRepository;
+    @Autowired CategoriaRepository categoriaRepository;
+
+    private String claveCategoria;
+
+    @BeforeAll
+    void poblar() {
+        List<Producto> productos = new ArrayList<>();
+        for (int c = 0; c < CATEGORIAS; c++) {
+            Categoria categoria = new Categoria();
+            categoria.setNombre("Plan " + c);
+            Long categoriaId = categoriaService.guardar(categoria).getId();
+            for (int i = 0; i < PRODUCTOS_POR_CATEGORIA; i++) {
+                Producto p = new Producto();
+                p.setNombre("Plan " + c + "-" + i);
+                p.setPrecio(BigDecimal.ONE);
+                p.setCategoriaIdFromJson(categoriaId);
+                p.setStockFromJson(i);
+                productos.add(p);
+            }
+        }
+        importacionProductosService.importar(productos);
+        // H2 crea para la FK de categoria_id un índice propio, equivalente a idx_productos_categoria;
+        // MySQL usa idx_productos_categoria para la FK. Sin la FK el plan es el de MySQL
+        claveCategoria = jdbcTemplate.queryForObject("SELECT constraint_name FROM information_schema.table_constraints "
+                + "WHERE table_name = 'PRODUCTOS' AND constraint_type = 'FOREIGN KEY'", String.class);
+        jdbcTemplate.execute("ALTER TABLE productos DROP CONSTRAINT " + claveCategoria);
+        // Sin estadísticas el optimizador de H2 no distingue un índice selectivo de un recorrido
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void limpiar() {
+        jdbcTemplate.execute("ALTER TABLE productos ADD CONSTRAINT " + claveCategoria
+                + " FOREIGN KEY (categoria_id) REFERENCES categorias (id)");
+        productoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // findByNombreNormalizado es cacheable: sin esto podría no llegar a la base
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        clearInvocations(sentencias);
+    }
+
+    // La sentencia que Hibernate preparó para la llamada, tal como llegó al StatementInspector
+    private String sentencia(Runnable llamada) {
+        llamada.run();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(sentencias).inspect(sql.capture());
+        return sql.getValue();
+    }
+
+    private String plan(String sql, Object parametro) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parametro).toUpperCase();
+    }
+
+    @Test
+    @DisplayName("findByNombreNormalizado: búsqueda por el índice único de nombre_normalizado")
+    void busquedaPorNombre_usaIndiceUnico() {
+        String nombre = Categoria.normalizar("Plan 7");
+        String sql = sentencia(() -> categoriaRepository.findByNombreNormalizado(nombre));
+
+        assertThat(plan(sql, nombre)).contains("UK_CATEGORIAS_NOMBRE_NORMALIZADO").doesNotContain("TABLESCAN");
+    }
+
+    @Test
+    @DisplayName("findDTOsByCategoriaId: productos por un rango de idx_productos_categoria")
+    void productosPorCategoria_recorreRangoDelIndice() {
+        Long categoriaId = categoriaRepository.findByNombreNormalizado(Categoria.normalizar(" PLAN 7 "))
+                .orElseThrow().getId();
+        clearInvocations(sentencias);
+        String sql = sentencia(() -> assertThat(productoRepository.findDTOsByCategoriaId(categoriaId))
+                .hasSize(PRODUCTOS_POR_CATEGORIA));
+
+        assertThat(plan(sql, categoriaId)).contains("PUBLIC.IDX_PRODUCTOS_CATEGORIA: CATEGORIA_ID = ?1")
+                .contains("/* INDEX SORTED */").doesNotContain("TABLESCAN");
+    }
+}
@@ -0,0 +1,97 @@
+package com.mycompany.app.data_service.repositories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Producto;
+import com.mycompany.app.data_service.service.ProductoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ProductoRepositoryStatementCountTest {
+
+    @Autowired ProductoService productoService;
+    @Autowired ProductoRepository productoRepository;
+    @Autowired CategoriaRepository categoriaRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private Categoria categoria;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Categoria c = new Categoria();
+        c.setNombre("Conteo");
+        categoria = categoriaRepository.save(c);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    private void crearProductos(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            Producto p = new Producto();
+            p.setNombre("P" + i);
+            p.setPrecio(BigDecimal.TEN);
+            p.setCategoriaIdFromJson(categoria.getId());
+            p.setStockFromJson(i);
+            p.setStockMinimoFromJson(5);
+            productoService.guardar(p);
+        }
+    }
+
+    // Ejecuta el listado y lo serializa fuera de la transacción, como hace el controller
+    private long sentenciasAlListarYSerializar(Supplier<Object> listado) throws Exception {
+        statistics.clear();
+        String json = objectMapper.writeValueAsString(listado.get());
+        assertThat(json).contains("categoriaNombre", "stockBajo");
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("findAll: la cantidad de sentencias no crece con el tamaño de la lista")
+    void obtenerTodos_sentenciasConstantes() throws Exception {
+        crearProductos(2);
+        long conPocos = sentenciasAlListarYSerializar(productoService::obtenerTodos);
+
+        crearProductos(20);
+        long conMuchos = sentenciasAlListarYSerializar(productoService::obtenerTodos);
+
+        assertThat(conPocos).isEqualTo(1);
+        assertThat(conMuchos).isEqualTo(conPocos);
+    }
+
+    @Test
+    @DisplayName("findByCategoria_NombreIgnoreCase: la cantidad de sentencias no crece con el tamaño de la lista")
+    void buscarPorCategoria_sentenciasConstantes() throws Exception {
+        crearProductos(2);
+        // El id de la categoría queda en la caché de consultas: se mide sólo el listado
+        productoService.buscarPorCategoria("conteo");
+        long conPocos = sentenciasAlListarYSerializar(() -> productoService.buscarPorCategoria("conteo"));
+
+        crearProductos(20);
+        long conMuchos = sentenciasAlListarYSerializar(() -> productoService.buscarPorCategoria("conteo"));
+
+        assertThat(conPocos).isEqualTo(1);
+        assertThat(conMuchos).isEqualTo(conPocos);
+    }
+}
@@ -0,0 +1,122 @@
+package com.mycompany.app.data_service.service;
+
+import com.mycompany.app.data_service.busqueda.IndiceInvertido;
+import com.mycompany.app.data_service.busqueda.IndiceProductos;
+import com.mycompany.app.data_service.dto.ErrorImportacion;
+import com.mycompany.app.data_service.dto.ResultadoImportacion;
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Producto;
+import com.mycompany.app.data_service.repositories.CategoriaRepository;
+import com.mycompany.app.data_service.repositories.ProductoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "data.importacion.tamanio-lote=50"
+})
+@ActiveProfiles("test")
+class ImportacionProductosServiceTest {
+
+    @Autowired ImportacionProductosService importacionProductosService;
+    @Autowired ProductoRepository productoRepository;
+    @Autowired CategoriaRepository categoriaRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired IndiceProductos indiceProductos;
+
+    private Statistics statistics;
+    private Categoria categoria;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Categoria c = new Categoria();
+        c.setNombre("Importación");
+        categoria = categoriaRepository.save(c);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    private Producto producto(String nombre, BigDecimal precio, Long categoriaId, Integer stock) {
+        Producto p = new Producto();
+        p.setNombre(nombre);
+        p.setPrecio(precio);
+        p.setCategoriaIdFromJson(categoriaId);
+        p.setStockFromJson(stock);
+        p.setStockMinimoFromJson(5);
+        return p;
+    }
+
+    @Test
+    @DisplayName("importar: 100 productos con inventario se insertan en lotes, no fila por fila")
+    void importar_agrupaInserts() {
+        List<Producto> productos = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            productos.add(producto("P" + i, BigDecimal.TEN, categoria.getId(), i));
+        }
+
+        statistics.clear();
+        ResultadoImportacion resultado = importacionProductosService.importar(productos);
+
+        assertThat(resultado.importados()).isEqualTo(100);
+        assertThat(resultado.errores()).isEmpty();
+        assertThat(productoRepository.count()).isEqualTo(100);
+        // 200 filas: sin batching serían al menos 200 INSERT más sus SELECT de secuencia
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+    }
+
+    @Test
+    @DisplayName("importar: las filas inválidas se informan por índice y el resto se importa")
+    void importar_informaErroresPorFila() {
+        List<Producto> productos = List.of(
+                producto("Ok", BigDecimal.ONE, categoria.getId(), 1),
+                producto("Precio", new BigDecimal("-1"), categoria.getId(), 1),
+                producto("Categoria", BigDecimal.ONE, categoria.getId() + 1000, 1),
+                producto("Ok 2", BigDecimal.ONE, categoria.getId(), null));
+
+        ResultadoImportacion resultado = importacionProductosService.importar(productos);
+
+        assertThat(resultado.recibidos()).isEqualTo(4);
+        assertThat(resultado.importados()).isEqualTo(1);
+        assertThat(resultado.errores()).extracting(ErrorImportacion::indice).containsExactly(1, 2, 3);
+        assertThat(productoRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("importar: si un bloque falla en la base, sus filas válidas se importan e indexan de a una")
+    void importar_reintentaBloqueFallidoFilaPorFila() {
+        // Pasa la validación pero excede la columna (100): el INSERT del bloque falla entero
+        List<Producto> productos = List.of(
+                producto("Reintento uno", BigDecimal.ONE, categoria.getId(), 1),
+                producto("x".repeat(101), BigDecimal.ONE, categoria.getId(), 1),
+                producto("Reintento dos", BigDecimal.ONE, categoria.getId(), 2));
+
+        ResultadoImportacion resultado = importacionProductosService.importar(productos);
+
+        assertThat(resultado.importados()).isEqualTo(2);
+        assertThat(resultado.errores()).extracting(ErrorImportacion::indice).containsExactly(1);
+        assertThat(productos.get(0).getId()).isNotNull();
+        assertThat(productos.get(2).getId()).isNotNull();
+        assertThat(productoRepository.count()).isEqualTo(2);
+        assertThat(indiceProductos.buscar("reintento", 10)).extracting(IndiceInvertido.Coincidencia::id)
+                .containsExactlyInAnyOrder(productos.get(0).getId(), productos.get(2).getId());
+    }
+}
@@ -0,0 +1,120 @@
+package com.mycompany.app.data_service.service;
+
+import com.mycompany.app.data_service.dto.InventarioDTO;
+import com.mycompany.app.data_service.dto.ProductoDTO;
+import com.mycompany.app.data_service.entity.Categoria;
+import com.mycompany.app.data_service.entity.Producto;
+import com.mycompany.app.data_service.exceptions.RecursoNoEncontradoException;
+import com.mycompany.app.data_service.exceptions.StockInsuficienteException;
+import com.mycompany.app.data_service.repositories.CategoriaRepository;
+import com.mycompany.app.data_service.repositories.InventarioRepository;
+import com.mycompany.app.data_service.repositories.ProductoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InventarioAjusteConcurrenteTest {
+
+    private static final int ESCRITORES = 200;
+
+    @Autowired InventarioService inventarioService;
+    @Autowired ProductoService productoService;
+    @Autowired ProductoRepository productoRepository;
+    @Autowired CategoriaRepository categoriaRepository;
+    @Autowired InventarioRepository inventarioRepository;
+
+    private Long productoId;
+
+    @BeforeEach
+    void setUp() {
+        Categoria c = new Categoria();
+        c.setNombre("Ajustes");
+        Long categoriaId = categoriaRepository.save(c).getId();
+        Producto p = new Producto();
+        p.setNombre("SKU caliente");
+        p.setPrecio(BigDecimal.TEN);
+        p.setCategoriaIdFromJson(categoriaId);
+        p.setStockFromJson(150);
+        p.setStockMinimoFromJson(5);
+        ProductoDTO creado = productoService.guardar(p);
+        productoId = creado.id();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("ajustarStock: 200 ventas concurrentes sobre 150 unidades → 150 aplicadas, 50 rechazadas, sin pérdidas")
+    void ajustesConcurrentes_noPierdenActualizaciones() {
+        AtomicInteger aplicadas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < ESCRITORES; i++) {
+                executor.submit(() -> {
+                    try {
+                        inventarioService.ajustarStock(productoId, -1);
+                        aplicadas.incrementAndGet();
+                    } catch (StockInsuficienteException e) {
+                        rechazadas.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        InventarioDTO finalInv = inventarioRepository.findDTOByProductoId(productoId).orElseThrow();
+        assertThat(aplicadas.get()).isEqualTo(150);
+        assertThat(rechazadas.get()).isEqualTo(ESCRITORES - 150);
+        assertThat(finalInv.cantidad()).isZero();
+    }
+
+    @Test
+    @DisplayName("ajustarStock: reposiciones y ventas mezcladas suman exacto")
+    void ajustesMezclados_sumanExacto() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < ESCRITORES; i++) {
+                int delta = (i % 2 == 0) ? 3 : -1;
+                executor.submit(() -> inventarioService.ajustarStock(productoId, delta));
+            }
+        }
+
+        // 100 reposiciones de +3 y 100 ventas de -1 sobre 150 iniciales
+        assertThat(inventarioRepository.findDTOByProductoId(productoId).orElseThrow().cantidad()).isEqualTo(350);
+    }
+
+    @Test
+    @DisplayName("ajustarStock: la marca de stock bajo sigue al umbral y alimenta el reporte")
+    void ajustes_mantienenStockBajo() {
+        inventarioService.ajustarStock(productoId, -145);
+        assertThat(inventarioService.obtenerProductosConStockBajo())
+                .extracting(InventarioDTO::productoId).contains(productoId);
+
+        inventarioService.ajustarStock(productoId, 1);
+        assertThat(inventarioService.obtenerProductosConStockBajo())
+                .extracting(InventarioDTO::productoId).doesNotContain(productoId);
+    }
+
+    @Test
+    @DisplayName("ajustarStock: producto sin inventario → RecursoNoEncontradoException")
+    void ajusteSobreProductoInexistente_noEncontrado() {
+        assertThatThrownBy(() -> inventarioService.ajustarStock(999_999L, 1))
+                .isInstanceOf(RecursoNoEncontradoException.class);
+    }
+}
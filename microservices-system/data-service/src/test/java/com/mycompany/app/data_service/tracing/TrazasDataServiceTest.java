@@ -0,0 +1,75 @@
+package com.mycompany.app.data_service.tracing;
+
+import com.mycompany.app.data_service.DataServiceApplication;
+import com.mycompany.app.trazas.ExportadorSpansLocal;
+import com.mycompany.app.trazas.SpanRegistrado;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        classes = DataServiceApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class TrazasDataServiceTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @LocalServerPort
+    int port;
+
+    @Autowired TestRestTemplate rest;
+    @Autowired ExportadorSpansLocal exportador;
+
+    // Espera a que terminen los spans: el del servidor cierra después de enviar la respuesta
+    private List<SpanRegistrado> spansDeTraza(int minimo) throws InterruptedException {
+        List<SpanRegistrado> spans = exportador.spansDeTraza(TRACE_ID);
+        for (int i = 0; i < 50 && spans.size() < minimo; i++) {
+            Thread.sleep(20);
+            spans = exportador.spansDeTraza(TRACE_ID);
+        }
+        return spans;
+    }
+
+    @Test
+    @DisplayName("Continúa la traza recibida en traceparent con spans de controller, servicio, repositorio y JDBC")
+    void continuaTrazaRecibida() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+
+        ResponseEntity<String> resp = rest.exchange("http://localhost:" + port + "/data/categorias",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        List<SpanRegistrado> spans = spansDeTraza(5);
+        assertThat(spans).allMatch(s -> s.servicio().equals("data-service"));
+        assertThat(spans).extracting(SpanRegistrado::nombre).contains(
+                "http get /data/categorias",                // controller (span SERVER)
+                "categoria-service-impl#obtener-todas",     // servicio (@Observed)
+                "CategoriaRepository.findAllAsDTO",         // repositorio
+                "query");                                    // JDBC
+        SpanRegistrado servidor = spans.stream().filter(s -> "SERVER".equals(s.tipo())).findFirst().orElseThrow();
+        assertThat(servidor.parentId()).isEqualTo("00f067aa0ba902b7");
+
+        ResponseEntity<SpanRegistrado[]> endpoint = rest.getForEntity(
+                "http://localhost:" + port + "/actuator/trazas/" + TRACE_ID, SpanRegistrado[].class);
+        assertThat(endpoint.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(endpoint.getBody()).hasSizeGreaterThanOrEqualTo(spans.size());
+    }
+}
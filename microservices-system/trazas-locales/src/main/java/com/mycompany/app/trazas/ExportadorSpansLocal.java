@@ -0,0 +1,185 @@
+package com.mycompany.app.trazas;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Destino local de los spans, para ver trazas sin un colector: guarda los últimos
+ * {@code trazas.exportador.capacidad} en memoria (ver {@link TrazasEndpoint}) y, si se configura
+ * {@code trazas.exportador.archivo}, los agrega como NDJSON. El hilo que termina el span sólo
+ * lo encola; un hilo de fondo los serializa y escribe cada {@code trazas.exportador.intervalo-escritura}
+ * y al cerrar. Si el archivo no da abasto, se guardan a lo sumo {@code capacidad} pendientes y
+ * se descartan los más viejos.
+ * Boot registra en Brave todos los beans SpanHandler, así que un exportador real
+ * (Zipkin, OTLP) se suma declarando el suyo.
+ */
+@Slf4j
+public class ExportadorSpansLocal extends SpanHandler implements AutoCloseable {
+
+    private final int capacidad;
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter archivo; // null: sólo memoria
+    private final ScheduledExecutorService escritura; // null: sólo memoria
+
+    // ReentrantLock y no synchronized: el span lo termina a menudo un hilo virtual
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<SpanRegistrado> recientes = new ArrayDeque<>();
+    private ArrayDeque<SpanRegistrado> pendientes = new ArrayDeque<>();
+    private long descartados;
+    // Serializa las escrituras del hilo de fondo con la final de close()
+    private final ReentrantLock lockArchivo = new ReentrantLock();
+
+    public ExportadorSpansLocal(int capacidad, String archivo, Duration intervaloEscritura,
+                                ObjectMapper objectMapper) throws IOException {
+        this.capacidad = capacidad;
+        this.objectMapper = objectMapper;
+        if (archivo.isBlank()) {
+            this.archivo = null;
+            this.escritura = null;
+            return;
+        }
+        this.archivo = Files.newBufferedWriter(Path.of(archivo), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.escritura = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("trazas-escritura").daemon(true).factory());
+        escritura.scheduleWithFixedDelay(this::escribirPendientes, intervaloEscritura.toNanos(),
+                intervaloEscritura.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        SpanRegistrado registrado = SpanRegistrado.de(span);
+        lock.lock();
+        try {
+            if (recientes.size() >= capacidad) {
+                recientes.removeFirst();
+            }
+            recientes.addLast(registrado);
+            if (archivo != null) {
+                if (pendientes.size() >= capacidad) {
+                    pendientes.removeFirst();
+                    descartados++;
+                }
+                pendientes.addLast(registrado);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    /** Spans guardados de la traza, en orden de inicio. */
+    public List<SpanRegistrado> spansDeTraza(String traceId) {
+        List<SpanRegistrado> spans = new ArrayList<>();
+        lock.lock();
+        try {
+            for (SpanRegistrado span : recientes) {
+                if (span.traceId().equals(traceId)) {
+                    spans.add(span);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        spans.sort(Comparator.comparing(SpanRegistrado::inicio));
+        return spans;
+    }
+
+    /** Ids de las últimas {@code maximo} trazas, de la más reciente a la más antigua. */
+    public List<String> trazasRecientes(int maximo) {
+        Set<String> ids = new LinkedHashSet<>();
+        lock.lock();
+        try {
+            Iterator<SpanRegistrado> it = recientes.descendingIterator();
+            while (it.hasNext() && ids.size() < maximo) {
+                ids.add(it.next().traceId());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return List.copyOf(ids);
+    }
+
+    // Toma los pendientes bajo el lock y los escribe fuera de él, con un flush por tanda
+    void escribirPendientes() {
+        if (archivo == null) {
+            return;
+        }
+        ArrayDeque<SpanRegistrado> tanda;
+        long perdidos;
+        lock.lock();
+        try {
+            if (pendientes.isEmpty() && descartados == 0) {
+                return;
+            }
+            tanda = pendientes;
+            pendientes = new ArrayDeque<>();
+            perdidos = descartados;
+            descartados = 0;
+        } finally {
+            lock.unlock();
+        }
+        if (perdidos > 0) {
+            log.warn("Se descartaron {} spans sin escribir en el archivo de trazas", perdidos);
+        }
+        lockArchivo.lock();
+        try {
+            for (SpanRegistrado span : tanda) {
+                archivo.write(objectMapper.writeValueAsString(span));
+                archivo.newLine();
+            }
+            archivo.flush();
+        } catch (IOException e) {
+            log.warn("No se pudieron escribir {} spans en el archivo de trazas: {}", tanda.size(), e.getMessage());
+        } finally {
+            lockArchivo.unlock();
+        }
+    }
+
+    /** Escribe lo pendiente y cierra el archivo; Spring lo llama al apagar el contexto. */
+    @Override
+    public void close() throws IOException {
+        if (archivo == null) {
+            return;
+        }
+        escritura.shutdown();
+        try {
+            escritura.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        escribirPendientes();
+        lockArchivo.lock();
+        try {
+            archivo.close();
+        } finally {
+            lockArchivo.unlock();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mycompany.app.trazas;
+
+import brave.handler.MutableSpan;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/** Copia inmutable de un span terminado, tal como lo guarda y exporta {@link ExportadorSpansLocal}. */
+public record SpanRegistrado(String traceId,
+                             String parentId,
+                             String spanId,
+                             String servicio,
+                             String nombre,
+                             String tipo,          // SERVER, CLIENT... o null si es local
+                             Instant inicio,
+                             long duracionMicros,
+                             Map<String, String> tags,
+                             String error) {
+
+    static SpanRegistrado de(MutableSpan span) {
+        Throwable error = span.error();
+        return new SpanRegistrado(
+                span.traceId(),
+                span.parentId(),
+                span.id(),
+                span.localServiceName(),
+                span.name(),
+                span.kind() != null ? span.kind().name() : null,
+                Instant.EPOCH.plus(span.startTimestamp(), ChronoUnit.MICROS),
+                span.finishTimestamp() - span.startTimestamp(),
+                Map.copyOf(span.tags()),
+                error != null ? error.toString() : span.tag("error"));
+    }
+}
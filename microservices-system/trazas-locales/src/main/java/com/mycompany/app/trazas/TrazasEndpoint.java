@@ -0,0 +1,32 @@
+package com.mycompany.app.trazas;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/trazas}: ids de las trazas recientes, y {@code /actuator/trazas/{traceId}}:
+ * sus spans en este servicio con la duración de cada tramo. El tramo del otro servicio de la
+ * misma traza está en su propio {@code /actuator/trazas/{traceId}}.
+ */
+@Endpoint(id = "trazas")
+public class TrazasEndpoint {
+
+    private final ExportadorSpansLocal exportador;
+
+    public TrazasEndpoint(ExportadorSpansLocal exportador) {
+        this.exportador = exportador;
+    }
+
+    @ReadOperation
+    public List<String> trazas() {
+        return exportador.trazasRecientes(50);
+    }
+
+    @ReadOperation
+    public List<SpanRegistrado> traza(@Selector String traceId) {
+        return exportador.spansDeTraza(traceId);
+    }
+}
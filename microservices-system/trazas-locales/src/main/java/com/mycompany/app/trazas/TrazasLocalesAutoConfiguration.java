@@ -0,0 +1,35 @@
+package com.mycompany.app.trazas;
+
+import brave.handler.SpanHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Registra {@link ExportadorSpansLocal} y {@link TrazasEndpoint} en cada servicio que dependa
+ * de este módulo; se configuran con {@code trazas.exportador.*}.
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+@ConditionalOnClass(SpanHandler.class)
+public class TrazasLocalesAutoConfiguration {
+
+    @Bean
+    public ExportadorSpansLocal exportadorSpansLocal(
+            @Value("${trazas.exportador.capacidad:1000}") int capacidad,
+            @Value("${trazas.exportador.archivo:}") String archivo,
+            @Value("${trazas.exportador.intervalo-escritura:1s}") Duration intervaloEscritura,
+            ObjectMapper objectMapper) throws IOException {
+        return new ExportadorSpansLocal(capacidad, archivo, intervaloEscritura, objectMapper);
+    }
+
+    @Bean
+    public TrazasEndpoint trazasEndpoint(ExportadorSpansLocal exportador) {
+        return new TrazasEndpoint(exportador);
+    }
+}
@@ -0,0 +1,92 @@
+package com.mycompany.app.trazas;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportadorSpansLocalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directorio;
+
+    // Brave guarda los ids como hexadecimal de 16 dígitos
+    private static String id(String corto) {
+        return "0".repeat(16 - corto.length()) + corto;
+    }
+
+    private static MutableSpan span(String traceId, String spanId, long inicio) {
+        MutableSpan span = new MutableSpan();
+        span.traceId(id(traceId));
+        span.id(id(spanId));
+        span.name("span " + spanId);
+        span.startTimestamp(inicio);
+        span.finishTimestamp(inicio + 10);
+        return span;
+    }
+
+    private static void terminar(ExportadorSpansLocal exportador, MutableSpan span) {
+        exportador.end(null, span, SpanHandler.Cause.FINISHED);
+    }
+
+    @Test
+    void guardaLosUltimosSpansPorTraza() throws Exception {
+        try (ExportadorSpansLocal exportador = new ExportadorSpansLocal(2, "", Duration.ofSeconds(1), objectMapper)) {
+            terminar(exportador, span("a", "1", 100));
+            terminar(exportador, span("b", "2", 200));
+            terminar(exportador, span("b", "3", 150));
+
+            assertEquals(List.of(id("b")), exportador.trazasRecientes(10));
+            assertEquals(List.of(id("3"), id("2")),
+                    exportador.spansDeTraza(id("b")).stream().map(SpanRegistrado::spanId).toList());
+        }
+    }
+
+    @Test
+    void cuandoTerminaUnSpan_entoncesElArchivoSeEscribeEnTandasYAlCerrar() throws Exception {
+        Path archivo = directorio.resolve("trazas.ndjson");
+        ExportadorSpansLocal exportador = new ExportadorSpansLocal(100, archivo.toString(),
+                Duration.ofHours(1), objectMapper);
+
+        terminar(exportador, span("a", "1", 100));
+        terminar(exportador, span("a", "2", 200));
+        // El hilo que termina el span no escribe
+        assertEquals(0, Files.size(archivo));
+
+        exportador.escribirPendientes();
+        assertEquals(2, Files.readAllLines(archivo).size());
+
+        terminar(exportador, span("a", "3", 300));
+        exportador.close();
+        List<String> lineas = Files.readAllLines(archivo);
+        assertEquals(3, lineas.size());
+        assertEquals(id("3"), objectMapper.readValue(lineas.get(2), SpanRegistrado.class).spanId());
+    }
+
+    @Test
+    void cuandoElArchivoNoDaAbasto_entoncesDescartaLosPendientesMasViejos() throws Exception {
+        Path archivo = directorio.resolve("trazas.ndjson");
+        try (ExportadorSpansLocal exportador = new ExportadorSpansLocal(2, archivo.toString(),
+                Duration.ofHours(1), objectMapper)) {
+            terminar(exportador, span("a", "1", 100));
+            terminar(exportador, span("a", "2", 200));
+            terminar(exportador, span("a", "3", 300));
+
+            exportador.escribirPendientes();
+            List<String> lineas = Files.readAllLines(archivo);
+            assertEquals(2, lineas.size());
+            assertEquals(id("2"), objectMapper.readValue(lineas.get(0), SpanRegistrado.class).spanId());
+        }
+    }
+}